@@ -0,0 +1,87 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing many small shapes of one style, one at a time against in batches
+ * The shapes are laid out on a grid so they never overlap, like the smallest shapes of a sierpinski pattern
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BatchRendererBenchmark {
+    private static final int CANVAS_SIZE = 1000;
+
+    @Param({"circle", "square", "triangle", "hexagon"})
+    public String shapeType;
+
+    @Param({"4", "16"})
+    public int radius;
+
+    @Param({"false", "true"})
+    public boolean antialiased;
+
+    private version2.shapes.Shape shape;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    /**
+     * Creates the shape to move around the grid and the image to draw it into
+     */
+    @Setup(Level.Trial)
+    public void createShape() {
+        shape = switch (shapeType) {
+            case "circle" -> new version2.shapes.Circle(0, 0, 0);
+            case "square" -> new version2.shapes.Square(0, 0, 0);
+            case "triangle" -> new version2.shapes.Triangle(0, 0, 0);
+            case "hexagon" -> new version2.shapes.Hexagon(0, 0, 0);
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+        image = new BufferedImage(CANVAS_SIZE, CANVAS_SIZE, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+        if (antialiased) {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeGraphics() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawEachShape() {
+        int step = radius * 3;
+        for (int y = radius; y < CANVAS_SIZE; y += step) {
+            for (int x = radius; x < CANVAS_SIZE; x += step) {
+                shape.setPosition(x, y);
+                shape.setScale(radius);
+                shape.draw(graphics, Color.BLACK, 1, Color.YELLOW, "solid");
+            }
+        }
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage drawBatched() {
+        version2.shapes.BatchRenderer renderer = new version2.shapes.BatchRenderer(graphics, true);
+        int step = radius * 3;
+        for (int y = radius; y < CANVAS_SIZE; y += step) {
+            for (int x = radius; x < CANVAS_SIZE; x += step) {
+                shape.setPosition(x, y);
+                shape.setScale(radius);
+                renderer.draw(shape, Color.BLACK, 1, Color.YELLOW);
+            }
+        }
+        renderer.flush();
+        return image;
+    }
+}
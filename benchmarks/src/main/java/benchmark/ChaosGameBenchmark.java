@@ -0,0 +1,43 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures plotting the sierpinski attractors with the version 2 chaos game
+ * The time depends on the number of samples only, compare with the sierpinski benchmark for the tree at a fixed depth
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ChaosGameBenchmark {
+    @Param({"triangle", "square", "hexagon"})
+    public String shapeType;
+
+    @Param({"100000", "1000000"})
+    public long samples;
+
+    @Param({"1000"})
+    public int canvasSize;
+
+    private version2.algorithms.ChaosGameAlgorithm algorithm;
+
+    /**
+     * Creates the algorithm once so the density raster is reused between runs
+     */
+    @Setup(Level.Trial)
+    public void createAlgorithm() {
+        algorithm = Patterns.version2ChaosGame(canvasSize, shapeType, samples);
+    }
+
+    @Benchmark
+    public int plot() {
+        algorithm.executeAlgorithm();
+        return algorithm.getMaxDensity();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Measures one call of the circle packing loop of each generation on a fresh packing
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CirclePackingBenchmark {
+    @Param({"version1", "version2", "version3"})
+    public String version;
+
+    @Param({"triangle", "hexagon"})
+    public String boundaryType;
+
+    @Param({"1000", "10000"})
+    public int maxAttempts;
+
+    @Param({"500", "1000"})
+    public int canvasSize;
+
+    private IntSupplier packing;
+
+    /**
+     * Creates an empty packing before every call so each call places circles from scratch
+     */
+    @Setup(Level.Invocation)
+    public void createPacking() {
+        switch (version) {
+            case "version1" -> {
+                version1.algorithms.CirclePackingAlgorithm algorithm = Patterns.version1CirclePacking(canvasSize, boundaryType, maxAttempts);
+                packing = () -> {
+                    algorithm.addCircles();
+                    return algorithm.getCircles().size();
+                };
+            }
+            case "version2" -> {
+                version2.algorithms.CirclePackingAlgorithm algorithm = Patterns.version2CirclePacking(canvasSize, boundaryType, maxAttempts);
+                packing = () -> {
+                    algorithm.addCircles();
+                    return algorithm.getCircles().size();
+                };
+            }
+            case "version3" -> {
+                version3.algorithms.CirclePacking algorithm = Patterns.version3CirclePacking(canvasSize, boundaryType, maxAttempts);
+                packing = () -> {
+                    algorithm.addCircle();
+                    return algorithm.getCircles().size();
+                };
+            }
+            default -> throw new IllegalArgumentException("Invalid version: " + version);
+        }
+    }
+
+    @Benchmark
+    public int addCircles() {
+        return packing.getAsInt();
+    }
+}
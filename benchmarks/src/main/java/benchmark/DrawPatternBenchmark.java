@@ -0,0 +1,118 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures rasterising an already generated pattern into an off screen image, so no display is needed
+ * Version 3 generates its recursive and sierpinski patterns while painting, so those runs include the generation,
+ * and its painted pattern is invalidated before each paint so the pattern is drawn rather than copied
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class DrawPatternBenchmark {
+    private static final int MAX_ATTEMPTS = 10000;
+    private static final int RECURSIVE_DEPTH = 4;
+    private static final int NUM_SHAPES = 6;
+    private static final int SIERPINSKI_DEPTH = 5;
+
+    @Param({"version1", "version2", "version3"})
+    public String version;
+
+    @Param({"circlePacking", "recursiveShape", "sierpinski"})
+    public String algorithm;
+
+    @Param({"500", "1000"})
+    public int canvasSize;
+
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private Consumer<Graphics2D> pattern;
+
+    /**
+     * Generates the pattern once and creates the image to draw it into
+     */
+    @Setup(Level.Trial)
+    public void createPattern() {
+        image = new BufferedImage(canvasSize, canvasSize, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+        pattern = switch (version) {
+            case "version1" -> version1Pattern();
+            case "version2" -> version2Pattern();
+            case "version3" -> version3Pattern();
+            default -> throw new IllegalArgumentException("Invalid version: " + version);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeGraphics() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawPattern() {
+        pattern.accept(graphics);
+        return image;
+    }
+
+    private Consumer<Graphics2D> version1Pattern() {
+        version1.algorithms.Algorithm generated = switch (algorithm) {
+            case "circlePacking" -> Patterns.version1CirclePacking(canvasSize, "hexagon", MAX_ATTEMPTS);
+            case "recursiveShape" -> Patterns.version1RecursiveShape(canvasSize, RECURSIVE_DEPTH, NUM_SHAPES);
+            case "sierpinski" -> Patterns.version1Sierpinski(canvasSize, "triangle", SIERPINSKI_DEPTH);
+            default -> throw new IllegalArgumentException("Invalid algorithm: " + algorithm);
+        };
+        if (!(generated instanceof version1.algorithms.SierpinskiShapeAlgorithm)) {
+            generated.executeAlgorithm();
+        }
+        return generated::drawPattern;
+    }
+
+    private Consumer<Graphics2D> version2Pattern() {
+        version2.algorithms.AlgorithmStrategy generated = switch (algorithm) {
+            case "circlePacking" -> Patterns.version2CirclePacking(canvasSize, "hexagon", MAX_ATTEMPTS);
+            case "recursiveShape" -> Patterns.version2RecursiveShape(canvasSize, RECURSIVE_DEPTH, NUM_SHAPES);
+            case "sierpinski" -> Patterns.version2Sierpinski(canvasSize, "triangle", SIERPINSKI_DEPTH);
+            default -> throw new IllegalArgumentException("Invalid algorithm: " + algorithm);
+        };
+        generated.executeAlgorithm();
+        return generated::drawPattern;
+    }
+
+    private Consumer<Graphics2D> version3Pattern() {
+        return switch (algorithm) {
+            case "circlePacking" -> {
+                version3.algorithms.CirclePacking packing = Patterns.version3CirclePacking(canvasSize, "hexagon", MAX_ATTEMPTS);
+                packing.addCircle();
+                yield g2d -> {
+                    packing.invalidatePattern();
+                    packing.paintComponent(g2d);
+                };
+            }
+            case "recursiveShape" -> {
+                version3.algorithms.RecursiveShape recursive = Patterns.version3RecursiveShape(canvasSize, RECURSIVE_DEPTH, NUM_SHAPES);
+                yield g2d -> {
+                    recursive.invalidatePattern();
+                    recursive.paintComponent(g2d);
+                };
+            }
+            case "sierpinski" -> {
+                version3.algorithms.SierpinskiShape sierpinski = Patterns.version3Sierpinski(canvasSize, "triangle", SIERPINSKI_DEPTH);
+                yield g2d -> {
+                    sierpinski.invalidatePattern();
+                    sierpinski.paintComponent(g2d);
+                };
+            }
+            default -> throw new IllegalArgumentException("Invalid algorithm: " + algorithm);
+        };
+    }
+}
@@ -0,0 +1,210 @@
+package benchmark;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * Builds the patterns of each algorithm generation from the same benchmark parameters
+ * The pattern is centred on a square canvas and scaled to its size so every generation draws the same picture
+ * @author carysedwards
+ */
+final class Patterns {
+    static final long SEED = 42;
+    static final int MIN_RADIUS = 2;
+    static final int MAX_RADIUS = 20;
+
+    private Patterns() {
+    }
+
+    /**
+     * Creates a version 1 circle packing with no circles placed yet
+     * @param canvasSize - the width and height of the canvas
+     * @param boundaryType - the shape to fill with circles
+     * @param maxAttempts - the number of candidate circles per call
+     * @return the circle packing algorithm
+     */
+    static version1.algorithms.CirclePackingAlgorithm version1CirclePacking(int canvasSize, String boundaryType, int maxAttempts) {
+        ArrayList<version1.parameters.ShapeParameters> shapes = new ArrayList<>();
+        shapes.add(new version1.parameters.ShapeParameters(boundaryType, 1, Color.BLACK, Color.WHITE));
+        shapes.add(new version1.parameters.ShapeParameters("circle", 1, Color.BLACK, Color.YELLOW));
+        version1.parameters.CirclePackingAlgorithmParameters parameters = new version1.parameters.CirclePackingAlgorithmParameters(
+                centre(canvasSize), centre(canvasSize), polygonSize(canvasSize), MIN_RADIUS, MAX_RADIUS, maxAttempts, 1);
+        parameters.setSeed(SEED);
+        return new version1.algorithms.CirclePackingAlgorithm(new version1.parameters.CanvasParameters(canvasSize, canvasSize, Color.WHITE), shapes, parameters);
+    }
+
+    /**
+     * Creates a version 2 circle packing with no circles placed yet
+     * @param canvasSize - the width and height of the canvas
+     * @param boundaryType - the shape to fill with circles
+     * @param maxAttempts - the number of candidate circles per call
+     * @return the circle packing algorithm
+     */
+    static version2.algorithms.CirclePackingAlgorithm version2CirclePacking(int canvasSize, String boundaryType, int maxAttempts) {
+        ArrayList<version2.parameters.ShapeParameters> shapes = new ArrayList<>();
+        shapes.add(new version2.parameters.ShapeParameters(boundaryType, 1, Color.BLACK, Color.WHITE));
+        shapes.add(new version2.parameters.ShapeParameters("circle", 1, Color.BLACK, Color.YELLOW));
+        version2.parameters.CirclePackingAlgorithmParameters parameters = new version2.parameters.CirclePackingAlgorithmParameters(
+                centre(canvasSize), centre(canvasSize), polygonSize(canvasSize), MIN_RADIUS, MAX_RADIUS, maxAttempts, 1);
+        parameters.setSeed(SEED);
+        return new version2.algorithms.CirclePackingAlgorithm(new version2.parameters.CanvasParameters(canvasSize, canvasSize, Color.WHITE), shapes, parameters);
+    }
+
+    /**
+     * Creates a version 3 circle packing with no circles placed yet
+     * The constructor places the first circles, so the attempts are only set once it has run
+     * @param canvasSize - the width and height of the canvas
+     * @param boundaryType - the shape to fill with circles
+     * @param maxAttempts - the number of candidate circles per call
+     * @return the circle packing algorithm
+     */
+    static version3.algorithms.CirclePacking version3CirclePacking(int canvasSize, String boundaryType, int maxAttempts) {
+        version3.parameters.CirclePackingParameters parameters = new version3.parameters.CirclePackingParameters();
+        parameters.canvasWidth = canvasSize;
+        parameters.canvasHeight = canvasSize;
+        parameters.boundaryType = boundaryType;
+        parameters.centreX = centre(canvasSize);
+        parameters.centreY = centre(canvasSize);
+        parameters.polygonSize = polygonSize(canvasSize);
+        parameters.minRadius = MIN_RADIUS;
+        parameters.maxRadius = MAX_RADIUS;
+        parameters.maxAttempts = 0;
+        parameters.setSeed(SEED);
+        version3.algorithms.CirclePacking packing = new version3.algorithms.CirclePacking(parameters);
+        parameters.maxAttempts = maxAttempts;
+        packing.setSize(canvasSize, canvasSize);
+        return packing;
+    }
+
+    /**
+     * Creates a version 1 recursive shape with no shapes generated yet
+     * @param canvasSize - the width and height of the canvas
+     * @param depth - the recursive depth
+     * @param numShapes - the number of small shapes around each large shape
+     * @return the recursive shape algorithm
+     */
+    static version1.algorithms.RecursiveShapeAlgorithm version1RecursiveShape(int canvasSize, int depth, int numShapes) {
+        ArrayList<version1.parameters.ShapeParameters> shapes = new ArrayList<>();
+        shapes.add(new version1.parameters.ShapeParameters("square", 1, Color.BLACK, Color.WHITE));
+        shapes.add(new version1.parameters.ShapeParameters("triangle", 1, Color.GRAY, Color.YELLOW));
+        return new version1.algorithms.RecursiveShapeAlgorithm(new version1.parameters.CanvasParameters(canvasSize, canvasSize, Color.WHITE), shapes,
+                new version1.parameters.RecursiveShapeAlgorithmParameters(centre(canvasSize), centre(canvasSize), initialSize(canvasSize), depth, numShapes));
+    }
+
+    /**
+     * Creates a version 2 recursive shape with no shapes generated yet
+     * @param canvasSize - the width and height of the canvas
+     * @param depth - the recursive depth
+     * @param numShapes - the number of small shapes around each large shape
+     * @return the recursive shape algorithm
+     */
+    static version2.algorithms.RecursiveShapeAlgorithm version2RecursiveShape(int canvasSize, int depth, int numShapes) {
+        ArrayList<version2.parameters.ShapeParameters> shapes = new ArrayList<>();
+        shapes.add(new version2.parameters.ShapeParameters("square", 1, Color.BLACK, Color.WHITE));
+        shapes.add(new version2.parameters.ShapeParameters("triangle", 1, Color.GRAY, Color.YELLOW));
+        return new version2.algorithms.RecursiveShapeAlgorithm(new version2.parameters.CanvasParameters(canvasSize, canvasSize, Color.WHITE), shapes,
+                new version2.parameters.RecursiveShapeAlgorithmParameters(centre(canvasSize), centre(canvasSize), initialSize(canvasSize), depth, numShapes));
+    }
+
+    /**
+     * Creates a version 3 recursive shape, which generates the pattern while it is painted
+     * @param canvasSize - the width and height of the canvas
+     * @param depth - the recursive depth
+     * @param numShapes - the number of small shapes around each large shape
+     * @return the recursive shape panel
+     */
+    static version3.algorithms.RecursiveShape version3RecursiveShape(int canvasSize, int depth, int numShapes) {
+        version3.parameters.RecursiveShapeParameters parameters = new version3.parameters.RecursiveShapeParameters();
+        parameters.initialiseUserParameters();
+        parameters.canvasSizeX = canvasSize;
+        parameters.canvasSizeY = canvasSize;
+        parameters.largeShapeType = "square";
+        parameters.smallShapeType = "triangle";
+        parameters.centerX = centre(canvasSize);
+        parameters.centerY = centre(canvasSize);
+        parameters.initialSize = initialSize(canvasSize);
+        parameters.depth = depth;
+        parameters.numShapes = numShapes;
+        version3.algorithms.RecursiveShape pattern = new version3.algorithms.RecursiveShape(parameters);
+        pattern.setSize(canvasSize, canvasSize);
+        return pattern;
+    }
+
+    /**
+     * Creates a version 1 sierpinski shape, which generates the pattern in its constructor
+     * @param canvasSize - the width and height of the canvas
+     * @param shapeType - triangle, circle, square or hexagon
+     * @param depth - the recursive depth
+     * @return the sierpinski shape algorithm
+     */
+    static version1.algorithms.SierpinskiShapeAlgorithm version1Sierpinski(int canvasSize, String shapeType, int depth) {
+        ArrayList<version1.parameters.ShapeParameters> shapes = new ArrayList<>();
+        shapes.add(new version1.parameters.ShapeParameters(shapeType, 1, Color.BLACK, Color.WHITE));
+        return new version1.algorithms.SierpinskiShapeAlgorithm(new version1.parameters.CanvasParameters(canvasSize, canvasSize, Color.WHITE), shapes,
+                new version1.parameters.SierpinskiShapeAlgorithmParameters(centre(canvasSize), centre(canvasSize), polygonSize(canvasSize), depth));
+    }
+
+    /**
+     * Creates a version 2 sierpinski shape with no shapes generated yet
+     * @param canvasSize - the width and height of the canvas
+     * @param shapeType - triangle, circle, square or hexagon
+     * @param depth - the recursive depth
+     * @return the sierpinski shape algorithm
+     */
+    static version2.algorithms.SierpinskiShapeAlgorithm version2Sierpinski(int canvasSize, String shapeType, int depth) {
+        ArrayList<version2.parameters.ShapeParameters> shapes = new ArrayList<>();
+        shapes.add(new version2.parameters.ShapeParameters(shapeType, 1, Color.BLACK, Color.WHITE));
+        return new version2.algorithms.SierpinskiShapeAlgorithm(new version2.parameters.CanvasParameters(canvasSize, canvasSize, Color.WHITE), shapes,
+                new version2.parameters.SierpinskiShapeAlgorithmParameters(centre(canvasSize), centre(canvasSize), polygonSize(canvasSize), depth));
+    }
+
+    /**
+     * Creates a version 3 sierpinski shape, which generates the pattern while it is painted
+     * @param canvasSize - the width and height of the canvas
+     * @param shapeType - triangle, circle, square or hexagon
+     * @param depth - the recursive depth
+     * @return the sierpinski shape panel
+     */
+    static version3.algorithms.SierpinskiShape version3Sierpinski(int canvasSize, String shapeType, int depth) {
+        version3.parameters.SierpinskiShapeParameters parameters = new version3.parameters.SierpinskiShapeParameters();
+        parameters.setShapeType(shapeType);
+        parameters.setCentreX(centre(canvasSize));
+        parameters.setCentreY(centre(canvasSize));
+        parameters.setPolygonSize(polygonSize(canvasSize));
+        parameters.setDepth(depth);
+        parameters.shapeLineColour = Color.BLACK;
+        parameters.shapeFillColour = Color.WHITE;
+        parameters.shapeLineWidth = 1;
+        version3.algorithms.SierpinskiShape pattern = new version3.algorithms.SierpinskiShape(parameters);
+        pattern.setSize(canvasSize, canvasSize);
+        return pattern;
+    }
+
+    /**
+     * Creates a version 2 chaos game with no points plotted yet
+     * @param canvasSize - the width and height of the canvas
+     * @param shapeType - triangle, circle, square or hexagon
+     * @param samples - the number of points plotted
+     * @return the chaos game algorithm
+     */
+    static version2.algorithms.ChaosGameAlgorithm version2ChaosGame(int canvasSize, String shapeType, long samples) {
+        ArrayList<version2.parameters.ShapeParameters> shapes = new ArrayList<>();
+        shapes.add(new version2.parameters.ShapeParameters(shapeType, 1, Color.BLACK, Color.WHITE));
+        version2.parameters.ChaosGameAlgorithmParameters parameters = new version2.parameters.ChaosGameAlgorithmParameters(
+                centre(canvasSize), centre(canvasSize), polygonSize(canvasSize), samples);
+        parameters.setSeed(SEED);
+        return new version2.algorithms.ChaosGameAlgorithm(new version2.parameters.CanvasParameters(canvasSize, canvasSize, Color.WHITE), shapes, parameters);
+    }
+
+    private static int centre(int canvasSize) {
+        return canvasSize / 2;
+    }
+
+    private static int polygonSize(int canvasSize) {
+        return canvasSize * 2 / 5;
+    }
+
+    private static int initialSize(int canvasSize) {
+        return canvasSize / 5;
+    }
+}
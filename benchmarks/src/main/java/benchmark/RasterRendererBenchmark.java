@@ -0,0 +1,91 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving the stress patterns of version 2 through a graphics object against drawing straight into the image pixels
+ * The sierpinski pattern is generated while it is drawn, as when it is saved, and the other patterns are generated once
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RasterRendererBenchmark {
+
+    @Param({"sierpinski", "circlePacking", "recursiveSquare", "recursiveHexagon"})
+    public String pattern;
+
+    @Param({"java2d", "raster"})
+    public String renderer;
+
+    @Param({"false", "true"})
+    public boolean antialiased;
+
+    private version2.parameters.CanvasParameters canvas;
+    private version2.algorithms.SierpinskiShapeAlgorithm sierpinski;
+    private version2.algorithms.CirclePackingAlgorithm circlePacking;
+    private version2.algorithms.RecursiveShapeAlgorithm recursive;
+    private final version2.shapes.ShapeRendererFactory rendererFactory = new version2.shapes.ShapeRendererFactory();
+    private BufferedImage image;
+
+    /**
+     * Creates the pattern with the parameters of its stress configuration and the image it is saved to
+     */
+    @Setup(Level.Trial)
+    public void createPattern() {
+        ArrayList<version2.parameters.ShapeParameters> shapes = new ArrayList<>();
+        switch (pattern) {
+            case "sierpinski" -> {
+                canvas = new version2.parameters.CanvasParameters(800, 800, Color.WHITE);
+                shapes.add(new version2.parameters.ShapeParameters("triangle", 0.1f, Color.BLACK, Color.WHITE));
+                sierpinski = new version2.algorithms.SierpinskiShapeAlgorithm(canvas, shapes,
+                        new version2.parameters.SierpinskiShapeAlgorithmParameters(400, 400, 300, 13));
+            }
+            case "circlePacking" -> {
+                canvas = new version2.parameters.CanvasParameters(500, 500, Color.WHITE);
+                shapes.add(new version2.parameters.ShapeParameters("circle", 1, Color.BLACK, Color.WHITE));
+                shapes.add(new version2.parameters.ShapeParameters("circle", 1, Color.BLACK, Color.YELLOW));
+                version2.parameters.CirclePackingAlgorithmParameters parameters = new version2.parameters.CirclePackingAlgorithmParameters(
+                        250, 250, 200, 2, 50, 10000, 1);
+                parameters.setSeed(42);
+                circlePacking = new version2.algorithms.CirclePackingAlgorithm(canvas, shapes, parameters);
+                circlePacking.executeAlgorithm();
+            }
+            case "recursiveSquare", "recursiveHexagon" -> {
+                String shapeType = "recursiveSquare".equals(pattern) ? "square" : "hexagon";
+                canvas = new version2.parameters.CanvasParameters(500, 500, Color.WHITE);
+                shapes.add(new version2.parameters.ShapeParameters(shapeType, 1, Color.BLACK, Color.WHITE));
+                shapes.add(new version2.parameters.ShapeParameters(shapeType, 1, Color.GRAY, Color.YELLOW));
+                recursive = new version2.algorithms.RecursiveShapeAlgorithm(canvas, shapes,
+                        new version2.parameters.RecursiveShapeAlgorithmParameters(250, 250, 65, 9, 4));
+                recursive.executeAlgorithm();
+            }
+            default -> throw new IllegalArgumentException("Invalid pattern type: " + pattern);
+        }
+        canvas.setRenderer(renderer);
+        canvas.setAntialiased(antialiased);
+        image = new BufferedImage(canvas.getWidth(), canvas.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Benchmark
+    public BufferedImage drawPattern() {
+        Graphics2D g2d = image.createGraphics();
+        if (sierpinski != null) {
+            sierpinski.streamPattern(rendererFactory.createRenderer(image, g2d, canvas, true));
+        } else if (circlePacking != null) {
+            circlePacking.drawPattern(rendererFactory.createRenderer(image, g2d, canvas, true));
+        } else {
+            recursive.drawPattern(rendererFactory.createRenderer(image, g2d, canvas, false));
+        }
+        g2d.dispose();
+        return image;
+    }
+}
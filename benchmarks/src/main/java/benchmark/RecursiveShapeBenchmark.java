@@ -0,0 +1,53 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of the recursive shape pattern
+ * Version 3 only generates the pattern while painting, so it is covered by the draw pattern benchmark
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RecursiveShapeBenchmark {
+    @Param({"version1", "version2", "version2-parallel"})
+    public String version;
+
+    @Param({"3", "4", "5"})
+    public int depth;
+
+    @Param({"4", "6", "8"})
+    public int numShapes;
+
+    @Param({"500", "1000"})
+    public int canvasSize;
+
+    @Benchmark
+    public int addPattern() {
+        switch (version) {
+            case "version1" -> {
+                version1.algorithms.RecursiveShapeAlgorithm algorithm = Patterns.version1RecursiveShape(canvasSize, depth, numShapes);
+                algorithm.addPattern(canvasSize / 2, canvasSize / 2, canvasSize / 5, depth);
+                return algorithm.getShapesToDraw().size();
+            }
+            case "version2" -> {
+                version2.algorithms.RecursiveShapeAlgorithm algorithm = Patterns.version2RecursiveShape(canvasSize, depth, numShapes);
+                algorithm.addPattern(canvasSize / 2, canvasSize / 2, canvasSize / 5, depth);
+                return algorithm.getShapesToDraw().size();
+            }
+            case "version2-parallel" -> {
+                version2.algorithms.RecursiveShapeAlgorithm algorithm = Patterns.version2RecursiveShape(canvasSize, depth, numShapes);
+                algorithm.getAlgorithmParameters().setParallel(true);
+                algorithm.addPattern(canvasSize / 2, canvasSize / 2, canvasSize / 5, depth);
+                return algorithm.getShapesToDraw().size();
+            }
+            default -> throw new IllegalArgumentException("Invalid version: " + version);
+        }
+    }
+}
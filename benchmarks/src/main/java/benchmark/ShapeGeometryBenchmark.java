@@ -0,0 +1,105 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the shape operations on the circle packing and sierpinski hot paths that work out vertices
+ * Containment fits version 1 circles against a boundary, moving and drawing reuse a single version 2 shape
+ * the way the sierpinski rasteriser does
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ShapeGeometryBenchmark {
+    private static final int SHAPES = 1024;
+    private static final int CANVAS_SIZE = 500;
+
+    @Param({"triangle", "hexagon"})
+    public String shapeType;
+
+    private version1.shapes.Shape boundary;
+    private version1.shapes.Circle[] circles;
+    private version2.shapes.Shape shape;
+    private int[] xs;
+    private int[] ys;
+    private double[] radii;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    /**
+     * Creates the boundary, the shape to move and the same random positions and sizes for every trial
+     */
+    @Setup(Level.Trial)
+    public void createShapes() {
+        int centre = CANVAS_SIZE / 2;
+        boundary = switch (shapeType) {
+            case "triangle" -> new version1.shapes.Triangle(centre, centre, centre);
+            case "hexagon" -> new version1.shapes.Hexagon(centre, centre, centre);
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+        shape = switch (shapeType) {
+            case "triangle" -> new version2.shapes.Triangle(0, 0, 0);
+            case "hexagon" -> new version2.shapes.Hexagon(0, 0, 0);
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+        SplittableRandom random = new SplittableRandom(42);
+        circles = new version1.shapes.Circle[SHAPES];
+        xs = new int[SHAPES];
+        ys = new int[SHAPES];
+        radii = new double[SHAPES];
+        for (int i = 0; i < SHAPES; i++) {
+            xs[i] = random.nextInt(CANVAS_SIZE);
+            ys[i] = random.nextInt(CANVAS_SIZE);
+            radii[i] = 2 + random.nextInt(20);
+            circles[i] = new version1.shapes.Circle(xs[i], ys[i], (int) radii[i]);
+        }
+        image = new BufferedImage(CANVAS_SIZE, CANVAS_SIZE, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeGraphics() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public int containment() {
+        int inside = 0;
+        for (version1.shapes.Circle circle : circles) {
+            if (boundary.isInside(circle)) {
+                inside++;
+            }
+        }
+        return inside;
+    }
+
+    @Benchmark
+    public double moveShape() {
+        double total = 0;
+        for (int i = 0; i < SHAPES; i++) {
+            shape.setPosition(xs[i], ys[i]);
+            shape.setScale(radii[i]);
+            total += shape.edgeDistance(xs[i], ys[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BufferedImage moveAndDraw() {
+        for (int i = 0; i < SHAPES; i++) {
+            shape.setPosition(xs[i], ys[i]);
+            shape.setScale(radii[i]);
+            shape.draw(graphics, Color.BLACK, 1, Color.WHITE, "solid");
+        }
+        return image;
+    }
+}
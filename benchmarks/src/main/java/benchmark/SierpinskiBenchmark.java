@@ -0,0 +1,54 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of the sierpinski patterns
+ * The shape type selects the generator, addSierpinski for triangle, addGasket for circle,
+ * addCarpet for square and addHexagon for hexagon, version2-parallel splits the subtrees across the fork/join pool.
+ * Version 1 generates the pattern in its constructor and version 3 only generates the pattern while painting,
+ * which is covered by the draw pattern benchmark
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SierpinskiBenchmark {
+    @Param({"version1", "version2", "version2-parallel"})
+    public String version;
+
+    @Param({"triangle", "circle", "square", "hexagon"})
+    public String shapeType;
+
+    @Param({"3", "5"})
+    public int depth;
+
+    @Param({"500", "1000"})
+    public int canvasSize;
+
+    @Benchmark
+    public Object generate() {
+        switch (version) {
+            case "version1" -> {
+                return Patterns.version1Sierpinski(canvasSize, shapeType, depth);
+            }
+            case "version2" -> {
+                version2.algorithms.SierpinskiShapeAlgorithm algorithm = Patterns.version2Sierpinski(canvasSize, shapeType, depth);
+                algorithm.executeAlgorithm();
+                return algorithm;
+            }
+            case "version2-parallel" -> {
+                version2.algorithms.SierpinskiShapeAlgorithm algorithm = Patterns.version2Sierpinski(canvasSize, shapeType, depth);
+                algorithm.getAlgorithmParameters().setParallel(true);
+                algorithm.executeAlgorithm();
+                return algorithm;
+            }
+            default -> throw new IllegalArgumentException("Invalid version: " + version);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures painting a version 3 sierpinski pattern with and without instancing
+ * An instance depth of 0 draws every shape, otherwise every subtree of that depth is copied from a cached image
+ * The painted pattern is invalidated before each paint, so every run draws the pattern rather than copying the last one
+ * @author carysedwards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SierpinskiInstancingBenchmark {
+    private static final int CANVAS_SIZE = 1000;
+
+    @Param({"triangle", "square", "hexagon"})
+    public String shapeType;
+
+    @Param({"5", "6"})
+    public int depth;
+
+    @Param({"0", "2", "3"})
+    public int instanceDepth;
+
+    private version3.algorithms.SierpinskiShape pattern;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    /**
+     * Creates the pattern and the image to paint it into
+     */
+    @Setup(Level.Trial)
+    public void createPattern() {
+        pattern = Patterns.version3Sierpinski(CANVAS_SIZE, shapeType, depth);
+        pattern.getParams().setInstanceDepth(instanceDepth);
+        image = new BufferedImage(CANVAS_SIZE, CANVAS_SIZE, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeGraphics() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintPattern() {
+        pattern.invalidatePattern();
+        pattern.paintComponent(graphics);
+        return image;
+    }
+}
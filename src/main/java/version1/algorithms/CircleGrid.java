@@ -0,0 +1,86 @@
+package version1.algorithms;
+
+import version1.shapes.Circle;
+
+import java.util.ArrayList;
+
+/**
+ * A uniform grid of circles used to find overlapping circles quickly
+ * The cells are twice the maximum radius wide so only the neighbouring cells are checked
+ * @author carysedwards
+ */
+public class CircleGrid {
+    private final int minX, minY;
+    private final int columns, rows;
+    private final double cellSize;
+    private final ArrayList<ArrayList<Circle>> cells;
+    private double largestRadius;
+
+    /**
+     * Creates a grid covering the given area
+     * @param minX - the smallest x co-ordinate of the area
+     * @param minY - the smallest y co-ordinate of the area
+     * @param maxX - the largest x co-ordinate of the area
+     * @param maxY - the largest y co-ordinate of the area
+     * @param maxRadius - the largest radius expected, used to size the cells
+     */
+    public CircleGrid(int minX, int minY, int maxX, int maxY, double maxRadius) {
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = Math.max(1, Math.ceil(maxRadius * 2));
+        this.columns = (int) (Math.max(0, maxX - minX) / cellSize) + 1;
+        this.rows = (int) (Math.max(0, maxY - minY) / cellSize) + 1;
+        this.cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Adds a circle to the cell containing its centre
+     * @param circle - the circle to add
+     */
+    public void add(Circle circle) {
+        cells.get(row(circle.centerY) * columns + column(circle.centerX)).add(circle);
+        largestRadius = Math.max(largestRadius, circle.radius);
+    }
+
+    /**
+     * Checks if a circle overlaps any circle in the neighbouring cells
+     * @param circle - the circle to check
+     * @return true if the circle overlaps a circle in the grid
+     */
+    public boolean overlaps(Circle circle) {
+        int reach = (int) Math.ceil((circle.radius + largestRadius) / cellSize);
+        int column = column(circle.centerX);
+        int row = row(circle.centerY);
+        for (int r = Math.max(0, row - reach); r <= Math.min(rows - 1, row + reach); r++) {
+            for (int c = Math.max(0, column - reach); c <= Math.min(columns - 1, column + reach); c++) {
+                for (Circle other : cells.get(r * columns + c)) {
+                    if (circle.overlaps(other)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method to find the grid column of an x co-ordinate
+     * @param x - the x co-ordinate
+     * @return the column, clamped to the grid
+     */
+    private int column(int x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - minX) / cellSize)));
+    }
+
+    /**
+     * Helper method to find the grid row of a y co-ordinate
+     * @param y - the y co-ordinate
+     * @return the row, clamped to the grid
+     */
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - minY) / cellSize)));
+    }
+}
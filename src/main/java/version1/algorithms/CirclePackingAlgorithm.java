@@ -9,6 +9,7 @@ import version1.shapes.*;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 /**
  * The implementation of the Circle Packing algorithm
@@ -21,6 +22,11 @@ public class CirclePackingAlgorithm extends Algorithm {
     private ShapeParameters circleParameters;
     private Shape boundaryShape;
     private ArrayList<Circle> circles;
+    private CircleGrid grid;
+    private final int[] position = new int[2];
+    private final Circle candidate = new Circle(0, 0, 0);
+    private SplittableRandom random;
+    private long randomSeed;
 
     /**
      * Constructor to create the circle packing algorithm
@@ -43,6 +49,8 @@ public class CirclePackingAlgorithm extends Algorithm {
         this.circleParameters = getShapeParameters().get(1);
         setBoundaryShape(getShapeParameters().get(0).getShapeType());
         this.circles = new ArrayList<>();
+        int reach = params.polygonSize + params.maxRadius;
+        this.grid = new CircleGrid(params.centreX - reach, params.centreY - reach, params.centreX + reach, params.centreY + reach, params.maxRadius);
     }
 
     /**
@@ -74,21 +82,44 @@ public class CirclePackingAlgorithm extends Algorithm {
      * Will fill a bounded shapes with circles
      */
     public void addCircles() {
+        SplittableRandom random = getRandom();
         for (int i = 0; i < params.maxAttempts; i++) {
-            Point randomPosition = boundaryShape.randomPositionInside();
-            int randomRadius = params.minRadius + (int) (Math.random() * (params.maxRadius - params.minRadius));
-            Circle newCircle = new Circle(randomPosition.x, randomPosition.y, randomRadius);
+            boundaryShape.randomPositionInside(position, random);
+            int randomRadius = params.minRadius + (int) (random.nextDouble() * (params.maxRadius - params.minRadius));
+            candidate.setPosition(position[0], position[1]);
+            candidate.setScale(randomRadius);
 
-            boolean overlaps = circles.stream().anyMatch(newCircle::overlaps);
+            boolean overlaps;
+            if ("grid".equals(params.indexType)) {
+                overlaps = grid.overlaps(candidate);
+            } else {
+                overlaps = circles.stream().anyMatch(candidate::overlaps);
+            }
             if (!overlaps) {
-                boolean isInside = boundaryShape.isInside(newCircle);
+                boolean isInside = boundaryShape.isInside(candidate);
                 if (isInside) {
+                    Circle newCircle = new Circle(position[0], position[1], randomRadius);
                     circles.add(newCircle);
+                    grid.add(newCircle);
                 }
             }
         }
     }
 
+    /**
+     * Gets the random number generator used to place the circles
+     * The generator is created again from the seed if the seed has changed
+     * @return random
+     */
+    private SplittableRandom getRandom() {
+        long seed = params.getSeed();
+        if (random == null || seed != randomSeed) {
+            random = new SplittableRandom(seed);
+            randomSeed = seed;
+        }
+        return random;
+    }
+
     /**
      * Gets the circles creates to be drawn onto the canvas for the algorithm
      * @return circles
@@ -1,5 +1,7 @@
 package version1.parameters;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Responsible for housing and configuring the specific Circle Packing Algorithm values
  * @author carysedwards
@@ -10,6 +12,8 @@ public class CirclePackingAlgorithmParameters extends Parameters {
     public int polygonSize;
     public int minRadius, maxRadius, maxAttempts;
     public int animationSpeed;
+    public String indexType = "grid";
+    public long seed = ThreadLocalRandom.current().nextLong();
 
     /**
      * Creates new Circle Packing algorithm parameters
@@ -45,6 +49,7 @@ public class CirclePackingAlgorithmParameters extends Parameters {
         maxRadius = 22;
         maxAttempts = 100;
         animationSpeed = 1;
+        indexType = "grid";
     }
 
     /**
@@ -185,5 +190,37 @@ public class CirclePackingAlgorithmParameters extends Parameters {
         this.animationSpeed = animationSpeed;
     }
 
+    /**
+     * Gets the type of index used to find overlapping circles
+     * @return indexType
+     */
+    public String getIndexType() {
+        return indexType;
+    }
+
+    /**
+     * Sets the type of index used to find overlapping circles
+     * @param indexType - the index type, linear or grid
+     */
+    public void setIndexType(String indexType) {
+        this.indexType = indexType;
+    }
+
+    /**
+     * Gets the seed for the random number generator, the same seed gives the same packing
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed for the random number generator
+     * @param seed - the random seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
 
 }
\ No newline at end of file
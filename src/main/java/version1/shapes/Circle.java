@@ -1,6 +1,7 @@
 package version1.shapes;
 
 import java.awt.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a Circle Shape to use in the algorithms
@@ -35,12 +36,13 @@ public class Circle extends Shape {
 
     /**
      * Calculates a random position inside the circle
-     * @return A new point containing co-ordinates for a random point in the circle
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
      */
     @Override
-    public Point randomPositionInside() {
-        double angle = 2 * Math.PI * Math.random();
-        double radiusScale = Math.random();
+    public void randomPositionInside(int[] position, RandomGenerator random) {
+        double angle = 2 * Math.PI * random.nextDouble();
+        double radiusScale = random.nextDouble();
         double scaledRadius = radius * Math.sqrt(radiusScale);
         double newX = centerX + scaledRadius * Math.cos(angle);
         double newY = centerY + scaledRadius * Math.sin(angle);
@@ -57,7 +59,8 @@ public class Circle extends Shape {
         } else {
             finalY = (int) Math.ceil(newY);
         }
-        return new Point(finalX, finalY);
+        position[0] = finalX;
+        position[1] = finalY;
     }
 
     /**
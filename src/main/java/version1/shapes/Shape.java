@@ -3,6 +3,8 @@ package version1.shapes;
 import version1.parameters.ShapeParameters;
 
 import java.awt.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Abstract class for creating Shapes to be used by the algorithms
@@ -15,7 +17,27 @@ public abstract class Shape {
      * Generates a random point inside the shape
      * @return a Point inside the shape
      */
-    public abstract Point randomPositionInside();
+    public Point randomPositionInside() {
+        int[] position = new int[2];
+        randomPositionInside(position);
+        return new Point(position[0], position[1]);
+    }
+
+    /**
+     * Generates a random point inside the shape without allocating
+     * Uses the calling thread's random number generator
+     * @param position - the array to write the x and y co-ordinates into
+     */
+    public void randomPositionInside(int[] position) {
+        randomPositionInside(position, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates a random point inside the shape without allocating
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
+     */
+    public abstract void randomPositionInside(int[] position, RandomGenerator random);
 
     /**
      * Checks if a point is inside the shape
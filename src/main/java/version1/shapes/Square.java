@@ -1,6 +1,7 @@
 package version1.shapes;
 
 import java.awt.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a Square Shape to use in the algorithms
@@ -38,14 +39,14 @@ public class Square extends Shape {
 
     /**
      * Calculates a random position inside the square
-     * @return A new point containing co-ordinates for a random point in the square
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
      */
     @Override
-    public Point randomPositionInside() {
+    public void randomPositionInside(int[] position, RandomGenerator random) {
         double sideLength = 2 * radius;
-        int x = (int) (this.centerX + (Math.random() * sideLength) - sideLength / 2);
-        int y = (int) (this.centerY + (Math.random() * sideLength) - sideLength / 2);
-        return new Point(x, y);
+        position[0] = (int) (this.centerX + (random.nextDouble() * sideLength) - sideLength / 2);
+        position[1] = (int) (this.centerY + (random.nextDouble() * sideLength) - sideLength / 2);
     }
 
     /**
@@ -0,0 +1,29 @@
+package version1.shapes;
+
+/**
+ * Unit vertices of the hexagon and triangle, shared by every shape so the trigonometry is only worked out once
+ * Also holds the points around a unit circle checked when fitting a shape inside a circle
+ * Each value is worked out the same way the shapes used to, so the vertices land on the same pixels
+ * @author carysedwards
+ */
+class TrigTables {
+    static final double[] HEXAGON_COS = new double[6];
+    static final double[] HEXAGON_SIN = new double[6];
+    static final double TRIANGLE_COS = Math.cos(Math.toRadians(30));
+    static final double TRIANGLE_SIN = Math.sin(Math.toRadians(30));
+    static final int CIRCLE_SAMPLES = 72;
+    static final double[] CIRCLE_SAMPLE_COS = new double[CIRCLE_SAMPLES];
+    static final double[] CIRCLE_SAMPLE_SIN = new double[CIRCLE_SAMPLES];
+
+    static {
+        for (int i = 0; i < 6; i++) {
+            HEXAGON_COS[i] = Math.cos(i * Math.PI / 3);
+            HEXAGON_SIN[i] = Math.sin(i * Math.PI / 3);
+        }
+        for (int i = 0; i < CIRCLE_SAMPLES; i++) {
+            double rad = Math.toRadians(i * 5);
+            CIRCLE_SAMPLE_COS[i] = Math.cos(rad);
+            CIRCLE_SAMPLE_SIN[i] = Math.sin(rad);
+        }
+    }
+}
@@ -45,6 +45,14 @@ public class AlgorithmContext extends JPanel {
         strategy.drawPattern(g);
     }
 
+    /**
+     * Generates and draws the algorithm in one pass via the strategy
+     * @param g - the graphics to draw
+     */
+    public void streamPattern(Graphics g) {
+        strategy.streamPattern(g);
+    }
+
     /**
      * Paints the algorithm to the component
      * @param g the <code>Graphics</code> object to protect
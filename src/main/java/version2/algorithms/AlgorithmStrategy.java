@@ -10,5 +10,15 @@ public interface AlgorithmStrategy {
     boolean validateParameters();
     void executeAlgorithm();
     void drawPattern(Graphics g);
+
+    /**
+     * Generates and draws the pattern in one pass
+     * Algorithms that can draw each shape as it is generated override this so the shapes are never kept
+     * @param g - the graphics object to draw to
+     */
+    default void streamPattern(Graphics g) {
+        executeAlgorithm();
+        drawPattern(g);
+    }
     void saveImage(String filePath);
 }
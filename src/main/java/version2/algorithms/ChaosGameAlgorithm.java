@@ -0,0 +1,246 @@
+package version2.algorithms;
+
+import version2.parameters.CanvasParameters;
+import version2.parameters.ChaosGameAlgorithmParameters;
+import version2.parameters.ShapeParameters;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The implementation of the Chaos Game algorithm
+ * Renders the limit of a sierpinski pattern as an iterated function system, repeatedly moving a point by one of
+ * the maps that place the children of a shape inside it, so the time taken depends on the number of points rather than the depth
+ * The maps match the sierpinski shape algorithm, so the points fall where its shapes would at unlimited depth
+ * @author carysedwards
+ */
+public class ChaosGameAlgorithm implements AlgorithmStrategy {
+    private static final int BURN_IN = 32;
+    private static final double[] TRIANGLE_OFFSETS = {
+            0, -1.5,
+            -Math.cos(Math.toRadians(30)) / 2, -0.75,
+            Math.cos(Math.toRadians(30)) / 2, -0.75
+    };
+    private static final double[] GASKET_OFFSETS = {
+            0, -0.5,
+            -Math.cos(Math.PI / 6) / 2, Math.sin(Math.PI / 6) / 2,
+            Math.cos(Math.PI / 6) / 2, Math.sin(Math.PI / 6) / 2
+    };
+    private static final double[] CARPET_OFFSETS = new double[16];
+    private static final double[] HEXAGON_OFFSETS = new double[14];
+    private final CanvasParameters canvasParameters;
+    private final ShapeParameters shapeParameters;
+    private final ChaosGameAlgorithmParameters algorithmParameters;
+    private int[] density = new int[0];
+    private int densityWidth;
+    private int densityHeight;
+    private int maxDensity;
+
+    static {
+        int map = 0;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                if (row == 1 && col == 1) continue;
+                CARPET_OFFSETS[map++] = (col - 1) * 2.0 / 3;
+                CARPET_OFFSETS[map++] = (row - 1) * 2.0 / 3;
+            }
+        }
+        for (int i = 0; i < 6; i++) {
+            HEXAGON_OFFSETS[i * 2] = Math.cos(i * Math.PI / 3) * 2 / 3;
+            HEXAGON_OFFSETS[i * 2 + 1] = Math.sin(i * Math.PI / 3) * 2 / 3;
+        }
+    }
+
+    /**
+     * Constructor to create the chaos game algorithm
+     * @param canvasParameters - details of the canvas to draw upon
+     * @param shapeParameters - details of the shape whose sierpinski pattern is drawn
+     * @param algorithmParameters - details of the algorithm
+     */
+    public ChaosGameAlgorithm(CanvasParameters canvasParameters, ArrayList<ShapeParameters> shapeParameters, ChaosGameAlgorithmParameters algorithmParameters) {
+        this.canvasParameters = canvasParameters;
+        this.shapeParameters = shapeParameters.get(0);
+        this.algorithmParameters = algorithmParameters;
+    }
+
+    /**
+     * Validates the parameters passed to ensure the algorithm is safe to execute
+     * @return True if the parameters used are valid
+     */
+    @Override
+    public boolean validateParameters() {
+        return canvasParameters.validateParameters() && shapeParameters.validateParameters() && algorithmParameters.validateParameters();
+    }
+
+    /**
+     * Executes the algorithm based on the parameters already passed
+     * Each point is counted in the pixel it lands in, points off the canvas are dropped
+     */
+    @Override
+    public void executeAlgorithm() {
+        if (!validateParameters()) {
+            return;
+        }
+        double[] offsets = mapOffsets(shapeParameters.getShapeType());
+        double scale = mapScale(shapeParameters.getShapeType());
+        clearDensity();
+
+        int maps = offsets.length / 2;
+        double centreX = algorithmParameters.getCentreX();
+        double centreY = algorithmParameters.getCentreY();
+        double size = algorithmParameters.getPolygonSize();
+        double pointX = centreX;
+        double pointY = centreY;
+        SplittableRandom random = new SplittableRandom(algorithmParameters.getSeed());
+        long iterations = BURN_IN + algorithmParameters.getSamples();
+        for (long i = 0; i < iterations; i++) {
+            int map = random.nextInt(maps) * 2;
+            pointX = centreX + offsets[map] * size + (pointX - centreX) * scale;
+            pointY = centreY + offsets[map + 1] * size + (pointY - centreY) * scale;
+            if (i < BURN_IN) {
+                continue;
+            }
+            int x = (int) Math.floor(pointX);
+            int y = (int) Math.floor(pointY);
+            if (x >= 0 && x < densityWidth && y >= 0 && y < densityHeight) {
+                int count = ++density[y * densityWidth + x];
+                if (count > maxDensity) {
+                    maxDensity = count;
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws the algorithm to the graphics object based on the parameters already passed
+     * Each pixel is drawn in the line colour, more opaque the more points landed in it
+     * @param g - The graphics object to draw to
+     */
+    @Override
+    public void drawPattern(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setColor(canvasParameters.getBackgroundColour());
+        g2d.fillRect(0, 0, canvasParameters.getWidth(), canvasParameters.getHeight());
+        if (maxDensity == 0) {
+            return;
+        }
+        g2d.drawImage(createDensityImage(), 0, 0, null);
+    }
+
+    /**
+     * Helper method to turn the point counts into an image
+     * The opacity is scaled by the logarithm of the count so sparse parts of the fractal are still visible
+     * @return the image, transparent where no points landed
+     */
+    private BufferedImage createDensityImage() {
+        BufferedImage image = new BufferedImage(densityWidth, densityHeight, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        Color colour = shapeParameters.getLineColour();
+        int rgb = colour.getRGB() & 0xFFFFFF;
+        double logMax = Math.log1p(maxDensity);
+        int[] argb = new int[256];
+        for (int alpha = 0; alpha < 256; alpha++) {
+            argb[alpha] = ((alpha * colour.getAlpha() / 255) << 24) | rgb;
+        }
+        for (int i = 0; i < density.length; i++) {
+            if (density[i] > 0) {
+                pixels[i] = argb[(int) Math.round(255 * Math.log1p(density[i]) / logMax)];
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Helper method to size the point counts to the canvas and set them to zero
+     */
+    private void clearDensity() {
+        densityWidth = canvasParameters.getWidth();
+        densityHeight = canvasParameters.getHeight();
+        if (density.length != densityWidth * densityHeight) {
+            density = new int[densityWidth * densityHeight];
+        } else {
+            Arrays.fill(density, 0);
+        }
+        maxDensity = 0;
+    }
+
+    /**
+     * Helper method to find where each map moves the centre, as a multiple of the size of the outer shape
+     * @param shapeType - the type of shape in the pattern
+     * @return the x and y offsets of each map, one pair after another
+     */
+    private static double[] mapOffsets(String shapeType) {
+        return switch (shapeType) {
+            case "triangle" -> TRIANGLE_OFFSETS;
+            case "circle" -> GASKET_OFFSETS;
+            case "square" -> CARPET_OFFSETS;
+            case "hexagon" -> HEXAGON_OFFSETS;
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+    }
+
+    /**
+     * Helper method to find how much each map shrinks the pattern
+     * @param shapeType - the type of shape in the pattern
+     * @return the scaling factor of the maps
+     */
+    private static double mapScale(String shapeType) {
+        return switch (shapeType) {
+            case "triangle", "circle" -> 1.0 / 2;
+            case "square", "hexagon" -> 1.0 / 3;
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+    }
+
+    /**
+     * Gets the number of points that landed in a pixel
+     * @param x - the x co-ordinate of the pixel
+     * @param y - the y co-ordinate of the pixel
+     * @return the number of points
+     */
+    public int getDensity(int x, int y) {
+        return density[y * densityWidth + x];
+    }
+
+    /**
+     * Gets the largest number of points that landed in a single pixel
+     * @return maxDensity
+     */
+    public int getMaxDensity() {
+        return maxDensity;
+    }
+
+    /**
+     * Gets the algorithm parameters specified for the algorithm
+     * @return algorithmParameters
+     */
+    public ChaosGameAlgorithmParameters getAlgorithmParameters() {
+        return algorithmParameters;
+    }
+
+    /**
+     * Saves the current state of the algorithm to a PNG file at the specified path
+     * @param filePath The file path where the image will be saved
+     */
+    public void saveImage(String filePath) {
+        BufferedImage image = new BufferedImage(canvasParameters.getWidth(), canvasParameters.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        drawPattern(g2d);
+
+        try {
+            File file = new File(filePath);
+            ImageIO.write(image, "PNG", file);
+        } catch (IOException ex) {
+            System.err.println("Error saving image: " + ex.getMessage());
+        } finally {
+            g2d.dispose();
+        }
+    }
+}
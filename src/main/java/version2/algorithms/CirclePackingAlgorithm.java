@@ -3,9 +3,16 @@ package version2.algorithms;
 import version2.parameters.CanvasParameters;
 import version2.parameters.CirclePackingAlgorithmParameters;
 import version2.parameters.ShapeParameters;
+import version2.shapes.BatchRenderer;
 import version2.shapes.Circle;
 import version2.shapes.Shape;
+import version2.shapes.ShapeBuffer;
 import version2.shapes.ShapeFactory;
+import version2.shapes.ShapeRenderer;
+import version2.shapes.ShapeRendererFactory;
+import version2.spatial.CircleIndex;
+import version2.spatial.CircleIndexFactory;
+import version2.spatial.OccupancyGrid;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -13,6 +20,9 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 /**
  * The implementation of the Circle Packing algorithm
@@ -20,13 +30,29 @@ import java.util.ArrayList;
  * @author carysedwards
  */
 public class CirclePackingAlgorithm implements AlgorithmStrategy {
+    private static final int PARALLEL_BATCH_SIZE = 4096;
     private final ShapeFactory shapeFactory;
+    private final CircleIndexFactory indexFactory;
+    private final ShapeRendererFactory shapeRendererFactory = new ShapeRendererFactory();
     private final CanvasParameters canvasParameters;
     private final ShapeParameters boundaryParameters;
     private final ShapeParameters circleParameters;
     private final CirclePackingAlgorithmParameters algorithmParameters;
-    private final ArrayList<Circle> circles = new ArrayList<>();
+    private final ShapeBuffer circles = new ShapeBuffer();
+    private final int[] position = new int[2];
+    private final Circle candidate = new Circle(0, 0, 0);
+    private final Circle drawCircle = new Circle(0, 0, 0);
+    private final int[] batchX = new int[PARALLEL_BATCH_SIZE];
+    private final int[] batchY = new int[PARALLEL_BATCH_SIZE];
+    private final int[] batchRadius = new int[PARALLEL_BATCH_SIZE];
+    private final boolean[] batchRejected = new boolean[PARALLEL_BATCH_SIZE];
     private Shape boundaryShape;
+    private CircleIndex circleIndex;
+    private String circleIndexType;
+    private SplittableRandom circleRandom;
+    private long circleRandomSeed;
+    private OccupancyGrid occupancyGrid;
+    private int occupancyMinRadius;
 
     /**
      * Constructor to create the circle packing algorithm
@@ -40,6 +66,7 @@ public class CirclePackingAlgorithm implements AlgorithmStrategy {
         this.circleParameters = shapeParameters.get(1);
         this.algorithmParameters = algorithmParameters;
         shapeFactory = new ShapeFactory();
+        indexFactory = new CircleIndexFactory();
         setBoundaryShape(boundaryParameters.getShapeType());
     }
 
@@ -68,36 +95,318 @@ public class CirclePackingAlgorithm implements AlgorithmStrategy {
      */
     @Override
     public void drawPattern(Graphics g) {
+        drawBoundary(g);
+        drawCircles(g, 0);
+    }
+
+    /**
+     * Draws the algorithm with the given renderer based on the parameters already passed
+     * The boundary is drawn on its own before the circles, as the circles are batched without checking their bounds
+     * @param renderer - the renderer to draw the pattern with
+     */
+    public void drawPattern(ShapeRenderer renderer) {
+        renderer.fillBackground(canvasParameters.getBackgroundColour(), canvasParameters.getWidth(), canvasParameters.getHeight());
+        renderer.draw(boundaryShape, boundaryParameters.getLineColour(), boundaryParameters.getLineWidth(), boundaryParameters.getFillColour());
+        renderer.flush();
+        drawCircles(renderer, 0);
+        renderer.flush();
+    }
+
+    /**
+     * Draws the background and the boundary shape without any circles
+     * @param g - The graphics object to draw to
+     */
+    public void drawBoundary(Graphics g) {
         Graphics2D g2d = (Graphics2D) g;
         g2d.setColor(canvasParameters.getBackgroundColour());
         g2d.fillRect(0, 0, canvasParameters.getWidth(), canvasParameters.getHeight());
 
         boundaryShape.draw(g2d, boundaryParameters.getLineColour(), boundaryParameters.getLineWidth(), boundaryParameters.getFillColour(), "solid");
-        for (Circle circle : circles) {
-            circle.draw(g2d, circleParameters.getLineColour(), circleParameters.getLineWidth(), circleParameters.getFillColour(), "solid");
+    }
+
+    /**
+     * Draws the circles placed from the given index onwards
+     * Circles are drawn in the order they were placed, so drawing only the circles added since the last frame
+     * over that frame gives the same image as drawing the whole pattern again
+     * Placed circles never overlap, so they are drawn in batches without checking their bounds
+     * @param g - The graphics object to draw to
+     * @param first - the index of the first circle to draw
+     * @return the area covered by the circles drawn including their outlines, or null if there were none
+     */
+    public Rectangle drawCircles(Graphics g, int first) {
+        BatchRenderer renderer = new BatchRenderer((Graphics2D) g, true);
+        Rectangle changed = drawCircles(renderer, first);
+        renderer.flush();
+        return changed;
+    }
+
+    /**
+     * Helper method to draw the circles placed from the given index onwards with a renderer
+     * @param renderer - the renderer to draw the circles with, flushed by the caller
+     * @param first - the index of the first circle to draw
+     * @return the area covered by the circles drawn including their outlines, or null if there were none
+     */
+    private Rectangle drawCircles(ShapeRenderer renderer, int first) {
+        Rectangle changed = null;
+        double lineWidth = circleParameters.getLineWidth();
+        for (int i = Math.max(0, first); i < circles.size(); i++) {
+            drawCircle.setPosition(circles.getX(i), circles.getY(i));
+            drawCircle.setScale(circles.getSize(i));
+            renderer.draw(drawCircle, circleParameters.getLineColour(), circleParameters.getLineWidth(), circleParameters.getFillColour());
+            int reach = (int) Math.ceil(circles.getSize(i) + lineWidth) + 1;
+            Rectangle bounds = new Rectangle(circles.getX(i) - reach, circles.getY(i) - reach, reach * 2, reach * 2);
+            if (changed == null) {
+                changed = bounds;
+            } else {
+                changed.add(bounds);
+            }
         }
+        return changed;
     }
 
     /**
      * The implementation of the logic of the algorithm
      * Will fill a bounded shapes with circles
+     * Accepted circles are stored in the shape buffer and rejected attempts reuse a single candidate circle
      */
     public void addCircles() {
+        if (algorithmParameters.isParallel()) {
+            addCirclesParallel();
+            return;
+        }
+        CircleIndex index = getCircleIndex();
+        SplittableRandom random = getRandom();
+        OccupancyGrid occupancy = getOccupancyGrid();
+        boolean maximal = isMaximalPlacement();
         for (int i = 0; i < algorithmParameters.maxAttempts; i++) {
-            Point randomPosition = boundaryShape.randomPositionInside();
-            int randomRadius = algorithmParameters.minRadius + (int) (Math.random() * (algorithmParameters.maxRadius - algorithmParameters.minRadius));
-            Circle newCircle = new Circle(randomPosition.x, randomPosition.y, randomRadius);
+            if (occupancy != null && occupancy.isSaturated()) {
+                break;
+            }
+            randomPosition(occupancy, random);
+            int radius;
+            if (maximal) {
+                radius = fitRadius(index, position[0], position[1], boundaryLimit(position[0], position[1]));
+            } else {
+                radius = algorithmParameters.minRadius + (int) (random.nextDouble() * (algorithmParameters.maxRadius - algorithmParameters.minRadius));
+            }
 
-            boolean overlaps = circles.stream().anyMatch(newCircle::overlaps);
-            if (!overlaps) {
-                boolean isInside = boundaryShape.isInside(newCircle);
+            boolean placed = false;
+            if (radius >= algorithmParameters.minRadius && !index.overlaps(position[0], position[1], radius)) {
+                candidate.setPosition(position[0], position[1]);
+                candidate.setScale(radius);
+                boolean isInside = boundaryShape.isInside(candidate);
                 if (isInside) {
-                    circles.add(newCircle);
+                    index.insert(position[0], position[1], radius);
+                    placed = true;
                 }
             }
+            updateOccupancy(occupancy, index, position[0], position[1], Math.max(radius, algorithmParameters.minRadius), placed);
         }
     }
 
+    /**
+     * Parallel version of the circle packing logic
+     * Candidates are drawn in batches in the same order as the sequential version, checked for overlaps
+     * against the circles placed before the batch across the fork join pool, then committed in order.
+     * Survivors are checked again against circles placed earlier in the same batch, so the result
+     * matches the sequential version for the same random sequence
+     */
+    private void addCirclesParallel() {
+        CircleIndex index = getCircleIndex();
+        SplittableRandom random = getRandom();
+        OccupancyGrid occupancy = getOccupancyGrid();
+        boolean maximal = isMaximalPlacement();
+        int minRadius = algorithmParameters.minRadius;
+        for (int start = 0; start < algorithmParameters.maxAttempts; start += PARALLEL_BATCH_SIZE) {
+            if (occupancy != null && occupancy.isSaturated()) {
+                break;
+            }
+            int count = Math.min(PARALLEL_BATCH_SIZE, algorithmParameters.maxAttempts - start);
+            for (int i = 0; i < count; i++) {
+                randomPosition(occupancy, random);
+                batchX[i] = position[0];
+                batchY[i] = position[1];
+                if (maximal) {
+                    batchRadius[i] = boundaryLimit(position[0], position[1]);
+                } else {
+                    batchRadius[i] = minRadius + (int) (random.nextDouble() * (algorithmParameters.maxRadius - minRadius));
+                }
+            }
+
+            IntStream.range(0, count).parallel().forEach(i -> {
+                if (maximal) {
+                    batchRadius[i] = fitRadius(index, batchX[i], batchY[i], batchRadius[i]);
+                    batchRejected[i] = batchRadius[i] < minRadius;
+                } else {
+                    batchRejected[i] = index.overlaps(batchX[i], batchY[i], batchRadius[i]);
+                }
+            });
+
+            int snapshotSize = index.size();
+            for (int i = 0; i < count; i++) {
+                boolean placed = false;
+                if (!batchRejected[i] && index.size() > snapshotSize && maximal) {
+                    batchRadius[i] = fitRadius(index, batchX[i], batchY[i], batchRadius[i]);
+                    batchRejected[i] = batchRadius[i] < minRadius;
+                }
+                if (!batchRejected[i] && (index.size() == snapshotSize || !index.overlaps(batchX[i], batchY[i], batchRadius[i]))) {
+                    candidate.setPosition(batchX[i], batchY[i]);
+                    candidate.setScale(batchRadius[i]);
+                    if (boundaryShape.isInside(candidate)) {
+                        index.insert(batchX[i], batchY[i], batchRadius[i]);
+                        placed = true;
+                    }
+                }
+                updateOccupancy(occupancy, index, batchX[i], batchY[i], Math.max(batchRadius[i], minRadius), placed);
+            }
+        }
+    }
+
+    /**
+     * Helper method to check which placement mode is in use
+     * @return true if each circle is grown to the largest radius that fits, false for a random radius
+     */
+    private boolean isMaximalPlacement() {
+        String placementMode = algorithmParameters.getPlacementMode();
+        return switch (placementMode) {
+            case "random" -> false;
+            case "maximal" -> true;
+            default -> throw new IllegalArgumentException("Invalid placement mode: " + placementMode);
+        };
+    }
+
+    /**
+     * Helper method to find the largest whole radius a circle at a point can have before reaching the boundary
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @return the radius, capped at the maximum radius
+     */
+    private int boundaryLimit(int x, int y) {
+        return (int) Math.floor(Math.min(algorithmParameters.maxRadius, boundaryShape.edgeDistance(x, y)));
+    }
+
+    /**
+     * Helper method to find the largest whole radius a circle at a point can have without overlapping a placed circle
+     * @param index - the index of the placed circles
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param limit - the largest radius allowed
+     * @return the radius, no larger than the limit
+     */
+    private int fitRadius(CircleIndex index, int x, int y, int limit) {
+        if (limit < algorithmParameters.minRadius) {
+            return limit;
+        }
+        return (int) Math.floor(index.freeRadius(x, y, limit));
+    }
+
+    /**
+     * Helper method to draw the next candidate position into the position array
+     * Uses the free cells of the occupancy grid when there is one, otherwise the whole boundary shape
+     * @param occupancy - the occupancy grid, or null
+     * @param random - the random number generator to draw from
+     */
+    private void randomPosition(OccupancyGrid occupancy, SplittableRandom random) {
+        if (occupancy != null) {
+            occupancy.randomPosition(position, random);
+        } else {
+            boundaryShape.randomPositionInside(position, random);
+        }
+    }
+
+    /**
+     * Helper method to block the space taken by a placed circle or record a rejected candidate
+     * @param occupancy - the occupancy grid, or null
+     * @param index - the index of the placed circles
+     * @param x - the centre x co-ordinate of the candidate
+     * @param y - the centre y co-ordinate of the candidate
+     * @param radius - the radius of the candidate
+     * @param placed - true if the candidate was placed
+     */
+    private void updateOccupancy(OccupancyGrid occupancy, CircleIndex index, int x, int y, int radius, boolean placed) {
+        if (occupancy == null) {
+            return;
+        }
+        if (placed) {
+            occupancy.block(x, y, radius);
+        } else {
+            occupancy.recordMiss(x, y, index, boundaryShape);
+        }
+    }
+
+    /**
+     * Gets the occupancy grid used to draw candidates from the remaining free space
+     * The grid is rebuilt from the placed circles if the minimum radius or boundary has changed
+     * @return the occupancy grid, or null if candidates are drawn from the whole boundary shape
+     */
+    public OccupancyGrid getOccupancyGrid() {
+        String samplingType = algorithmParameters.getSamplingType();
+        switch (samplingType) {
+            case "shape":
+                return null;
+            case "occupancy":
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid sampling type: " + samplingType);
+        }
+        if (occupancyGrid == null || occupancyMinRadius != algorithmParameters.getMinRadius()) {
+            int size = algorithmParameters.getPolygonSize();
+            occupancyGrid = new OccupancyGrid(algorithmParameters.getCentreX() - size, algorithmParameters.getCentreY() - size,
+                    algorithmParameters.getCentreX() + size, algorithmParameters.getCentreY() + size,
+                    algorithmParameters.getMinRadius());
+            occupancyMinRadius = algorithmParameters.getMinRadius();
+            occupancyGrid.blockOutside(boundaryShape);
+            for (int i = 0; i < circles.size(); i++) {
+                occupancyGrid.block(circles.getX(i), circles.getY(i), circles.getSize(i));
+            }
+        }
+        return occupancyGrid;
+    }
+
+    /**
+     * Checks if the occupancy grid has no free space left for another circle
+     * @return true if the packing is saturated, always false when sampling from the whole boundary shape
+     */
+    public boolean isSaturated() {
+        OccupancyGrid occupancy = getOccupancyGrid();
+        return occupancy != null && occupancy.isSaturated();
+    }
+
+    /**
+     * Gets the index used to find overlapping circles
+     * The index is rebuilt from the placed circles if the index type has changed
+     * @return circleIndex
+     */
+    public CircleIndex getCircleIndex() {
+        String indexType = algorithmParameters.getIndexType();
+        if (circleIndex == null || !indexType.equals(circleIndexType)) {
+            int reach = algorithmParameters.getPolygonSize() + algorithmParameters.getMaxRadius();
+            circleIndex = indexFactory.createIndex(indexType, circles,
+                    algorithmParameters.getCentreX() - reach, algorithmParameters.getCentreY() - reach,
+                    algorithmParameters.getCentreX() + reach, algorithmParameters.getCentreY() + reach,
+                    algorithmParameters.getMaxRadius());
+            circleIndexType = indexType;
+            for (int i = 0; i < circles.size(); i++) {
+                circleIndex.insert(i);
+            }
+        }
+        return circleIndex;
+    }
+
+    /**
+     * Gets the random number generator used to place the circles
+     * The generator is created again from the seed if the seed has changed
+     * @return circleRandom
+     */
+    private SplittableRandom getRandom() {
+        long seed = algorithmParameters.getSeed();
+        if (circleRandom == null || seed != circleRandomSeed) {
+            circleRandom = new SplittableRandom(seed);
+            circleRandomSeed = seed;
+        }
+        return circleRandom;
+    }
+
     /**
      * Saves the current state of the algorithm to a PNG file at the specified path
      * @param filePath The file path where the image will be saved
@@ -105,7 +414,7 @@ public class CirclePackingAlgorithm implements AlgorithmStrategy {
     public void saveImage(String filePath) {
         BufferedImage image = new BufferedImage(canvasParameters.getWidth(), canvasParameters.getHeight(), BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
-        drawPattern(g2d);
+        drawPattern(shapeRendererFactory.createRenderer(image, g2d, canvasParameters, true));
 
         try {
             File file = new File(filePath);
@@ -139,14 +448,24 @@ public class CirclePackingAlgorithm implements AlgorithmStrategy {
      */
     public void setBoundaryShape(String type) {
         boundaryParameters.setShapeType(type);
+        occupancyGrid = null;
         boundaryShape = shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), boundaryParameters);
     }
 
     /**
      * Gets the circles creates to be drawn onto the canvas for the algorithm
+     * The list is a read only view over the shape buffer
+     * @return circles
+     */
+    public List<Circle> getCircles() {
+        return circles.asCircles();
+    }
+
+    /**
+     * Gets the buffer holding the placed circles
      * @return circles
      */
-    public ArrayList<Circle> getCircles() {
+    public ShapeBuffer getCircleBuffer() {
         return circles;
     }
 }
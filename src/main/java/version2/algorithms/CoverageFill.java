@@ -0,0 +1,107 @@
+package version2.algorithms;
+
+import java.awt.*;
+
+/**
+ * Works out the colour of a single shape standing in for part of a pattern too small to draw shape by shape
+ * Each shape the part would have held is added with its outline and fill, and the colour mixes the line and fill colours
+ * by the area each covers, so a part made of tiny shapes comes out in the line colour and a part made of larger shapes in the fill colour.
+ * The colour is made as transparent as the part of the area the shapes leave uncovered,
+ * so the level of detail threshold keeps the average colour of the pattern.
+ * Used by every algorithm with a level of detail threshold, so they all fill the parts they cut off the same way
+ * @author carysedwards
+ */
+class CoverageFill {
+    private double red;
+    private double green;
+    private double blue;
+    private double alpha;
+
+    /**
+     * Adds shapes of the same type, size and style to the part of the pattern
+     * The outline is drawn over the edge of each shape, half inside and half outside, and is never drawn narrower than a pixel.
+     * The half outside lands on a neighbouring shape about as often as on the background, so only half of it is counted
+     * @param shapeType - the type of the shapes
+     * @param radius - the radius of the shapes
+     * @param count - the number of shapes
+     * @param lineWidth - the line width of the shapes
+     * @param lineColour - the line colour of the shapes
+     * @param fillColour - the fill colour of the shapes
+     */
+    void add(String shapeType, double radius, double count, double lineWidth, Color lineColour, Color fillColour) {
+        double inradius = radius * inradiusRatio(shapeType);
+        double halfWidth = Math.max(lineWidth, 1) / 2;
+        double scale = count * area(shapeType, 1) / (inradiusRatio(shapeType) * inradiusRatio(shapeType));
+        double outer = scale * (inradius + halfWidth) * (inradius + halfWidth);
+        double shape = scale * inradius * inradius;
+        double inner = scale * Math.max(0, inradius - halfWidth) * Math.max(0, inradius - halfWidth);
+        addColour(lineColour, (outer + shape) / 2 - inner);
+        addColour(fillColour, inner);
+    }
+
+    /**
+     * Gets the colour of the shape standing in for the part of the pattern
+     * @param area - the area of the shape standing in for the part
+     * @return the colour, transparent if nothing has been added
+     */
+    Color toColour(double area) {
+        if (alpha <= 0) {
+            return new Color(0, 0, 0, 0);
+        }
+        int opacity = (int) Math.round(255 * Math.min(1, alpha / area));
+        return new Color(channel(red), channel(green), channel(blue), opacity);
+    }
+
+    /**
+     * Finds the area of a shape
+     * @param shapeType - the type of the shape
+     * @param radius - the radius of the shape
+     * @return the area
+     */
+    static double area(String shapeType, double radius) {
+        double ratio = switch (shapeType) {
+            case "circle" -> Math.PI;
+            case "square" -> 4;
+            case "triangle" -> 3 * Math.sqrt(3) / 4;
+            case "hexagon" -> 3 * Math.sqrt(3) / 2;
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+        return ratio * radius * radius;
+    }
+
+    /**
+     * Helper method to find the distance from the centre of a shape to the middle of its edges, as a fraction of its radius
+     * @param shapeType - the type of the shape
+     * @return the ratio of the inradius to the radius
+     */
+    private static double inradiusRatio(String shapeType) {
+        return switch (shapeType) {
+            case "circle", "square" -> 1;
+            case "triangle" -> 0.5;
+            case "hexagon" -> Math.sqrt(3) / 2;
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+    }
+
+    /**
+     * Helper method to add a colour covering part of the area, weighted by its alpha
+     * @param colour - the colour
+     * @param area - the area it covers
+     */
+    private void addColour(Color colour, double area) {
+        double weight = area * colour.getAlpha() / 255;
+        red += colour.getRed() * weight;
+        green += colour.getGreen() * weight;
+        blue += colour.getBlue() * weight;
+        alpha += weight;
+    }
+
+    /**
+     * Helper method to find the average of a colour channel over the area added
+     * @param total - the channel weighted by area and alpha
+     * @return the channel, from 0 to 255
+     */
+    private int channel(double total) {
+        return (int) Math.max(0, Math.min(255, Math.round(total / alpha)));
+    }
+}
@@ -3,8 +3,11 @@ package version2.algorithms;
 import version2.parameters.CanvasParameters;
 import version2.parameters.RecursiveShapeAlgorithmParameters;
 import version2.parameters.ShapeParameters;
+import version2.shapes.BatchRenderer;
+import version2.shapes.DisplayList;
 import version2.shapes.Shape;
-import version2.shapes.ShapeFactory;
+import version2.shapes.ShapeRenderer;
+import version2.shapes.ShapeRendererFactory;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -12,6 +15,12 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * The implementation of the Recursive Shape algorithm
@@ -19,12 +28,25 @@ import java.util.ArrayList;
  * @author carysedwards
  */
 public class RecursiveShapeAlgorithm implements AlgorithmStrategy {
-    private final ShapeFactory shapeFactory;
-    private final ArrayList<Shape> shapesToDraw;
+    private static final int PARALLEL_GRANULARITY = 2048;
+    private static final int MAX_TEMPLATE_SHAPES = 1 << 16;
+    private static final int LARGE_SHAPE = 0;
+    private static final int SMALL_SHAPE = 1;
+    private final DisplayList shapesToDraw;
     private final CanvasParameters canvasParameters;
     private final ShapeParameters largeShapeParameters;
     private final ShapeParameters smallShapeParameters;
     private final RecursiveShapeAlgorithmParameters algorithmParameters;
+    private final int[] styles = new int[2];
+    private final Map<Long, PatternTemplate> templates = new HashMap<>();
+    private final Map<Long, Integer> coverageStyles = new HashMap<>();
+    private List<Object> coverageInputs;
+    private int templateShapes;
+    private final ShapeRendererFactory shapeRendererFactory = new ShapeRendererFactory();
+    private double[] ringCos = new double[0];
+    private double[] ringSin = new double[0];
+    private double ringShrink;
+    private double templateLodThreshold;
 
     /**
      * Constructor to create the recursive shape algorithm
@@ -37,8 +59,7 @@ public class RecursiveShapeAlgorithm implements AlgorithmStrategy {
         this.algorithmParameters = algorithmParameters;
         this.largeShapeParameters = shapeParameters.get(0);
         this.smallShapeParameters = shapeParameters.get(1);
-        this.shapesToDraw = new ArrayList<>();
-        this.shapeFactory = new ShapeFactory();
+        this.shapesToDraw = new DisplayList();
     }
 
     /**
@@ -66,13 +87,17 @@ public class RecursiveShapeAlgorithm implements AlgorithmStrategy {
      */
     @Override
     public void drawPattern(Graphics g) {
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setColor(canvasParameters.getBackgroundColour());
-        g2d.fillRect(0, 0, canvasParameters.getWidth(), canvasParameters.getHeight());
-        for (Shape shape : shapesToDraw) {
-            shape.draw(g2d, shape.getParameters().getLineColour(), shape.getParameters().getLineWidth(),
-                    shape.getParameters().getFillColour(), "solid");
-        }
+        drawPattern(new BatchRenderer((Graphics2D) g, false));
+    }
+
+    /**
+     * Draws the algorithm with the given renderer based on the parameters already passed
+     * @param renderer - the renderer to draw the pattern with
+     */
+    public void drawPattern(ShapeRenderer renderer) {
+        renderer.fillBackground(canvasParameters.getBackgroundColour(), canvasParameters.getWidth(), canvasParameters.getHeight());
+        shapesToDraw.draw(renderer);
+        renderer.flush();
     }
 
     /**
@@ -83,23 +108,320 @@ public class RecursiveShapeAlgorithm implements AlgorithmStrategy {
      * @param depth - the recursive depth of how many shapes to draw
      */
     public void addPattern(int x, int y, int size, int depth) {
-        if (depth == 0) return;
-        Shape newLargeShape = shapeFactory.createShape(x, y, size, largeShapeParameters);
-        shapesToDraw.add(newLargeShape);
-        double angleStep = Math.PI * 2 / algorithmParameters.getNumShapes();
-        int smallerSize = (int) (size * Math.sin(angleStep / 2));
+        Rectangle viewport = canvasParameters.getViewport();
+        if (outsideViewport(viewport, x, y, patternExtent(size), depth)) {
+            return;
+        }
+        refreshStyles();
+        refreshRing();
+        refreshCoverage(size, depth);
+        if (algorithmParameters.isParallel()) {
+            prepareTemplates(smallerSize(size), depth - 1);
+            shapesToDraw.append(ForkJoinPool.commonPool().invoke(new PatternTask(x, y, size, depth, viewport)));
+        } else {
+            addPattern(x, y, size, depth, viewport, shapesToDraw);
+        }
+    }
+
+    /**
+     * Helper method holding the recursion, skipping small shapes whose part of the pattern lies outside the viewport
+     * The parts of the pattern around small shapes entirely inside the viewport are copied from the cached template for their size and depth.
+     * The part around the shape itself never is, so the whole pattern is never held in a template as well as the display list
+     * @param x - the starting x co-ordinate for the shape
+     * @param y - the starting y co-ordinate for the shape
+     * @param size - the size of the shape to draw
+     * @param depth - the recursive depth of how many shapes to draw
+     * @param viewport - the area of the canvas being drawn
+     * @param target - the display list the shapes are added to
+     */
+    private void addPattern(int x, int y, int size, int depth, Rectangle viewport, DisplayList target) {
+        if (!addLargeShape(x, y, size, depth, target)) return;
+        int smallerSize = smallerSize(size);
+
+        for (int i = 0; i < ringCos.length; i++) {
+            int newX = x + (int) (size * ringCos[i]);
+            int newY = y + (int) (size * ringSin[i]);
+            if (outsideViewport(viewport, newX, newY, patternExtent(smallerSize), depth - 1)) {
+                continue;
+            }
+
+            target.add(newX, newY, smallerSize, styles[SMALL_SHAPE]);
+            PatternTemplate template = null;
+            if (depth > 1 && insideViewport(viewport, newX, newY, patternExtent(smallerSize), depth - 1)) {
+                template = template(smallerSize, depth - 1);
+            }
+            if (template != null) {
+                addTemplate(template, newX, newY, target);
+            } else {
+                addPattern(newX, newY, smallerSize, depth - 1, viewport, target);
+            }
+        }
+    }
+
+    /**
+     * Helper method to get the shapes of a part of the pattern relative to its centre
+     * Every large shape of the same size and depth has the same pattern around it, so it is only worked out once.
+     * The templates hold at most MAX_TEMPLATE_SHAPES shapes between them, and are dropped before one that would not fit is kept.
+     * Synchronised as the parallel tasks can ask for templates the calling thread has not built
+     * @param size - the size of the large shape
+     * @param depth - the recursive depth left
+     * @return the template, or null if the part of the pattern can have more shapes than the templates may hold
+     */
+    private synchronized PatternTemplate template(int size, int depth) {
+        if (Math.pow(algorithmParameters.getNumShapes() + 1, depth) > MAX_TEMPLATE_SHAPES) {
+            return null;
+        }
+        long key = key(size, depth);
+        PatternTemplate template = templates.get(key);
+        if (template == null) {
+            template = buildTemplate(size, depth);
+            if (templateShapes + template.size > MAX_TEMPLATE_SHAPES) {
+                clearTemplates();
+            }
+            templates.put(key, template);
+            templateShapes += template.size;
+        }
+        return template;
+    }
+
+    /**
+     * Helper method to build the largest template the parallel tasks can use, and every smaller one below it, before they start
+     * so the tasks rarely have to wait for each other to build one
+     * @param size - the size of the small shapes around the outer large shape
+     * @param depth - the recursive depth left below them
+     */
+    private void prepareTemplates(int size, int depth) {
+        while (depth > 0 && template(size, depth) == null) {
+            size = smallerSize(size);
+            depth--;
+        }
+    }
+
+    /**
+     * Helper method to drop every template
+     */
+    private void clearTemplates() {
+        templates.clear();
+        templateShapes = 0;
+    }
+
+    /**
+     * Helper method to work out a template from the templates of its small shapes
+     * @param size - the size of the large shape
+     * @param depth - the recursive depth left
+     * @return the template
+     */
+    private PatternTemplate buildTemplate(int size, int depth) {
+        PatternTemplate template = new PatternTemplate();
+        if (depth == 0) {
+            return template;
+        }
+        double extent = patternExtent(size);
+        if (extent * 2 < algorithmParameters.getLodThreshold()) {
+            template.add(coverageStyles.get(key(size, depth)), 0, 0, extent);
+            return template;
+        }
+        template.add(styles[LARGE_SHAPE], 0, 0, size);
+        int smallerSize = smallerSize(size);
+        PatternTemplate child = template(smallerSize, depth - 1);
+        for (int i = 0; i < ringCos.length; i++) {
+            int offsetX = (int) (size * ringCos[i]);
+            int offsetY = (int) (size * ringSin[i]);
+            template.add(styles[SMALL_SHAPE], offsetX, offsetY, smallerSize);
+            template.append(child, offsetX, offsetY);
+        }
+        return template;
+    }
+
+    /**
+     * Helper method to add a copy of every shape in a template, moved to the given centre
+     * @param template - the template
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param target - the display list the shapes are added to
+     */
+    private void addTemplate(PatternTemplate template, int x, int y, DisplayList target) {
+        target.ensureCapacity(target.size() + template.size);
+        for (int i = 0; i < template.size; i++) {
+            target.add(x + template.xs[i], y + template.ys[i], template.sizes[i], template.styles[i]);
+        }
+    }
+
+    /**
+     * Helper method to update the angles of the ring of small shapes before the pattern is generated
+     * The templates are dropped whenever the number of small shapes or the level of detail threshold changes
+     */
+    private void refreshRing() {
+        int numShapes = algorithmParameters.getNumShapes();
+        if (ringCos.length == numShapes && templateLodThreshold == algorithmParameters.getLodThreshold()) {
+            return;
+        }
+        double angleStep = Math.PI * 2 / numShapes;
+        ringCos = new double[numShapes];
+        ringSin = new double[numShapes];
+        for (int i = 0; i < numShapes; i++) {
+            ringCos[i] = Math.cos(i * angleStep);
+            ringSin[i] = Math.sin(i * angleStep);
+        }
+        ringShrink = Math.sin(angleStep / 2);
+        templateLodThreshold = algorithmParameters.getLodThreshold();
+        clearTemplates();
+    }
+
+    /**
+     * Helper method to find the size of the small shapes around a large shape
+     * @param size - the size of the large shape
+     * @return the size of the small shapes
+     */
+    private int smallerSize(int size) {
+        return (int) (size * ringShrink);
+    }
+
+    /**
+     * Helper method to add the large shape at the centre of a part of the pattern
+     * Parts too small to draw shape by shape are replaced with a single coverage fill
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param size - the size of the large shape
+     * @param depth - the recursive depth left
+     * @param target - the display list the shapes are added to
+     * @return true if the ring of small shapes around the large shape should be added
+     */
+    private boolean addLargeShape(int x, int y, int size, int depth, DisplayList target) {
+        if (depth == 0) return false;
+        double extent = patternExtent(size);
+        if (extent * 2 < algorithmParameters.getLodThreshold()) {
+            addCoverage(x, y, size, depth, target);
+            return false;
+        }
+        target.add(x, y, size, styles[LARGE_SHAPE]);
+        return true;
+    }
+
+    /**
+     * Helper method to find how far the shapes below a large shape can reach from its centre
+     * Each ring of small shapes is a fixed fraction of the size of the last, so the reach is a geometric series
+     * @param size - the size of the large shape
+     * @return the distance from the centre, or infinity if the rings do not shrink
+     */
+    private double patternExtent(int size) {
+        double shrink = Math.sin(Math.PI / algorithmParameters.getNumShapes());
+        if (shrink >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return size / (1 - shrink);
+    }
+
+    /**
+     * Helper method to check if a part of the pattern lies entirely outside the viewport
+     * @param viewport - the area of the canvas being drawn
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param extent - the distance the shapes reach from the centre
+     * @param depth - the depth left below the shape, allowing a pixel of rounding for each level
+     * @return true if none of the shapes can be seen
+     */
+    private boolean outsideViewport(Rectangle viewport, int x, int y, double extent, int depth) {
+        double margin = extent + depth + Math.max(largeShapeParameters.getLineWidth(), smallShapeParameters.getLineWidth());
+        return x + margin < viewport.x || x - margin > viewport.x + viewport.width
+                || y + margin < viewport.y || y - margin > viewport.y + viewport.height;
+    }
 
-        for (int i = 0; i < algorithmParameters.getNumShapes(); i++) {
-            double angle = i * angleStep;
-            int newX = (int) (x + size * Math.cos(angle));
-            int newY = (int) (y + size * Math.sin(angle));
+    /**
+     * Helper method to check if a part of the pattern lies entirely inside the viewport, so nothing in it would be skipped
+     * @param viewport - the area of the canvas being drawn
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param extent - the distance the shapes reach from the centre
+     * @param depth - the depth left below the shape, allowing a pixel of rounding for each level
+     * @return true if all of the shapes can be seen
+     */
+    private boolean insideViewport(Rectangle viewport, int x, int y, double extent, int depth) {
+        double margin = extent + depth + Math.max(largeShapeParameters.getLineWidth(), smallShapeParameters.getLineWidth());
+        return x - margin >= viewport.x && x + margin <= viewport.x + viewport.width
+                && y - margin >= viewport.y && y + margin <= viewport.y + viewport.height;
+    }
+
+    /**
+     * Helper method to add a single filled circle in place of a part of the pattern too small to draw shape by shape
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param size - the size of the large shape
+     * @param depth - the recursive depth left
+     * @param target - the display list the shapes are added to
+     */
+    private void addCoverage(int x, int y, int size, int depth, DisplayList target) {
+        target.add(x, y, patternExtent(size), coverageStyles.get(key(size, depth)));
+    }
 
-            Shape newSmallShape = shapeFactory.createShape(newX, newY, smallerSize, smallShapeParameters);
-            shapesToDraw.add(newSmallShape);
-            addPattern(newX, newY, smallerSize, depth - 1);
+    /**
+     * Helper method to find the styles of the large and small shapes in the display list before the pattern is generated
+     * The coverage styles and templates are dropped whenever the shapes they were worked out from change
+     */
+    private void refreshStyles() {
+        styles[LARGE_SHAPE] = shapesToDraw.addStyle(largeShapeParameters);
+        styles[SMALL_SHAPE] = shapesToDraw.addStyle(smallShapeParameters);
+        List<Object> inputs = Arrays.asList(algorithmParameters.getNumShapes(),
+                largeShapeParameters.getShapeType(), largeShapeParameters.getLineWidth(), largeShapeParameters.getLineColour(), largeShapeParameters.getFillColour(),
+                smallShapeParameters.getShapeType(), smallShapeParameters.getLineWidth(), smallShapeParameters.getLineColour(), smallShapeParameters.getFillColour());
+        if (!inputs.equals(coverageInputs)) {
+            coverageInputs = inputs;
+            coverageStyles.clear();
+            clearTemplates();
+        }
+    }
+
+    /**
+     * Helper method to work out the style of every coverage fill the pattern can need before it is generated
+     * The sizes of the large shapes only depend on their depth, so there is at most one coverage style for each depth,
+     * and working them all out first means the parallel tasks only ever read them
+     * @param size - the size of the outer large shape
+     * @param depth - the recursive depth
+     */
+    private void refreshCoverage(int size, int depth) {
+        for (int level = depth; level > 0; level--) {
+            long key = key(size, level);
+            if (patternExtent(size) * 2 < algorithmParameters.getLodThreshold() && !coverageStyles.containsKey(key)) {
+                coverageStyles.put(key, shapesToDraw.addStyle(coverageParameters(size, level)));
+            }
+            size = smallerSize(size);
         }
     }
 
+    /**
+     * Helper method to work out the style of the circle filled in place of a part of the pattern
+     * Each ring of large shapes, and the small shapes at the bottom, are added with their outlines and fills,
+     * using the same coverage model as the Sierpinski shape algorithm so the level of detail threshold keeps the average colour
+     * @param size - the size of the large shape at the centre of the part
+     * @param depth - the recursive depth left
+     * @return the shape parameters of the coverage fill
+     */
+    private ShapeParameters coverageParameters(int size, int depth) {
+        CoverageFill fill = new CoverageFill();
+        int shapeSize = size;
+        double count = 1;
+        for (int level = depth; level > 0; level--) {
+            fill.add(largeShapeParameters.getShapeType(), shapeSize, count, largeShapeParameters.getLineWidth(),
+                    largeShapeParameters.getLineColour(), largeShapeParameters.getFillColour());
+            count *= ringCos.length;
+            shapeSize = smallerSize(shapeSize);
+        }
+        fill.add(smallShapeParameters.getShapeType(), shapeSize, count, smallShapeParameters.getLineWidth(),
+                smallShapeParameters.getLineColour(), smallShapeParameters.getFillColour());
+        Color colour = fill.toColour(CoverageFill.area("circle", patternExtent(size)));
+        return new ShapeParameters("circle", 0, colour, colour);
+    }
+
+    /**
+     * Helper method to find the key of a part of the pattern for the templates and coverage styles
+     * @param size - the size of the large shape
+     * @param depth - the recursive depth left
+     * @return the key
+     */
+    private static long key(int size, int depth) {
+        return ((long) size << 32) | depth;
+    }
+
     /**
      * Saves the current state of the algorithm to a PNG file at the specified path
      * @param filePath The file path where the image will be saved
@@ -107,7 +429,7 @@ public class RecursiveShapeAlgorithm implements AlgorithmStrategy {
     public void saveImage(String filePath) {
         BufferedImage image = new BufferedImage(canvasParameters.getWidth(), canvasParameters.getHeight(), BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
-        drawPattern(g2d);
+        drawPattern(shapeRendererFactory.createRenderer(image, g2d, canvasParameters, false));
 
         try {
             File file = new File(filePath);
@@ -121,12 +443,37 @@ public class RecursiveShapeAlgorithm implements AlgorithmStrategy {
 
     /**
      * Gets the shapes already calculated to draw to the canvas
+     * A new shape is only created when an element is accessed
+     * @return a read only view of the shapes
+     */
+    public List<Shape> getShapesToDraw() {
+        return shapesToDraw.asShapes();
+    }
+
+    /**
+     * Gets the display list holding the shapes already calculated to draw to the canvas
      * @return shapesToDraw
      */
-    public ArrayList<Shape> getShapesToDraw() {
+    public DisplayList getDisplayList() {
         return shapesToDraw;
     }
 
+    /**
+     * Gets the number of shapes held in the cached templates
+     * @return the number of shapes
+     */
+    public synchronized int getTemplateShapeCount() {
+        return templateShapes;
+    }
+
+    /**
+     * Gets the algorithm parameters specified for the algorithm
+     * @return algorithmParameters
+     */
+    public RecursiveShapeAlgorithmParameters getAlgorithmParameters() {
+        return algorithmParameters;
+    }
+
     /**
      * Gets the large shape parameters selected for this algorithm
      * @return largeShapeParameters
@@ -142,4 +489,126 @@ public class RecursiveShapeAlgorithm implements AlgorithmStrategy {
     public ShapeParameters getSmallShapeParameters() {
         return smallShapeParameters;
     }
+
+    /**
+     * Task generating the part of the pattern around a single large shape
+     * Small patterns are generated on the current thread, larger ones fork a task per small shape in the ring
+     * and join their shapes in ring order, so the list matches the single threaded recursion
+     */
+    private class PatternTask extends RecursiveTask<DisplayList> {
+        private final int x;
+        private final int y;
+        private final int size;
+        private final int depth;
+        private final Rectangle viewport;
+
+        /**
+         * Creates a task for the pattern around a large shape
+         * @param x - the centre x co-ordinate
+         * @param y - the centre y co-ordinate
+         * @param size - the size of the large shape
+         * @param depth - the recursive depth left
+         * @param viewport - the area of the canvas being drawn
+         */
+        PatternTask(int x, int y, int size, int depth, Rectangle viewport) {
+            this.x = x;
+            this.y = y;
+            this.size = size;
+            this.depth = depth;
+            this.viewport = viewport;
+        }
+
+        /**
+         * Generates the shapes of the pattern
+         * @return the shapes, in drawing order
+         */
+        @Override
+        protected DisplayList compute() {
+            DisplayList shapes = new DisplayList(shapesToDraw);
+            if (Math.pow(algorithmParameters.getNumShapes() + 1, depth) <= PARALLEL_GRANULARITY) {
+                addPattern(x, y, size, depth, viewport, shapes);
+                return shapes;
+            }
+            if (!addLargeShape(x, y, size, depth, shapes)) {
+                return shapes;
+            }
+            int smallerSize = smallerSize(size);
+            DisplayList smallShapes = new DisplayList(shapesToDraw);
+            List<PatternTask> tasks = new ArrayList<>();
+
+            for (int i = 0; i < ringCos.length; i++) {
+                int newX = x + (int) (size * ringCos[i]);
+                int newY = y + (int) (size * ringSin[i]);
+                if (outsideViewport(viewport, newX, newY, patternExtent(smallerSize), depth - 1)) {
+                    continue;
+                }
+                smallShapes.add(newX, newY, smallerSize, styles[SMALL_SHAPE]);
+                tasks.add(new PatternTask(newX, newY, smallerSize, depth - 1, viewport));
+            }
+            invokeAll(tasks);
+            for (int i = 0; i < tasks.size(); i++) {
+                shapes.add(smallShapes.getX(i), smallShapes.getY(i), smallShapes.getRadius(i), styles[SMALL_SHAPE]);
+                shapes.append(tasks.get(i).join());
+            }
+            return shapes;
+        }
+    }
+
+    /**
+     * The shapes of a part of the pattern relative to the centre of its large shape, kept as parallel primitive arrays
+     */
+    private static class PatternTemplate {
+        private int[] xs = new int[8];
+        private int[] ys = new int[8];
+        private double[] sizes = new double[8];
+        private short[] styles = new short[8];
+        private int size;
+
+        /**
+         * Adds a shape to the end of the template
+         * @param style - the index of the style of the shape in the display list
+         * @param x - the x offset from the centre
+         * @param y - the y offset from the centre
+         * @param shapeSize - the size of the shape
+         */
+        void add(int style, int x, int y, double shapeSize) {
+            ensureCapacity(size + 1);
+            xs[size] = x;
+            ys[size] = y;
+            sizes[size] = shapeSize;
+            styles[size] = (short) style;
+            size++;
+        }
+
+        /**
+         * Adds every shape of another template to the end of this one, moved by the given offset
+         * @param other - the template to copy
+         * @param offsetX - the x offset to move the shapes by
+         * @param offsetY - the y offset to move the shapes by
+         */
+        void append(PatternTemplate other, int offsetX, int offsetY) {
+            ensureCapacity(size + other.size);
+            for (int i = 0; i < other.size; i++) {
+                xs[size + i] = other.xs[i] + offsetX;
+                ys[size + i] = other.ys[i] + offsetY;
+            }
+            System.arraycopy(other.sizes, 0, sizes, size, other.size);
+            System.arraycopy(other.styles, 0, styles, size, other.size);
+            size += other.size;
+        }
+
+        /**
+         * Grows the arrays so they can hold at least the given number of shapes
+         * @param capacity - the number of shapes to allocate space for
+         */
+        private void ensureCapacity(int capacity) {
+            if (capacity > xs.length) {
+                int newCapacity = Math.max(capacity, xs.length + (xs.length >> 1));
+                xs = Arrays.copyOf(xs, newCapacity);
+                ys = Arrays.copyOf(ys, newCapacity);
+                sizes = Arrays.copyOf(sizes, newCapacity);
+                styles = Arrays.copyOf(styles, newCapacity);
+            }
+        }
+    }
 }
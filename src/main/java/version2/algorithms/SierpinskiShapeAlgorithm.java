@@ -11,18 +11,44 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * The implementation of the Sierpinski Shape algorithm
  * @author carysedwards
  */
 public class SierpinskiShapeAlgorithm implements AlgorithmStrategy {
+    private static final double COS_30 = Math.cos(Math.toRadians(30));
+    private static final double SIN_30 = Math.sin(Math.toRadians(30));
+    private static final double GASKET_COS = Math.cos(Math.PI / 6);
+    private static final double GASKET_SIN = Math.sin(Math.PI / 6);
+    private static final double[] HEXAGON_COS = new double[6];
+    private static final double[] HEXAGON_SIN = new double[6];
+    private static final double TRIANGLE_COVERAGE = 3.0 / 4;
+    private static final double CARPET_COVERAGE = 8.0 / 9;
+    private static final double HEXAGON_COVERAGE = 7.0 / 9;
+    private static final double TRIANGLE_REACH = 3;
+    private static final int PARALLEL_GRANULARITY = 2048;
+    private static final int PARALLEL_WINDOW = 4 * ForkJoinPool.getCommonPoolParallelism();
     private final CanvasParameters canvasParameters;
     private final ShapeParameters shapeParameters;
     private final SierpinskiShapeAlgorithmParameters algorithmParameters;
-    private final ArrayList<Shape> shapesToDraw;
+    private final ShapeBuffer shapesToDraw;
+    private final ShapeStack pending;
     private final ShapeFactory shapeFactory;
+    private final ShapeRendererFactory shapeRendererFactory = new ShapeRendererFactory();
+
+    static {
+        for (int i = 0; i < 6; i++) {
+            HEXAGON_COS[i] = Math.cos(i * Math.PI / 3);
+            HEXAGON_SIN[i] = Math.sin(i * Math.PI / 3);
+        }
+    }
 
     /**
      * Constructor to create the sierpinski shape algorithm
@@ -34,7 +60,8 @@ public class SierpinskiShapeAlgorithm implements AlgorithmStrategy {
         this.canvasParameters = canvasParameters;
         this.shapeParameters = shapeParameters.get(0);
         this.algorithmParameters = algorithmParameters;
-        this.shapesToDraw = new ArrayList<>();
+        this.shapesToDraw = new ShapeBuffer();
+        this.pending = new ShapeStack();
         this.shapeFactory = new ShapeFactory();
     }
 
@@ -48,23 +75,34 @@ public class SierpinskiShapeAlgorithm implements AlgorithmStrategy {
 
     /**
      * Executes the algorithm based on the parameters already passed
-     * The algorithm executes depends on the shape selected
+     * The shapes of the pattern are kept so they can be drawn later
      */
     @Override
     public void executeAlgorithm() {
+        generate(shapesToDraw);
+    }
+
+    /**
+     * Generates the pattern based on the parameters already passed, passing each shape to the sink as it is created
+     * Only the shapes still to be split are held, so the memory used depends on the depth rather than the number of shapes.
+     * In parallel mode a fixed number of small subtrees are also held while they wait to be passed on in order
+     * The algorithm executes depends on the shape selected
+     * @param sink - receives the shapes of the pattern
+     */
+    public void generate(ShapeSink sink) {
         if (validateParameters()) {
             switch (shapeParameters.getShapeType()) {
                 case "triangle":
-                    addSierpinski((Triangle) shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), shapeParameters), algorithmParameters.getDepth());
+                    addSierpinski((Triangle) shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), shapeParameters), algorithmParameters.getDepth(), sink);
                     break;
                 case "circle":
-                    addGasket((Circle) shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), shapeParameters), algorithmParameters.getDepth());
+                    addGasket((Circle) shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), shapeParameters), algorithmParameters.getDepth(), sink);
                     break;
                 case "square":
-                    addCarpet((Square) shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), shapeParameters), algorithmParameters.getDepth());
+                    addCarpet((Square) shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), shapeParameters), algorithmParameters.getDepth(), sink);
                     break;
                 case "hexagon":
-                    addHexagon((Hexagon) shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), shapeParameters), algorithmParameters.getDepth());
+                    addHexagon((Hexagon) shapeFactory.createShape(algorithmParameters.getCentreX(), algorithmParameters.getCentreY(), algorithmParameters.getPolygonSize(), shapeParameters), algorithmParameters.getDepth(), sink);
                     break;
                 default:
                     throw new IllegalArgumentException("Invalid shape type: " + shapeParameters.getShapeType());
@@ -82,107 +120,488 @@ public class SierpinskiShapeAlgorithm implements AlgorithmStrategy {
         g2d.setColor(canvasParameters.getBackgroundColour());
         g2d.fillRect(0, 0, canvasParameters.getWidth(), canvasParameters.getHeight());
 
-        for (Shape shape : shapesToDraw) {
-            shape.draw(g2d, shapeParameters.getLineColour(), shapeParameters.getLineWidth(), shapeParameters.getFillColour(), null);
+        if (shapesToDraw.size() == 0) {
+            return;
+        }
+        BatchRenderer renderer = createRenderer(g2d);
+        ShapeSink rasteriser = createRasteriser(renderer);
+        for (int i = 0; i < shapesToDraw.size(); i++) {
+            rasteriser.emit(shapesToDraw.getX(i), shapesToDraw.getY(i), shapesToDraw.getSize(i));
         }
+        renderer.flush();
     }
 
     /**
-     * Draws a triangle and adds it to the pattern
-      * @param triangle - previous triangle drawn
+     * Generates the pattern and draws each shape straight to the graphics object, without keeping the shapes
+     * @param g - The graphics object to draw to
+     */
+    @Override
+    public void streamPattern(Graphics g) {
+        streamPattern(createRenderer((Graphics2D) g));
+    }
+
+    /**
+     * Generates the pattern and draws each shape straight to the given renderer, without keeping the shapes
+     * @param renderer - the renderer to draw the pattern with
+     */
+    public void streamPattern(ShapeRenderer renderer) {
+        renderer.fillBackground(canvasParameters.getBackgroundColour(), canvasParameters.getWidth(), canvasParameters.getHeight());
+        generate(createRasteriser(renderer));
+        renderer.flush();
+    }
+
+    /**
+     * Helper method to create the renderer the shapes are drawn in batches with
+     * @param g2d - The graphics object to draw to
+     * @return the renderer
+     */
+    private BatchRenderer createRenderer(Graphics2D g2d) {
+        return new BatchRenderer(g2d, isDisjoint());
+    }
+
+    /**
+     * Helper method to check if the shapes drawn never overlap
+     * Every shape type but the circle only draws the smallest shapes, which never overlap, so they are batched without checking
+     * @return true if the shapes can be batched without checking their bounds
+     */
+    private boolean isDisjoint() {
+        return !"circle".equals(shapeParameters.getShapeType());
+    }
+
+    /**
+     * Helper method to create a sink that draws each shape it receives, reusing a single shape
+     * Parts of the pattern cut off by the level of detail threshold are filled with the line and fill colours mixed by the area
+     * the outlines and fills of the smallest shapes would have covered, made as transparent as the part they leave uncovered.
+     * Every part cut off at the same depth has the same colour, so only the last one is kept
+     * @param renderer - the renderer to draw the shapes with, flushed by the caller once the pattern is finished
+     * @return the sink
+     */
+    private ShapeSink createRasteriser(ShapeRenderer renderer) {
+        Shape shape = shapeFactory.createShape(0, 0, 0, shapeParameters);
+        String shapeType = shapeParameters.getShapeType();
+        return new ShapeSink() {
+            private double coverageSize = Double.NaN;
+            private double coverageFraction;
+            private double coverageDetail;
+            private Color coverageColour;
+
+            @Override
+            public void emit(int x, int y, double size) {
+                shape.setPosition(x, y);
+                shape.setScale(size);
+                renderer.draw(shape, shapeParameters.getLineColour(), shapeParameters.getLineWidth(), shapeParameters.getFillColour());
+            }
+
+            @Override
+            public void emitCoverage(int x, int y, double size, double coverage, double detail) {
+                if (size != coverageSize || coverage != coverageFraction || detail != coverageDetail) {
+                    CoverageFill fill = new CoverageFill();
+                    double leaves = detail > 0 ? coverage * CoverageFill.area(shapeType, size) / CoverageFill.area(shapeType, detail) : 0;
+                    fill.add(shapeType, detail, leaves, shapeParameters.getLineWidth(), shapeParameters.getLineColour(), shapeParameters.getFillColour());
+                    coverageColour = fill.toColour(CoverageFill.area(shapeType, size));
+                    coverageSize = size;
+                    coverageFraction = coverage;
+                    coverageDetail = detail;
+                }
+                shape.setPosition(x, y);
+                shape.setScale(size);
+                renderer.draw(shape, coverageColour, 0, coverageColour);
+            }
+        };
+    }
+
+    /**
+     * Helper method to check if a shape is too small to be worth splitting
+     * @param radius - the radius of the shape
+     * @return true if the shape is narrower than the level of detail threshold
+     */
+    private boolean belowDetail(double radius) {
+        return radius * 2 < algorithmParameters.getLodThreshold();
+    }
+
+    /**
+     * Helper method to check if a shape and every shape below it lie outside the viewport
+     * @param viewport - the area of the canvas being drawn
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param reach - how far the shape and the shapes below it can reach from its centre
+     * @param depth - the depth left below the shape, allowing a pixel of rounding for each level
+     * @return true if nothing below the shape can be seen
+     */
+    private boolean outsideViewport(Rectangle viewport, int x, int y, double reach, int depth) {
+        double margin = reach + depth + shapeParameters.getLineWidth();
+        return x + margin < viewport.x || x - margin > viewport.x + viewport.width
+                || y + margin < viewport.y || y - margin > viewport.y + viewport.height;
+    }
+
+    /**
+     * Helper method to precompute the fraction of a shape the pattern covers for each remaining depth
+     * @param ratio - the fraction of a shape its children cover
      * @param depth - the recursive depth
+     * @return the coverage, indexed by the depth left below the shape
      */
-    private void addSierpinski(Triangle triangle, int depth) {
-        if (depth == 0) {
-            shapesToDraw.add(triangle);
-            return;
+    private static double[] coverageTable(double ratio, int depth) {
+        double[] coverage = new double[Math.max(0, depth) + 1];
+        coverage[0] = 1;
+        for (int level = 1; level < coverage.length; level++) {
+            coverage[level] = coverage[level - 1] * ratio;
         }
-        double newRadius = triangle.getRadius() / 2;
-
-        int midX1 = (triangle.getX1() + triangle.getX2()) / 2;
-        int midY1 = (triangle.getY1() + triangle.getY2()) / 2;
-        int midX3 = (triangle.getX1() + triangle.getX3()) / 2;
-        int midY3 = (triangle.getY1() + triangle.getY3()) / 2;
+        return coverage;
+    }
 
-        addSierpinski((Triangle) shapeFactory.createShape(triangle.getX1(), triangle.getY1() - (int) newRadius, newRadius, shapeParameters), depth - 1);
-        addSierpinski((Triangle) shapeFactory.createShape(midX1, midY1 - (int) newRadius, newRadius, shapeParameters), depth - 1);
-        addSierpinski((Triangle) shapeFactory.createShape(midX3, midY3 - (int) newRadius, newRadius, shapeParameters), depth - 1);
+    /**
+     * Draws a triangle and adds it to the pattern
+     * @param triangle - the outer triangle
+     * @param depth - the recursive depth
+     * @param sink - receives the triangles of the pattern
+     */
+    private void addSierpinski(Triangle triangle, int depth, ShapeSink sink) {
+        addPattern(DisplayList.TRIANGLE, triangle.getCenterX(), triangle.getCenterY(), triangle.getRadius(), depth, sink);
     }
 
     /**
      * Draws a circle and adds it to the pattern
-     * @param circle - previous circle drawn
+     * Every circle is added before the circles inside it, in the same order as a recursive walk
+     * @param circle - the outer circle
      * @param depth - the recursive depth
+     * @param sink - receives the circles of the pattern
      */
-    private void addGasket(Circle circle, int depth) {
-        if (depth <= 0) return;
+    private void addGasket(Circle circle, int depth, ShapeSink sink) {
+        addPattern(DisplayList.CIRCLE, circle.getCenterX(), circle.getCenterY(), circle.getRadius(), depth, sink);
+    }
 
-        shapesToDraw.add(circle);
+    /**
+     * Draws a hexagon and adds it to the pattern
+     * @param hexagon - the outer hexagon
+     * @param depth - the recursive depth
+     */
+    public void addHexagon(Hexagon hexagon, int depth) {
+        addHexagon(hexagon, depth, shapesToDraw);
+    }
 
-        int newRadius = (int) circle.getRadius() / 2;
-        int dx = (int) (newRadius * Math.cos(Math.PI / 6));
-        int dy = (int) (newRadius * Math.sin(Math.PI / 6));
+    /**
+     * Draws a hexagon and passes each hexagon of the pattern to the sink
+     * @param hexagon - the outer hexagon
+     * @param depth - the recursive depth
+     * @param sink - receives the hexagons of the pattern
+     */
+    public void addHexagon(Hexagon hexagon, int depth, ShapeSink sink) {
+        addPattern(DisplayList.HEXAGON, hexagon.getCenterX(), hexagon.getCenterY(), hexagon.radius, depth, sink);
+    }
 
-        addGasket((Circle) shapeFactory.createShape(circle.getCenterX(), circle.getCenterY() - newRadius, newRadius, shapeParameters), depth - 1);
-        addGasket((Circle) shapeFactory.createShape(circle.getCenterX() - dx, circle.getCenterY() + dy, newRadius, shapeParameters), depth - 1);
-        addGasket((Circle) shapeFactory.createShape(circle.getCenterX() + dx, circle.getCenterY() + dy, newRadius, shapeParameters), depth - 1);
+    /**
+     * Draws a square and adds it to the pattern
+     * @param square - the outer square
+     * @param depth - the recursive depth
+     * @param sink - receives the squares of the pattern
+     */
+    private void addCarpet(Square square, int depth, ShapeSink sink) {
+        addPattern(DisplayList.SQUARE, square.getCenterX(), square.getCenterY(), square.getRadius(), depth, sink);
     }
 
     /**
-     * Draws a hexagon and adds it to the pattern
-     * @param hexagon - previous hexagon drawn
+     * Helper method to generate the pattern below an outer shape
+     * In parallel mode the subtrees are split across the common fork/join pool, each recording its own shapes,
+     * and the recordings are passed on in order so the sink receives exactly the same shapes as the single threaded walk
+     * @param kind - the kind of shape in the pattern, resolved once so no shape has to look it up
+     * @param x - the centre x co-ordinate of the outer shape
+     * @param y - the centre y co-ordinate of the outer shape
+     * @param radius - the radius of the outer shape
      * @param depth - the recursive depth
+     * @param sink - receives the shapes of the pattern
      */
-    public void addHexagon(Hexagon hexagon, int depth) {
-        if (depth == 0) {
-            shapesToDraw.add(hexagon);
+    private void addPattern(byte kind, int x, int y, double radius, int depth, ShapeSink sink) {
+        double[] coverage = coverageTable(coverageRatio(kind), depth);
+        Rectangle viewport = canvasParameters.getViewport();
+        if (algorithmParameters.isParallel()) {
+            walkInParallel(kind, x, y, radius, depth, viewport, coverage, sink);
+        } else {
+            walk(kind, x, y, radius, depth, viewport, coverage, pending, sink);
+        }
+    }
+
+    /**
+     * Helper method to walk the pattern below a shape on the current thread
+     * The shapes still to be split are kept on an explicit stack, children pushed in reverse so the
+     * shapes are passed on in the same order as a recursive walk
+     * @param kind - the kind of shape in the pattern
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the shape
+     * @param depth - the depth left below the shape
+     * @param viewport - the area of the canvas being drawn
+     * @param coverage - the coverage of a shape for each remaining depth
+     * @param stack - the stack to hold the shapes still to be split
+     * @param sink - receives the shapes of the pattern
+     */
+    private void walk(byte kind, int x, int y, double radius, int depth, Rectangle viewport, double[] coverage, ShapeStack stack, ShapeSink sink) {
+        stack.clear();
+        stack.push(x, y, radius, depth);
+        while (!stack.isEmpty()) {
+            int slot = stack.pop();
+            visit(kind, stack.getX(slot), stack.getY(slot), stack.getRadius(slot), stack.getDepth(slot), viewport, coverage, stack, sink);
+        }
+    }
+
+    /**
+     * Helper method to walk the pattern below a shape across the common fork/join pool
+     * Shapes with too many shapes below them are split on the calling thread in walk order, and every smaller subtree is forked
+     * as a task recording its own shapes, along with any shapes the splits passed on since the last task.
+     * Each recording is passed to the sink as soon as every one before it has been, then dropped,
+     * and no more tasks are forked while a fixed number are waiting, so only those subtrees are ever held
+     * @param kind - the kind of shape in the pattern
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the shape
+     * @param depth - the depth left below the shape
+     * @param viewport - the area of the canvas being drawn
+     * @param coverage - the coverage of a shape for each remaining depth
+     * @param sink - receives the shapes of the pattern
+     */
+    private void walkInParallel(byte kind, int x, int y, double radius, int depth, Rectangle viewport, double[] coverage, ShapeSink sink) {
+        int branchingFactor = branchingFactor(kind);
+        Deque<ForkJoinTask<ShapeRecorder>> waiting = new ArrayDeque<>();
+        ShapeRecorder recorder = new ShapeRecorder();
+        pending.clear();
+        pending.push(x, y, radius, depth);
+        while (!pending.isEmpty()) {
+            int slot = pending.pop();
+            int shapeX = pending.getX(slot);
+            int shapeY = pending.getY(slot);
+            double shapeRadius = pending.getRadius(slot);
+            int level = pending.getDepth(slot);
+            if (Math.pow(branchingFactor, level) > PARALLEL_GRANULARITY) {
+                visit(kind, shapeX, shapeY, shapeRadius, level, viewport, coverage, pending, recorder);
+                continue;
+            }
+            waiting.add(new SubdivisionTask(kind, shapeX, shapeY, shapeRadius, level, viewport, coverage, recorder).fork());
+            recorder = new ShapeRecorder();
+            if (waiting.size() >= PARALLEL_WINDOW) {
+                waiting.poll().join().replay(sink);
+            }
+        }
+        while (!waiting.isEmpty()) {
+            waiting.poll().join().replay(sink);
+        }
+        recorder.replay(sink);
+    }
+
+    /**
+     * Helper method to handle a single shape of the pattern, passing it to the sink or pushing its children
+     * @param kind - the kind of shape in the pattern
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the shape
+     * @param level - the depth left below the shape
+     * @param viewport - the area of the canvas being drawn
+     * @param coverage - the coverage of a shape for each remaining depth
+     * @param stack - receives the children of the shape, in reverse order
+     * @param sink - receives the shapes of the pattern
+     */
+    private void visit(byte kind, int x, int y, double radius, int level, Rectangle viewport, double[] coverage, ShapeStack stack, ShapeSink sink) {
+        switch (kind) {
+            case DisplayList.TRIANGLE -> visitTriangle(x, y, radius, level, viewport, coverage, stack, sink);
+            case DisplayList.CIRCLE -> visitCircle(x, y, radius, level, viewport, stack, sink);
+            case DisplayList.SQUARE -> visitSquare(x, y, radius, level, viewport, coverage, stack, sink);
+            case DisplayList.HEXAGON -> visitHexagon(x, y, radius, level, viewport, coverage, stack, sink);
+            default -> throw new IllegalArgumentException("Invalid shape kind: " + kind);
+        }
+    }
+
+    /**
+     * Helper method to handle a triangle, splitting it into three half size triangles
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the triangle
+     * @param level - the depth left below the triangle
+     * @param viewport - the area of the canvas being drawn
+     * @param coverage - the coverage of a triangle for each remaining depth
+     * @param stack - receives the children of the triangle, in reverse order
+     * @param sink - receives the triangles of the pattern
+     */
+    private void visitTriangle(int x, int y, double radius, int level, Rectangle viewport, double[] coverage, ShapeStack stack, ShapeSink sink) {
+        if (outsideViewport(viewport, x, y, radius * TRIANGLE_REACH, level)) {
             return;
         }
+        if (level == 0) {
+            sink.emit(x, y, radius);
+            return;
+        }
+        if (belowDetail(radius)) {
+            sink.emitCoverage(x, y, radius, coverage[level], radius / Math.pow(2, level));
+            return;
+        }
+        double newRadius = radius / 2;
 
-        double newRadius = hexagon.radius / 3;
+        int y1 = (int) (y - radius);
+        int x2 = (int) (x - radius * COS_30);
+        int x3 = (int) (x + radius * COS_30);
+        int y2 = (int) (y + radius * SIN_30);
+        int midX1 = (x + x2) / 2;
+        int midX3 = (x + x3) / 2;
+        int midY = (y1 + y2) / 2;
 
-        for (int i = 0; i < 6; i++) {
-            int newX = hexagon.getCenterX() + (int) (newRadius * 2 * Math.cos(i * Math.PI / 3));
-            int newY = hexagon.getCenterY() + (int) (newRadius * 2 * Math.sin(i * Math.PI / 3));
-            addHexagon((Hexagon) shapeFactory.createShape(newX, newY, newRadius, shapeParameters), depth - 1);
+        stack.push(midX3, midY - (int) newRadius, newRadius, level - 1);
+        stack.push(midX1, midY - (int) newRadius, newRadius, level - 1);
+        stack.push(x, y1 - (int) newRadius, newRadius, level - 1);
+    }
+
+    /**
+     * Helper method to handle a circle, adding it before the three circles inside it
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     * @param level - the depth left below the circle
+     * @param viewport - the area of the canvas being drawn
+     * @param stack - receives the children of the circle, in reverse order
+     * @param sink - receives the circles of the pattern
+     */
+    private void visitCircle(int x, int y, double radius, int level, Rectangle viewport, ShapeStack stack, ShapeSink sink) {
+        if (outsideViewport(viewport, x, y, radius, level)) {
+            return;
         }
-        addHexagon((Hexagon) shapeFactory.createShape(hexagon.getCenterX(), hexagon.getCenterY(), newRadius, shapeParameters), depth - 1);
+        if (level <= 0) {
+            return;
+        }
+        sink.emit(x, y, radius);
+        if (belowDetail(radius)) {
+            return;
+        }
+
+        int newRadius = (int) radius / 2;
+        int dx = (int) (newRadius * GASKET_COS);
+        int dy = (int) (newRadius * GASKET_SIN);
+
+        stack.push(x + dx, y + dy, newRadius, level - 1);
+        stack.push(x - dx, y + dy, newRadius, level - 1);
+        stack.push(x, y - newRadius, newRadius, level - 1);
     }
 
     /**
-     * Draws a square and adds it to the pattern
-     * @param square - previous square drawn
-     * @param depth - the recursive depth
+     * Helper method to handle a hexagon, splitting it into a centre hexagon and six around it
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the hexagon
+     * @param level - the depth left below the hexagon
+     * @param viewport - the area of the canvas being drawn
+     * @param coverage - the coverage of a hexagon for each remaining depth
+     * @param stack - receives the children of the hexagon, in reverse order
+     * @param sink - receives the hexagons of the pattern
      */
-    private void addCarpet(Square square, int depth) {
-        if (depth == 0) {
-            shapesToDraw.add(square);
+    private void visitHexagon(int x, int y, double radius, int level, Rectangle viewport, double[] coverage, ShapeStack stack, ShapeSink sink) {
+        if (outsideViewport(viewport, x, y, radius, level)) {
+            return;
+        }
+        if (level == 0) {
+            sink.emit(x, y, radius);
+            return;
+        }
+        if (belowDetail(radius)) {
+            sink.emitCoverage(x, y, radius, coverage[level], radius / Math.pow(3, level));
             return;
         }
-        double newRadius = square.getRadius() / 3;
+
+        double newRadius = radius / 3;
+
+        stack.push(x, y, newRadius, level - 1);
+        for (int i = 5; i >= 0; i--) {
+            int newX = x + (int) (newRadius * 2 * HEXAGON_COS[i]);
+            int newY = y + (int) (newRadius * 2 * HEXAGON_SIN[i]);
+            stack.push(newX, newY, newRadius, level - 1);
+        }
+    }
+
+    /**
+     * Helper method to handle a square, splitting it into the eight outer squares of a three by three grid
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the square
+     * @param level - the depth left below the square
+     * @param viewport - the area of the canvas being drawn
+     * @param coverage - the coverage of a square for each remaining depth
+     * @param stack - receives the children of the square, in reverse order
+     * @param sink - receives the squares of the pattern
+     */
+    private void visitSquare(int x, int y, double radius, int level, Rectangle viewport, double[] coverage, ShapeStack stack, ShapeSink sink) {
+        if (outsideViewport(viewport, x, y, radius, level)) {
+            return;
+        }
+        if (level == 0) {
+            sink.emit(x, y, radius);
+            return;
+        }
+        if (belowDetail(radius)) {
+            sink.emitCoverage(x, y, radius, coverage[level], radius / Math.pow(3, level));
+            return;
+        }
+        double newRadius = radius / 3;
         double offsetX = newRadius * 2;
 
-        for (int row = 0; row < 3; row++) {
-            for (int col = 0; col < 3; col++) {
+        for (int row = 2; row >= 0; row--) {
+            for (int col = 2; col >= 0; col--) {
                 if (row == 1 && col == 1) continue;
 
-                int newX = (int) (square.getCenterX() + (col - 1) * offsetX);
-                int newY = (int) (square.getCenterY() + (row - 1) * offsetX);
-
-                Square newSquare = (Square) shapeFactory.createShape(newX, newY, newRadius, shapeParameters);
-                addCarpet(newSquare, depth - 1);
+                int newX = (int) (x + (col - 1) * offsetX);
+                int newY = (int) (y + (row - 1) * offsetX);
+                stack.push(newX, newY, newRadius, level - 1);
             }
         }
     }
 
     /**
-     * Saves the current state of the algorithm to a PNG file at the specified path
+     * Helper method to find the fraction of a shape its children cover
+     * @param kind - the kind of shape in the pattern
+     * @return the coverage ratio, the gasket never needs one as it only stops descending
+     */
+    private static double coverageRatio(byte kind) {
+        return switch (kind) {
+            case DisplayList.TRIANGLE -> TRIANGLE_COVERAGE;
+            case DisplayList.SQUARE -> CARPET_COVERAGE;
+            case DisplayList.HEXAGON -> HEXAGON_COVERAGE;
+            case DisplayList.CIRCLE -> 1;
+            default -> throw new IllegalArgumentException("Invalid shape kind: " + kind);
+        };
+    }
+
+    /**
+     * Helper method to find how many children each shape is split into
+     * @param kind - the kind of shape in the pattern
+     * @return the number of children
+     */
+    private static int branchingFactor(byte kind) {
+        return switch (kind) {
+            case DisplayList.TRIANGLE, DisplayList.CIRCLE -> 3;
+            case DisplayList.SQUARE -> 8;
+            case DisplayList.HEXAGON -> 7;
+            default -> throw new IllegalArgumentException("Invalid shape kind: " + kind);
+        };
+    }
+
+    /**
+     * Gets the shapes already calculated to draw to the canvas
+     * @return the position and size of every shape in the pattern
+     */
+    public ShapeBuffer getShapeBuffer() {
+        return shapesToDraw;
+    }
+
+    /**
+     * Gets the algorithm parameters specified for the algorithm
+     * @return algorithmParameters
+     */
+    public SierpinskiShapeAlgorithmParameters getAlgorithmParameters() {
+        return algorithmParameters;
+    }
+
+    /**
+     * Saves the algorithm to a PNG file at the specified path
+     * The pattern is streamed into the image, so it does not need to have been executed first
      * @param filePath The file path where the image will be saved
      */
     public void saveImage(String filePath) {
         BufferedImage image = new BufferedImage(canvasParameters.getWidth(), canvasParameters.getHeight(), BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
-        drawPattern(g2d);
+        streamPattern(shapeRendererFactory.createRenderer(image, g2d, canvasParameters, isDisjoint()));
 
         try {
             File file = new File(filePath);
@@ -193,4 +612,50 @@ public class SierpinskiShapeAlgorithm implements AlgorithmStrategy {
             g2d.dispose();
         }
     }
+
+    /**
+     * Task generating the part of the pattern below a single shape small enough to be walked on one thread
+     */
+    private class SubdivisionTask extends RecursiveTask<ShapeRecorder> {
+        private final byte kind;
+        private final int x;
+        private final int y;
+        private final double radius;
+        private final int level;
+        private final Rectangle viewport;
+        private final double[] coverage;
+        private final ShapeRecorder recorder;
+
+        /**
+         * Creates a task for the shapes below a shape
+         * @param kind - the kind of shape in the pattern
+         * @param x - the centre x co-ordinate
+         * @param y - the centre y co-ordinate
+         * @param radius - the radius of the shape
+         * @param level - the depth left below the shape
+         * @param viewport - the area of the canvas being drawn
+         * @param coverage - the coverage of a shape for each remaining depth
+         * @param recorder - records the shapes, after any it already holds
+         */
+        SubdivisionTask(byte kind, int x, int y, double radius, int level, Rectangle viewport, double[] coverage, ShapeRecorder recorder) {
+            this.kind = kind;
+            this.x = x;
+            this.y = y;
+            this.radius = radius;
+            this.level = level;
+            this.viewport = viewport;
+            this.coverage = coverage;
+            this.recorder = recorder;
+        }
+
+        /**
+         * Generates the shapes below the shape
+         * @return the recorded shapes, in walk order
+         */
+        @Override
+        protected ShapeRecorder compute() {
+            walk(kind, x, y, radius, level, viewport, coverage, new ShapeStack(), recorder);
+            return recorder;
+        }
+    }
 }
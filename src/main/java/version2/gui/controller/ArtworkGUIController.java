@@ -1,20 +1,27 @@
 package version2.gui.controller;
 
 import version2.algorithms.AlgorithmContext;
+import version2.algorithms.AlgorithmStrategy;
 import version2.algorithms.CirclePackingAlgorithm;
 import version2.algorithms.RecursiveShapeAlgorithm;
 import version2.algorithms.SierpinskiShapeAlgorithm;
 import version2.gui.model.ParametersModel;
 import version2.gui.view.ArtworkGUIView;
+import version2.parameters.CanvasParameters;
+import version2.parameters.CirclePackingAlgorithmParameters;
+import version2.parameters.RecursiveShapeAlgorithmParameters;
+import version2.parameters.ShapeParameters;
+import version2.parameters.SierpinskiShapeAlgorithmParameters;
 import version2.validate.Validate;
 
 import javax.imageio.ImageIO;
-import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ItemEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.function.BooleanSupplier;
 
 import static version2.algorithms.AlgorithmContext.getAlgorithmContext;
 
@@ -30,7 +37,7 @@ public class ArtworkGUIController {
     private RecursiveShapeController recursivePanelController;
     private CirclePackingController circlePackingPanelController;
     private SierpinskiController sierpinskiPanelController;
-    private Timer animationTimer;
+    private final RenderPipeline renderPipeline;
 
     /**
      * Creates an artwork gui controller
@@ -40,6 +47,8 @@ public class ArtworkGUIController {
     public ArtworkGUIController(ArtworkGUIView view, ParametersModel model) {
         this.view = view;
         this.model = model;
+        this.renderPipeline = new RenderPipeline(view.getCanvasWidth(), view.getCanvasHeight(), this::showFrame,
+                ex -> view.setErrorLabel(ex.getMessage()));
         initialiseControllers();
     }
 
@@ -54,7 +63,10 @@ public class ArtworkGUIController {
         view.getAlgorithmDropdown().addItemListener(this::handleAlgorithmSelection);
         view.getGenerateBtn().addActionListener(e -> generateArtwork());
         view.getSaveBtn().addActionListener(e -> saveImage());
-        view.getResetBtn().addActionListener(e -> view.resetCanvas());
+        view.getResetBtn().addActionListener(e -> {
+            renderPipeline.cancel();
+            view.resetCanvas();
+        });
     }
 
     /**
@@ -73,9 +85,7 @@ public class ArtworkGUIController {
      * @param selectedAlgorithm - the algorithm selected
      */
     public void updateAlgorithmPanelVisibility(String selectedAlgorithm) {
-        if (animationTimer != null) {
-            animationTimer.stop();
-        }
+        renderPipeline.cancel();
         view.getCanvas().removeAll();
 
         view.getRecursivePanel().setVisible("Recursive Shape".equals(selectedAlgorithm));
@@ -92,22 +102,22 @@ public class ArtworkGUIController {
     /**
      * Generates the artwork by executing the algorithm selected
      * with the given parameters
+     * The algorithm is executed and drawn by the render pipeline, so the artwork is shown once it is finished.
+     * Any render still running is cancelled first, and each algorithm is given its own copy of the parameters,
+     * so updating the model from the panels never changes the parameters of an algorithm on the render thread
      */
     public void generateArtwork() {
-        BufferedImage image = view.createBufferedImage();
-        Graphics2D g2d = image.createGraphics();
-        applyRenderingHints(g2d);
-
         String validationError = "";
         view.setErrorLabel("");
+        renderPipeline.cancel();
 
         switch (view.getAlgorithmDropdown().getSelectedItem()) {
             case "Recursive Shape":
                 validationError = Validate.validateRecursivePanelView(view.getRecursivePanelView());
                 if (validationError.isEmpty()) {
                     recursivePanelController.updateModelWithPanelSettings();
-                    context.setStrategy(new RecursiveShapeAlgorithm(
-                            model.getCanvasParams(), model.getShapesParams(), model.getRecursiveParams()));
+                    context.setStrategy(new RecursiveShapeAlgorithm(new CanvasParameters(model.getCanvasParams()),
+                            copyShapesParams(), new RecursiveShapeAlgorithmParameters(model.getRecursiveParams())));
                 } else {
                     view.setErrorLabel(validationError);
                 }
@@ -116,8 +126,8 @@ public class ArtworkGUIController {
                 validationError = Validate.validateCirclePackingPanelView(view.getCirclePackingPanelView());
                 if (validationError.isEmpty()) {
                     circlePackingPanelController.updateModelWithPanelSettings();
-                    context.setStrategy(new CirclePackingAlgorithm(
-                            model.getCanvasParams(), model.getShapesParams(), model.getPackingParams()));
+                    context.setStrategy(new CirclePackingAlgorithm(new CanvasParameters(model.getCanvasParams()),
+                            copyShapesParams(), new CirclePackingAlgorithmParameters(model.getPackingParams())));
                 } else {
                     view.setErrorLabel(validationError);
                 }
@@ -126,8 +136,8 @@ public class ArtworkGUIController {
                 validationError = Validate.validateSierpinskiPanelView(view.getSierpinskiPanelView());
                 if (validationError.isEmpty()) {
                     sierpinskiPanelController.updateModelWithPanelSettings();
-                    context.setStrategy(new SierpinskiShapeAlgorithm(
-                            model.getCanvasParams(), model.getShapesParams(), model.getSierpinskiParams()));
+                    context.setStrategy(new SierpinskiShapeAlgorithm(new CanvasParameters(model.getCanvasParams()),
+                            copyShapesParams(), new SierpinskiShapeAlgorithmParameters(model.getSierpinskiParams())));
                 } else {
                     view.setErrorLabel(validationError);
                 }
@@ -137,37 +147,73 @@ public class ArtworkGUIController {
         }
 
         if ((!view.getAlgorithmDropdown().getSelectedItem().equals("-")) && validationError.isEmpty()) {
-            context.executeAlgorithm();
-            context.drawPattern(g2d);
-            if (context.getStrategy() instanceof CirclePackingAlgorithm) {
-                startCirclePackingAnimation((CirclePackingAlgorithm) this.context.getStrategy());
+            AlgorithmStrategy strategy = context.getStrategy();
+            if (strategy instanceof CirclePackingAlgorithm) {
+                startCirclePackingAnimation((CirclePackingAlgorithm) strategy);
+            } else {
+                renderPipeline.render(g2d -> {
+                    applyRenderingHints(g2d);
+                    strategy.streamPattern(g2d);
+                });
             }
-            g2d.dispose();
-            view.setArtworkImage(image);
-            view.getCanvas().repaint();
         }
     }
 
     /**
      * Helper method for the Circle Packing algorithm to start the animation
+     * Each step adds circles and draws the packing on the render pipeline until no more circles fit.
+     * In incremental mode only the circles added since the last frame are drawn
      * @param cpa - the Circle Packing Algorithm to execute
      */
     private void startCirclePackingAnimation(CirclePackingAlgorithm cpa) {
-        if (animationTimer != null) {
-            animationTimer.stop();
+        BooleanSupplier step = () -> {
+            cpa.addCircles();
+            return !cpa.isSaturated();
+        };
+        switch (cpa.getAlgorithmParameters().getAnimationMode()) {
+            case "incremental":
+                int[] drawnCircles = new int[1];
+                renderPipeline.animateIncremental(cpa.getAlgorithmParameters().animationSpeed, step, g2d -> {
+                    applyRenderingHints(g2d);
+                    if (drawnCircles[0] == 0) {
+                        cpa.drawBoundary(g2d);
+                    }
+                    Rectangle changed = cpa.drawCircles(g2d, drawnCircles[0]);
+                    drawnCircles[0] = cpa.getCircleBuffer().size();
+                    return changed;
+                });
+                break;
+            case "full":
+                renderPipeline.animate(cpa.getAlgorithmParameters().animationSpeed, step, g2d -> {
+                    applyRenderingHints(g2d);
+                    cpa.drawPattern(g2d);
+                });
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid animation mode: " + cpa.getAlgorithmParameters().getAnimationMode());
         }
+    }
 
-        animationTimer = new Timer(cpa.getAlgorithmParameters().animationSpeed, e -> {
-            cpa.addCircles();
-            BufferedImage image1 = view.createBufferedImage();
-            Graphics2D g2d1 = image1.createGraphics();
-            applyRenderingHints(g2d1);
-            cpa.drawPattern(g2d1);
-            g2d1.dispose();
-            view.setArtworkImage(image1);
-            view.getCanvas().repaint();
-        });
-        animationTimer.start();
+    /**
+     * Helper method to copy the shape parameters of the model for a new algorithm
+     * @return the copied shape parameters
+     */
+    private ArrayList<ShapeParameters> copyShapesParams() {
+        ArrayList<ShapeParameters> shapes = new ArrayList<>();
+        for (ShapeParameters shape : model.getShapesParams()) {
+            shapes.add(new ShapeParameters(shape));
+        }
+        return shapes;
+    }
+
+    /**
+     * Helper method to show a finished frame on the canvas, repainting only the area that changed
+     * @param frame - the frame drawn by the render pipeline
+     * @param changed - the area that changed since the last frame shown
+     */
+    private void showFrame(BufferedImage frame, Rectangle changed) {
+        view.setArtworkImage(frame);
+        view.getCanvas().repaint(changed);
     }
 
     /**
@@ -205,6 +251,14 @@ public class ArtworkGUIController {
         }
     }
 
+    /**
+     * Gets the render pipeline drawing the artwork
+     * @return renderPipeline
+     */
+    public RenderPipeline getRenderPipeline() {
+        return renderPipeline;
+    }
+
     /**
      * Gets the recursive algorithm panel controller
      * @return recursivePanelController
@@ -0,0 +1,374 @@
+package version2.gui.controller;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Renders the artwork on a background thread so the Event Dispatch Thread is never blocked by an algorithm
+ * Frames are drawn into a pair of back buffers that take turns being drawn and waiting to be shown,
+ * and only finished frames are passed to the display on the Event Dispatch Thread.
+ * If a new frame is finished before the last one was shown, the waiting frame is dropped and its buffer reused.
+ * Incremental animations draw only what changed into an accumulated frame, and each back buffer is brought up to date
+ * by copying just the area that changed since it was last used
+ * @author carysedwards
+ */
+public class RenderPipeline {
+    private final int width;
+    private final int height;
+    private final BiConsumer<BufferedImage, Rectangle> display;
+    private final Consumer<RuntimeException> errorHandler;
+    private final ScheduledExecutorService executor;
+    private final Queue<BufferedImage> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Frame> pendingFrame = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger droppedFrames = new AtomicInteger();
+    private final Map<BufferedImage, Rectangle> staleAreas = new IdentityHashMap<>();
+    private BufferedImage accumulatedFrame;
+    private BufferedImage frontBuffer;
+
+    /**
+     * Creates a render pipeline with its own background thread
+     * @param width - the width of the frames
+     * @param height - the height of the frames
+     * @param display - shows a finished frame with the area that changed since the last frame shown, called on the Event Dispatch Thread
+     * @param errorHandler - reports an error thrown while rendering, called on the Event Dispatch Thread
+     */
+    public RenderPipeline(int width, int height, BiConsumer<BufferedImage, Rectangle> display, Consumer<RuntimeException> errorHandler) {
+        this.width = width;
+        this.height = height;
+        this.display = display;
+        this.errorHandler = errorHandler;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "render-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        freeBuffers.add(createBuffer());
+        freeBuffers.add(createBuffer());
+    }
+
+    /**
+     * Renders a single frame in the background, cancelling any animation still running
+     * @param renderer - draws the frame
+     * @return the future of the render, done once the frame has been handed to the Event Dispatch Thread
+     */
+    public Future<?> render(Consumer<Graphics2D> renderer) {
+        long frameGeneration = generation.incrementAndGet();
+        return executor.submit(() -> renderFrame(frameGeneration, renderer));
+    }
+
+    /**
+     * Runs an animation in the background, cancelling any animation still running
+     * The first step runs straight away, each step is followed by a frame,
+     * and the next step waits for the period after the frame is drawn.
+     * The animation stops after the first error, which is reported once
+     * @param periodMillis - the time between the steps of the animation in milliseconds
+     * @param step - advances the animation, returning false once it has finished
+     * @param renderer - draws each frame
+     */
+    public void animate(long periodMillis, BooleanSupplier step, Consumer<Graphics2D> renderer) {
+        long animationGeneration = generation.incrementAndGet();
+        scheduleStep(animationGeneration, 0, Math.max(0, periodMillis), step, () -> renderFrame(animationGeneration, renderer));
+    }
+
+    /**
+     * Runs an animation in the background that only draws what changed at each step, cancelling any animation still running
+     * The changes are drawn over the accumulated frame, which starts out cleared, and the first frame is shown in full.
+     * Afterwards only the changed area is copied into the back buffers and repainted, so the cost of a frame depends on
+     * the changes rather than on everything drawn so far.
+     * The animation stops after the first error, and the accumulated frame is cleared again if the first frame failed
+     * @param periodMillis - the time between the steps of the animation in milliseconds
+     * @param step - advances the animation, returning false once it has finished
+     * @param changes - draws the changes since the last step, returning the area changed or null if nothing changed
+     */
+    public void animateIncremental(long periodMillis, BooleanSupplier step, Function<Graphics2D, Rectangle> changes) {
+        long animationGeneration = generation.incrementAndGet();
+        boolean[] first = {true};
+        scheduleStep(animationGeneration, 0, Math.max(0, periodMillis), step, () -> {
+            boolean drawn = renderIncrementalFrame(animationGeneration, changes, first[0]);
+            if (drawn) {
+                first[0] = false;
+            }
+            return drawn;
+        });
+    }
+
+    /**
+     * Stops any animation and drops any frame not yet shown
+     * A frame already being drawn is finished but not shown
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Stops the background thread, the pipeline cannot be used afterwards
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets the number of finished frames that were replaced before they could be shown
+     * @return the number of dropped frames
+     */
+    public int getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Helper method to schedule the next step of an animation
+     * @param animationGeneration - the generation of the animation
+     * @param delayMillis - the time to wait before the step in milliseconds
+     * @param periodMillis - the time between the steps of the animation in milliseconds
+     * @param step - advances the animation
+     * @param frame - draws and queues the frame after each step, returning false if it failed
+     */
+    private void scheduleStep(long animationGeneration, long delayMillis, long periodMillis, BooleanSupplier step, BooleanSupplier frame) {
+        executor.schedule(() -> {
+            if (generation.get() != animationGeneration) {
+                return;
+            }
+            boolean running;
+            try {
+                running = step.getAsBoolean();
+            } catch (RuntimeException ex) {
+                reportError(animationGeneration, ex);
+                return;
+            }
+            if (frame.getAsBoolean() && running) {
+                scheduleStep(animationGeneration, periodMillis, periodMillis, step, frame);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Helper method to draw a frame into a back buffer and queue it to be shown
+     * Runs on the background thread
+     * @param frameGeneration - the generation the frame belongs to
+     * @param renderer - draws the frame
+     * @return false if the render was cancelled or the renderer threw an error
+     */
+    private boolean renderFrame(long frameGeneration, Consumer<Graphics2D> renderer) {
+        if (generation.get() != frameGeneration) {
+            return false;
+        }
+        BufferedImage buffer = takeBuffer();
+        staleAreas.put(buffer, fullFrame());
+        Graphics2D g2d = buffer.createGraphics();
+        try {
+            clear(g2d);
+            renderer.accept(g2d);
+        } catch (RuntimeException ex) {
+            freeBuffers.add(buffer);
+            reportError(frameGeneration, ex);
+            return false;
+        } finally {
+            g2d.dispose();
+        }
+        queueFrame(frameGeneration, buffer, fullFrame());
+        return true;
+    }
+
+    /**
+     * Helper method to draw the changes of an incremental animation into the accumulated frame,
+     * bring a back buffer up to date with it and queue the buffer to be shown
+     * Runs on the background thread
+     * @param frameGeneration - the generation the frame belongs to
+     * @param changes - draws the changes since the last step
+     * @param first - true for the first frame of the animation, which clears the accumulated frame and is shown in full
+     * @return false if the render was cancelled or the changes threw an error
+     */
+    private boolean renderIncrementalFrame(long frameGeneration, Function<Graphics2D, Rectangle> changes, boolean first) {
+        if (generation.get() != frameGeneration) {
+            return false;
+        }
+        if (accumulatedFrame == null) {
+            accumulatedFrame = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        Rectangle changed;
+        Graphics2D g2d = accumulatedFrame.createGraphics();
+        try {
+            if (first) {
+                clear(g2d);
+            }
+            changed = changes.apply(g2d);
+        } catch (RuntimeException ex) {
+            reportError(frameGeneration, ex);
+            return false;
+        } finally {
+            g2d.dispose();
+        }
+        if (first) {
+            changed = fullFrame();
+        } else if (changed != null) {
+            changed = changed.intersection(fullFrame());
+        }
+        if (changed == null || changed.isEmpty()) {
+            return true;
+        }
+        for (Map.Entry<BufferedImage, Rectangle> stale : staleAreas.entrySet()) {
+            stale.getValue().add(changed);
+        }
+        BufferedImage buffer = takeBuffer();
+        Rectangle stale = staleAreas.put(buffer, upToDate());
+        if (!stale.isEmpty()) {
+            Graphics2D bufferGraphics = buffer.createGraphics();
+            bufferGraphics.setComposite(AlphaComposite.Src);
+            bufferGraphics.drawImage(accumulatedFrame, stale.x, stale.y, stale.x + stale.width, stale.y + stale.height,
+                    stale.x, stale.y, stale.x + stale.width, stale.y + stale.height, null);
+            bufferGraphics.dispose();
+        }
+        queueFrame(frameGeneration, buffer, changed);
+        return true;
+    }
+
+    /**
+     * Helper method to queue a finished frame to be shown, dropping the frame already waiting if there is one
+     * The area changed by a dropped frame is added to the new frame, as the display has not seen it yet
+     * @param frameGeneration - the generation the frame belongs to
+     * @param buffer - the buffer holding the frame
+     * @param changed - the area that changed since the last frame
+     */
+    private void queueFrame(long frameGeneration, BufferedImage buffer, Rectangle changed) {
+        if (generation.get() != frameGeneration) {
+            freeBuffers.add(buffer);
+            return;
+        }
+        Frame dropped;
+        Frame frame;
+        do {
+            dropped = pendingFrame.get();
+            Rectangle unseen = new Rectangle(changed);
+            if (dropped != null) {
+                unseen.add(dropped.changed);
+            }
+            frame = new Frame(buffer, frameGeneration, unseen);
+        } while (!pendingFrame.compareAndSet(dropped, frame));
+        if (dropped != null) {
+            droppedFrames.incrementAndGet();
+            freeBuffers.add(dropped.image);
+        } else {
+            SwingUtilities.invokeLater(this::publishFrame);
+        }
+    }
+
+    /**
+     * Helper method to show the waiting frame, returning the buffer it replaces to the back buffers
+     * Frames from a render cancelled after they were finished are returned without being shown
+     * Runs on the Event Dispatch Thread
+     */
+    private void publishFrame() {
+        Frame frame = pendingFrame.getAndSet(null);
+        if (frame == null) {
+            return;
+        }
+        if (frame.generation != generation.get()) {
+            freeBuffers.add(frame.image);
+            return;
+        }
+        BufferedImage previous = frontBuffer;
+        frontBuffer = frame.image;
+        display.accept(frame.image, frame.changed);
+        if (previous != null) {
+            freeBuffers.add(previous);
+        }
+    }
+
+    /**
+     * Helper method to pass an error to the error handler on the Event Dispatch Thread, unless the render was cancelled
+     * @param errorGeneration - the generation of the render that failed
+     * @param ex - the error
+     */
+    private void reportError(long errorGeneration, RuntimeException ex) {
+        if (generation.get() == errorGeneration) {
+            SwingUtilities.invokeLater(() -> errorHandler.accept(ex));
+        }
+    }
+
+    /**
+     * Helper method to take a free back buffer, creating one if the others are all in use
+     * @return the buffer
+     */
+    private BufferedImage takeBuffer() {
+        BufferedImage buffer = freeBuffers.poll();
+        return buffer != null ? buffer : createBuffer();
+    }
+
+    /**
+     * Helper method to create a buffer the size of the frames
+     * The whole buffer is out of date until something is drawn into it
+     * @return the buffer
+     */
+    private BufferedImage createBuffer() {
+        BufferedImage buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        staleAreas.put(buffer, fullFrame());
+        return buffer;
+    }
+
+    /**
+     * Helper method to make every pixel of a frame transparent
+     * @param g2d - the graphics object of the frame
+     */
+    private void clear(Graphics2D g2d) {
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, width, height);
+        g2d.setComposite(AlphaComposite.SrcOver);
+    }
+
+    /**
+     * Helper method to get the area of a whole frame
+     * @return the area
+     */
+    private Rectangle fullFrame() {
+        return new Rectangle(0, 0, width, height);
+    }
+
+    /**
+     * Helper method to get the stale area of a buffer that matches the accumulated frame
+     * The size is negative so adding a changed area to it gives just that area
+     * @return the empty area
+     */
+    private static Rectangle upToDate() {
+        return new Rectangle(0, 0, -1, -1);
+    }
+
+    /**
+     * A finished frame waiting to be shown, with the generation of the render that drew it
+     * and the area that changed since the last frame shown
+     */
+    private static class Frame {
+        private final BufferedImage image;
+        private final long generation;
+        private final Rectangle changed;
+
+        /**
+         * Creates a finished frame
+         * @param image - the buffer holding the frame
+         * @param generation - the generation of the render that drew it
+         * @param changed - the area that changed since the last frame shown
+         */
+        Frame(BufferedImage image, long generation, Rectangle changed) {
+            this.image = image;
+            this.generation = generation;
+            this.changed = changed;
+        }
+    }
+}
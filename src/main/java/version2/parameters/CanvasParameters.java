@@ -10,6 +10,9 @@ public class CanvasParameters extends Parameters {
     private int height;
     private int width;
     private Color backgroundColour;
+    private Rectangle viewport;
+    private String renderer = "java2d";
+    private boolean antialiased;
 
     /**
      * Creates new canvas parameters
@@ -24,6 +27,17 @@ public class CanvasParameters extends Parameters {
         this.backgroundColour = backgroundColour;
     }
 
+    /**
+     * Creates a copy of existing canvas parameters, so later changes to either do not affect the other
+     * @param other - the canvas parameters to copy
+     */
+    public CanvasParameters(CanvasParameters other) {
+        this(other.height, other.width, other.backgroundColour);
+        this.viewport = other.viewport == null ? null : new Rectangle(other.viewport);
+        this.renderer = other.renderer;
+        this.antialiased = other.antialiased;
+    }
+
     /**
      * Used to validate the parameters and check for invalid inputs
      * Especially important when creating from GUI free text fields
@@ -38,6 +52,12 @@ public class CanvasParameters extends Parameters {
             if (backgroundColour == null) {
                 throw new IllegalArgumentException("Canvas background colour is not initialised");
             }
+            if (viewport != null && (viewport.width <= 0 || viewport.height <= 0)) {
+                throw new IllegalArgumentException("Viewport height and width needs to be higher than 0");
+            }
+            if (!"java2d".equals(renderer) && !"raster".equals(renderer)) {
+                throw new IllegalArgumentException("Invalid renderer type: " + renderer);
+            }
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -92,4 +112,54 @@ public class CanvasParameters extends Parameters {
         this.backgroundColour = backgroundColour;
     }
 
+    /**
+     * Gets the area of the canvas that is drawn, generators skip any shapes entirely outside it
+     * @return the viewport, or the whole canvas if one hasn't been set
+     */
+    public Rectangle getViewport() {
+        if (viewport == null) {
+            return new Rectangle(0, 0, width, height);
+        }
+        return new Rectangle(viewport);
+    }
+
+    /**
+     * Sets the area of the canvas that is drawn, used for zoomed or partial renders
+     * @param viewport - the area in canvas co-ordinates, or null for the whole canvas
+     */
+    public void setViewport(Rectangle viewport) {
+        this.viewport = viewport == null ? null : new Rectangle(viewport);
+    }
+
+    /**
+     * Gets the renderer saved images are drawn with
+     * @return renderer, either java2d to draw through a graphics object or raster to draw straight into the image pixels
+     */
+    public String getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Sets the renderer saved images are drawn with
+     * @param renderer - java2d to draw through a graphics object, or raster to draw straight into the image pixels
+     */
+    public void setRenderer(String renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Checks if saved images are drawn with antialiased edges
+     * @return antialiased
+     */
+    public boolean isAntialiased() {
+        return antialiased;
+    }
+
+    /**
+     * Sets if saved images are drawn with antialiased edges
+     * @param antialiased - true to blend the edges of each shape by how much of each pixel it covers
+     */
+    public void setAntialiased(boolean antialiased) {
+        this.antialiased = antialiased;
+    }
 }
@@ -0,0 +1,137 @@
+package version2.parameters;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Responsible for housing and configuring the specific Chaos Game Algorithm values
+ * @author carysedwards
+ */
+public class ChaosGameAlgorithmParameters extends Parameters {
+    private int centreX;
+    private int centreY;
+    private int polygonSize;
+    private long samples;
+    private long seed;
+
+    /**
+     * Creates new chaos game parameters
+     * @param centreX - starting x co-ordinate
+     * @param centreY - starting y co-ordinate
+     * @param polygonSize - the size of the outer shape of the fractal
+     * @param samples - the number of points plotted
+     */
+    public ChaosGameAlgorithmParameters(int centreX, int centreY, int polygonSize, long samples) {
+        this.parameterType = "chaos";
+        this.centreX = centreX;
+        this.centreY = centreY;
+        this.polygonSize = polygonSize;
+        this.samples = samples;
+        this.seed = ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Validates the chaos game parameters
+     * Especially required for the GUI which provides free text
+     * @return true if the parameters are valid
+     */
+    @Override
+    public boolean validateParameters() {
+        try {
+            if (centreX <= 0) {
+                throw new IllegalArgumentException("Centre X coordinate must be greater than 0");
+            }
+            if (centreY <= 0) {
+                throw new IllegalArgumentException("Centre Y coordinate must be greater than 0");
+            }
+            if (polygonSize <= 0) {
+                throw new IllegalArgumentException("Polygon size must be greater than 0");
+            }
+            if (samples <= 0) {
+                throw new IllegalArgumentException("Number of samples must be greater than 0");
+            }
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the centre x co-ordinate
+     * @return centreX
+     */
+    public int getCentreX() {
+        return centreX;
+    }
+
+    /**
+     * Sets the centre x co-ordinate
+     * @param centreX - the x co-ordinate
+     */
+    public void setCentreX(int centreX) {
+        this.centreX = centreX;
+    }
+
+    /**
+     * Gets the centre y co-ordinate
+     * @return centreY
+     */
+    public int getCentreY() {
+        return centreY;
+    }
+
+    /**
+     * Sets the centre y co-ordinate
+     * @param centreY - the y co-ordinate
+     */
+    public void setCentreY(int centreY) {
+        this.centreY = centreY;
+    }
+
+    /**
+     * Gets the polygon size
+     * @return polygonSize
+     */
+    public int getPolygonSize() {
+        return polygonSize;
+    }
+
+    /**
+     * Sets the polygon size
+     * @param polygonSize - the size
+     */
+    public void setPolygonSize(int polygonSize) {
+        this.polygonSize = polygonSize;
+    }
+
+    /**
+     * Gets the number of points plotted, the time taken depends on this rather than the depth of the fractal
+     * @return samples
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * Sets the number of points plotted
+     * @param samples - the number of points
+     */
+    public void setSamples(long samples) {
+        this.samples = samples;
+    }
+
+    /**
+     * Gets the seed for the random number generator, the same seed gives the same image
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed for the random number generator
+     * @param seed - the random seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
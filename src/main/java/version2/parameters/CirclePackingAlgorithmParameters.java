@@ -1,5 +1,7 @@
 package version2.parameters;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Responsible for housing and configuring the specific Circle Packing Algorithm values
  * @author carysedwards
@@ -10,6 +12,12 @@ public class CirclePackingAlgorithmParameters extends Parameters {
     public int polygonSize;
     public int minRadius, maxRadius, maxAttempts;
     public int animationSpeed;
+    public String indexType;
+    public boolean parallel;
+    public long seed;
+    public String samplingType;
+    public String placementMode;
+    public String animationMode;
 
     /**
      * Creates new Circle Packing algorithm parameters
@@ -30,6 +38,26 @@ public class CirclePackingAlgorithmParameters extends Parameters {
         this.maxRadius = maxRadius;
         this.maxAttempts = maxAttempts;
         this.animationSpeed = animationSpeed;
+        this.indexType = "grid";
+        this.parallel = false;
+        this.seed = ThreadLocalRandom.current().nextLong();
+        this.samplingType = "shape";
+        this.placementMode = "random";
+        this.animationMode = "incremental";
+    }
+
+    /**
+     * Creates a copy of existing Circle Packing algorithm parameters, so later changes to either do not affect the other
+     * @param other - the circle packing parameters to copy
+     */
+    public CirclePackingAlgorithmParameters(CirclePackingAlgorithmParameters other) {
+        this(other.centreX, other.centreY, other.polygonSize, other.minRadius, other.maxRadius, other.maxAttempts, other.animationSpeed);
+        this.indexType = other.indexType;
+        this.parallel = other.parallel;
+        this.seed = other.seed;
+        this.samplingType = other.samplingType;
+        this.placementMode = other.placementMode;
+        this.animationMode = other.animationMode;
     }
 
     /**
@@ -52,6 +80,18 @@ public class CirclePackingAlgorithmParameters extends Parameters {
             if (animationSpeed <= 0) {
                 throw new IllegalArgumentException("Animation speed must be greater than 0");
             }
+            if (indexType == null || indexType.isEmpty()) {
+                throw new IllegalArgumentException("Index type is null or empty");
+            }
+            if (samplingType == null || samplingType.isEmpty()) {
+                throw new IllegalArgumentException("Sampling type is null or empty");
+            }
+            if (placementMode == null || placementMode.isEmpty()) {
+                throw new IllegalArgumentException("Placement mode is null or empty");
+            }
+            if (animationMode == null || animationMode.isEmpty()) {
+                throw new IllegalArgumentException("Animation mode is null or empty");
+            }
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -170,4 +210,100 @@ public class CirclePackingAlgorithmParameters extends Parameters {
         this.animationSpeed = animationSpeed;
     }
 
+    /**
+     * Gets the type of index used to find overlapping circles
+     * @return indexType
+     */
+    public String getIndexType() {
+        return indexType;
+    }
+
+    /**
+     * Sets the type of index used to find overlapping circles
+     * @param indexType - the index type, linear, grid or quadtree
+     */
+    public void setIndexType(String indexType) {
+        this.indexType = indexType;
+    }
+
+    /**
+     * Gets whether the candidate circles are checked across multiple threads
+     * @return parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether the candidate circles are checked across multiple threads
+     * @param parallel - true to use the parallel packing mode
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Gets the seed for the random number generator, the same seed gives the same packing
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed for the random number generator
+     * @param seed - the random seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets how candidate positions are drawn
+     * @return samplingType
+     */
+    public String getSamplingType() {
+        return samplingType;
+    }
+
+    /**
+     * Sets how candidate positions are drawn
+     * @param samplingType - shape to draw from the whole boundary shape, or occupancy to draw only from free space
+     */
+    public void setSamplingType(String samplingType) {
+        this.samplingType = samplingType;
+    }
+
+    /**
+     * Gets how the radius of each circle is chosen
+     * @return placementMode
+     */
+    public String getPlacementMode() {
+        return placementMode;
+    }
+
+    /**
+     * Sets how the radius of each circle is chosen
+     * @param placementMode - random for a random radius, or maximal to grow each circle to the largest radius that fits
+     */
+    public void setPlacementMode(String placementMode) {
+        this.placementMode = placementMode;
+    }
+
+    /**
+     * Gets how each frame of the animation is drawn
+     * @return animationMode
+     */
+    public String getAnimationMode() {
+        return animationMode;
+    }
+
+    /**
+     * Sets how each frame of the animation is drawn
+     * @param animationMode - incremental to draw only the circles added since the last frame, or full to redraw the whole packing
+     */
+    public void setAnimationMode(String animationMode) {
+        this.animationMode = animationMode;
+    }
+
 }
\ No newline at end of file
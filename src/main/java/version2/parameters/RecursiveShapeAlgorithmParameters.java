@@ -10,6 +10,8 @@ public class RecursiveShapeAlgorithmParameters extends Parameters {
     private int initialSize;
     private int depth;
     private int numShapes;
+    private double lodThreshold;
+    private boolean parallel;
 
     /**
      * Creates new recursive shape parameters
@@ -28,6 +30,16 @@ public class RecursiveShapeAlgorithmParameters extends Parameters {
         this.numShapes = numShapes;
     }
 
+    /**
+     * Creates a copy of existing recursive shape parameters, so later changes to either do not affect the other
+     * @param other - the recursive shape parameters to copy
+     */
+    public RecursiveShapeAlgorithmParameters(RecursiveShapeAlgorithmParameters other) {
+        this(other.centerX, other.centerY, other.initialSize, other.depth, other.numShapes);
+        this.lodThreshold = other.lodThreshold;
+        this.parallel = other.parallel;
+    }
+
     /**
      * Validates the circle packing parameters
      * Especially required for the GUI which provides free text
@@ -45,6 +57,9 @@ public class RecursiveShapeAlgorithmParameters extends Parameters {
             if (numShapes <= 0) {
                 throw new IllegalArgumentException("Number of shapes must be greater than 0");
             }
+            if (lodThreshold < 0) {
+                throw new IllegalArgumentException("Level of detail threshold cannot be negative");
+            }
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -131,5 +146,37 @@ public class RecursiveShapeAlgorithmParameters extends Parameters {
         numShapes = newNumShapes;
     }
 
-}
+    /**
+     * Gets the size in pixels below which shapes are no longer split
+     * @return lodThreshold
+     */
+    public double getLodThreshold() {
+        return lodThreshold;
+    }
 
+    /**
+     * Sets the size in pixels below which shapes are no longer split
+     * Smaller parts of the pattern are drawn as a single fill instead, 0 turns this off
+     * @param lodThreshold - the size in pixels
+     */
+    public void setLodThreshold(double lodThreshold) {
+        this.lodThreshold = lodThreshold;
+    }
+
+    /**
+     * Gets whether the subtrees of the pattern are generated across multiple threads
+     * @return parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether the subtrees of the pattern are generated across multiple threads
+     * The shapes are generated in the same order either way
+     * @param parallel - true to use the parallel generation mode
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+}
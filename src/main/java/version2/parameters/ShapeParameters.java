@@ -27,6 +27,14 @@ public class ShapeParameters extends Parameters {
         this.fillColour = fillColour;
     }
 
+    /**
+     * Creates a copy of existing shape parameters, so later changes to either do not affect the other
+     * @param other - the shape parameters to copy
+     */
+    public ShapeParameters(ShapeParameters other) {
+        this(other.shapeType, other.lineWidth, other.lineColour, other.fillColour);
+    }
+
     /**
      * Used to validate the parameters and check for invalid inputs
      * Especially important when creating from GUI free text fields
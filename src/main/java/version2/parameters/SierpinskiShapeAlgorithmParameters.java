@@ -9,6 +9,8 @@ public class SierpinskiShapeAlgorithmParameters extends Parameters {
     private int centreY;
     private int polygonSize;
     private int depth;
+    private double lodThreshold;
+    private boolean parallel;
 
     /**
      * Creates new sierpinski shape parameters
@@ -25,6 +27,16 @@ public class SierpinskiShapeAlgorithmParameters extends Parameters {
         this.depth = depth;
     }
 
+    /**
+     * Creates a copy of existing sierpinski shape parameters, so later changes to either do not affect the other
+     * @param other - the sierpinski shape parameters to copy
+     */
+    public SierpinskiShapeAlgorithmParameters(SierpinskiShapeAlgorithmParameters other) {
+        this(other.centreX, other.centreY, other.polygonSize, other.depth);
+        this.lodThreshold = other.lodThreshold;
+        this.parallel = other.parallel;
+    }
+
     /**
      * Validates the circle packing parameters
      * Especially required for the GUI which provides free text
@@ -45,6 +57,9 @@ public class SierpinskiShapeAlgorithmParameters extends Parameters {
             if (depth < 0) {
                 throw new IllegalArgumentException("Depth cannot be negative");
             }
+            if (lodThreshold < 0) {
+                throw new IllegalArgumentException("Level of detail threshold cannot be negative");
+            }
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -114,5 +129,39 @@ public class SierpinskiShapeAlgorithmParameters extends Parameters {
     public void setDepth(int depth) {
         this.depth = depth;
     }
-}
 
+    /**
+     * Gets the size in pixels below which shapes are no longer split
+     * @return lodThreshold
+     */
+    public double getLodThreshold() {
+        return lodThreshold;
+    }
+
+    /**
+     * Sets the size in pixels below which shapes are no longer split
+     * Smaller parts of the pattern are drawn as a single fill instead, 0 turns this off
+     * @param lodThreshold - the size in pixels
+     */
+    public void setLodThreshold(double lodThreshold) {
+        this.lodThreshold = lodThreshold;
+    }
+
+    /**
+     * Gets whether the subtrees of the pattern are generated across multiple threads
+     * @return parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether the subtrees of the pattern are generated across multiple threads
+     * The shapes are generated in the same order either way. Each subtree is held until every one before it has been passed on,
+     * so a fixed number of subtrees are held on top of the memory the single threaded walk uses
+     * @param parallel - true to use the parallel generation mode
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+}
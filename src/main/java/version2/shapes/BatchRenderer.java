@@ -0,0 +1,185 @@
+package version2.shapes;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+
+/**
+ * Draws shapes in batches, collecting the outlines of consecutive shapes with the same style into one path,
+ * or a list of rectangles for squares
+ * Each batch sets its fill colour, line colour and stroke once rather than twice per shape,
+ * and the stroke is only created again when the line width changes
+ * A batch fills every shape before drawing any outline, so a shape overlapping one already in the batch starts a new batch
+ * unless the caller knows the shapes never overlap
+ * @author carysedwards
+ */
+public class BatchRenderer implements ShapeRenderer {
+    private static final int MAX_BATCH = 256;
+    private final Graphics2D g2d;
+    private final boolean disjoint;
+    private final Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, MAX_BATCH * 7);
+    private final Rectangle shapeBounds = new Rectangle();
+    private final Rectangle batchBounds = new Rectangle();
+    private final int[] minX = new int[MAX_BATCH];
+    private final int[] minY = new int[MAX_BATCH];
+    private final int[] maxX = new int[MAX_BATCH];
+    private final int[] maxY = new int[MAX_BATCH];
+    private Color lineColour;
+    private Color fillColour;
+    private float lineWidth;
+    private BasicStroke stroke;
+    private boolean rectangles;
+    private int batchSize;
+    private int batchCount;
+
+    /**
+     * Creates a renderer that draws to the given graphics object
+     * @param g2d - the graphics object to draw to
+     * @param disjoint - true if the shapes drawn never overlap, so they are batched without checking
+     */
+    public BatchRenderer(Graphics2D g2d, boolean disjoint) {
+        this.g2d = g2d;
+        this.disjoint = disjoint;
+    }
+
+    /**
+     * Draws the current batch, then fills the background with the given colour
+     * @param colour - the background colour
+     * @param width - the width of the area to fill
+     * @param height - the height of the area to fill
+     */
+    @Override
+    public void fillBackground(Color colour, int width, int height) {
+        flush();
+        g2d.setColor(colour);
+        g2d.fillRect(0, 0, width, height);
+    }
+
+    /**
+     * Adds a shape to the current batch, drawing the batch first if the shape cannot join it
+     * The shape is only read here, so a single shape can be moved and added again
+     * @param shape - the shape, already moved and scaled
+     * @param lineColour - the line colour of the shape
+     * @param lineWidth - the line width of the shape
+     * @param fillColour - the fill colour of the shape
+     */
+    @Override
+    public void draw(Shape shape, Color lineColour, float lineWidth, Color fillColour) {
+        boolean rectangle = shape instanceof Square;
+        if (batchSize > 0 && (rectangle != rectangles || !sameStyle(lineColour, lineWidth, fillColour))) {
+            flush();
+        }
+        boolean keepBounds = rectangle || !disjoint;
+        if (keepBounds) {
+            shape.getBounds(shapeBounds);
+            if (!disjoint && batchSize > 0 && overlapsBatch()) {
+                flush();
+            }
+        }
+        if (batchSize == 0) {
+            this.lineColour = lineColour;
+            this.fillColour = fillColour;
+            if (stroke == null || this.lineWidth != lineWidth) {
+                stroke = new BasicStroke(lineWidth);
+            }
+            this.lineWidth = lineWidth;
+            rectangles = rectangle;
+        }
+        if (keepBounds) {
+            addBounds();
+        }
+        if (!rectangle) {
+            shape.appendOutline(path);
+        }
+        batchSize++;
+        if (batchSize == MAX_BATCH) {
+            flush();
+        }
+    }
+
+    /**
+     * Draws the current batch with one fill and one outline, then starts a new batch
+     * Squares are kept as rectangles rather than added to the path, as filling and drawing a rectangle is much faster
+     * Must be called once every shape has been added, and before anything else is drawn to the graphics object
+     */
+    @Override
+    public void flush() {
+        if (batchSize == 0) {
+            return;
+        }
+        g2d.setColor(fillColour);
+        if (rectangles) {
+            for (int i = 0; i < batchSize; i++) {
+                g2d.fillRect(minX[i], minY[i], maxX[i] - minX[i], maxY[i] - minY[i]);
+            }
+        } else {
+            g2d.fill(path);
+        }
+
+        g2d.setColor(lineColour);
+        g2d.setStroke(stroke);
+        if (rectangles) {
+            for (int i = 0; i < batchSize; i++) {
+                g2d.drawRect(minX[i], minY[i], maxX[i] - minX[i], maxY[i] - minY[i]);
+            }
+        } else {
+            g2d.draw(path);
+            path.reset();
+        }
+        batchSize = 0;
+        batchCount++;
+    }
+
+    /**
+     * Gets the number of batches drawn so far
+     * @return batchCount
+     */
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Helper method to check if a shape has the same style as the current batch
+     * @param lineColour - the line colour of the shape
+     * @param lineWidth - the line width of the shape
+     * @param fillColour - the fill colour of the shape
+     * @return true if the shape can be drawn with the batch
+     */
+    private boolean sameStyle(Color lineColour, float lineWidth, Color fillColour) {
+        return this.lineWidth == lineWidth && this.lineColour.equals(lineColour) && this.fillColour.equals(fillColour);
+    }
+
+    /**
+     * Helper method to check if the bounds of the shape being added overlap a shape already in the batch
+     * Shapes that only touch along an edge do not overlap
+     * @return true if the shape overlaps the batch
+     */
+    private boolean overlapsBatch() {
+        if (!shapeBounds.intersects(batchBounds)) {
+            return false;
+        }
+        int right = shapeBounds.x + shapeBounds.width;
+        int bottom = shapeBounds.y + shapeBounds.height;
+        for (int i = 0; i < batchSize; i++) {
+            if (shapeBounds.x < maxX[i] && right > minX[i] && shapeBounds.y < maxY[i] && bottom > minY[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method to record the bounds of the shape being added with the batch
+     * The bounds are kept to check later shapes against, and are the rectangles drawn in a batch of squares
+     */
+    private void addBounds() {
+        minX[batchSize] = shapeBounds.x;
+        minY[batchSize] = shapeBounds.y;
+        maxX[batchSize] = shapeBounds.x + shapeBounds.width;
+        maxY[batchSize] = shapeBounds.y + shapeBounds.height;
+        if (batchSize == 0) {
+            batchBounds.setBounds(shapeBounds);
+        } else {
+            batchBounds.add(shapeBounds);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package version2.shapes;
 
 import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a Circle Shape to use in the algorithms
@@ -9,6 +12,7 @@ public class Circle extends Shape {
     private int centerX;
     private int centerY;
     private double radius;
+    private final Ellipse2D.Float outline = new Ellipse2D.Float();
 
     /**
      * Constructor for a circle object
@@ -36,12 +40,13 @@ public class Circle extends Shape {
 
     /**
      * Calculates a random position inside the circle
-     * @return A new point containing co-ordinates for a random point in the circle
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
      */
     @Override
-    public Point randomPositionInside() {
-        double angle = 2 * Math.PI * Math.random();
-        double radiusScale = Math.random();
+    public void randomPositionInside(int[] position, RandomGenerator random) {
+        double angle = 2 * Math.PI * random.nextDouble();
+        double radiusScale = random.nextDouble();
         double scaledRadius = radius * Math.sqrt(radiusScale);
         double newX = centerX + scaledRadius * Math.cos(angle);
         double newY = centerY + scaledRadius * Math.sin(angle);
@@ -58,7 +63,8 @@ public class Circle extends Shape {
         } else {
             finalY = (int) Math.ceil(newY);
         }
-        return new Point(finalX, finalY);
+        position[0] = finalX;
+        position[1] = finalY;
     }
 
     /**
@@ -74,6 +80,19 @@ public class Circle extends Shape {
         return distance <= (boundary.radius - this.radius) * (boundary.radius - this.radius);
     }
 
+    /**
+     * Gets the signed distance from a point to the nearest edge of the circle
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the circle and negative outside
+     */
+    @Override
+    public double edgeDistance(double x, double y) {
+        double dx = x - centerX;
+        double dy = y - centerY;
+        return radius - Math.sqrt(dx * dx + dy * dy);
+    }
+
     /**
      * Draws the circle onto the given graphics object
      * @param g2d - the graphics object to drawn
@@ -96,6 +115,27 @@ public class Circle extends Shape {
         g2d.drawOval(x, y, diameter, diameter);
     }
 
+    /**
+     * Adds the outline of the circle to a path
+     * @param path - the path to add the outline to
+     */
+    @Override
+    public void appendOutline(Path2D path) {
+        int diameter = (int) (radius * 2);
+        outline.setFrame(centerX - (int) radius, centerY - (int) radius, diameter, diameter);
+        path.append(outline, false);
+    }
+
+    /**
+     * Gets the bounding box of the circle
+     * @param bounds - the rectangle to write the bounding box into
+     */
+    @Override
+    public void getBounds(Rectangle bounds) {
+        int diameter = (int) (radius * 2);
+        bounds.setBounds(centerX - (int) radius, centerY - (int) radius, diameter, diameter);
+    }
+
     /**
      * Sets the starting x and y co-ordinates of the circle
      * @param x - the x co-ordinate
@@ -0,0 +1,331 @@
+package version2.shapes;
+
+import version2.parameters.ShapeParameters;
+
+import java.awt.*;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementation of the Flyweight Pattern used to keep the shapes of a pattern
+ * Each shape is a record of its kind, position, radius and style kept in parallel primitive arrays,
+ * and the shape parameters are kept once in a table of styles shared by every shape drawn with them
+ * @author carysedwards
+ */
+public class DisplayList {
+    public static final byte CIRCLE = 0;
+    public static final byte SQUARE = 1;
+    public static final byte TRIANGLE = 2;
+    public static final byte HEXAGON = 3;
+    private static final int DEFAULT_CAPACITY = 16;
+    private final StyleTable styles;
+    private final ShapeFactory shapeFactory = new ShapeFactory();
+    private byte[] kinds;
+    private int[] xs;
+    private int[] ys;
+    private float[] radii;
+    private short[] styleIndexes;
+    private int size;
+
+    /**
+     * Creates an empty display list with its own table of styles
+     */
+    public DisplayList() {
+        this(new StyleTable());
+    }
+
+    /**
+     * Creates an empty display list sharing the table of styles of another
+     * Shapes can then be appended between the lists without looking up their styles again
+     * @param other - the display list whose styles are shared
+     */
+    public DisplayList(DisplayList other) {
+        this(other.styles);
+    }
+
+    /**
+     * Helper constructor to create an empty display list using the given table of styles
+     * @param styles - the table of styles
+     */
+    private DisplayList(StyleTable styles) {
+        this.styles = styles;
+        kinds = new byte[DEFAULT_CAPACITY];
+        xs = new int[DEFAULT_CAPACITY];
+        ys = new int[DEFAULT_CAPACITY];
+        radii = new float[DEFAULT_CAPACITY];
+        styleIndexes = new short[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a style to the table, or finds it if the same parameters were already added
+     * @param parameters - the shape parameters of the style
+     * @return the index of the style
+     */
+    public int addStyle(ShapeParameters parameters) {
+        return styles.indexOf(parameters);
+    }
+
+    /**
+     * Gets the shape parameters of a style
+     * @param styleIndex - the index of the style
+     * @return the shape parameters
+     */
+    public ShapeParameters getStyle(int styleIndex) {
+        return styles.parameters.get(styleIndex);
+    }
+
+    /**
+     * Gets the number of styles in the table
+     * @return the number of styles
+     */
+    public int getStyleCount() {
+        return styles.parameters.size();
+    }
+
+    /**
+     * Adds a shape to the end of the list, growing the arrays by half when full
+     * The kind of shape is taken from the shape type of its style
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius or scaling factor of the shape
+     * @param styleIndex - the index of the style the shape is drawn with
+     * @return the id of the shape in the list
+     */
+    public int add(int x, int y, double radius, int styleIndex) {
+        if (size == xs.length) {
+            ensureCapacity(size + (size >> 1) + 1);
+        }
+        kinds[size] = styles.kinds[styleIndex];
+        xs[size] = x;
+        ys[size] = y;
+        radii[size] = (float) radius;
+        styleIndexes[size] = (short) styleIndex;
+        return size++;
+    }
+
+    /**
+     * Adds every shape of another display list to the end of this one
+     * @param other - the display list to copy from
+     */
+    public void append(DisplayList other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.kinds, 0, kinds, size, other.size);
+        System.arraycopy(other.xs, 0, xs, size, other.size);
+        System.arraycopy(other.ys, 0, ys, size, other.size);
+        System.arraycopy(other.radii, 0, radii, size, other.size);
+        if (other.styles == styles) {
+            System.arraycopy(other.styleIndexes, 0, styleIndexes, size, other.size);
+        } else {
+            short[] styleMap = new short[other.getStyleCount()];
+            for (int i = 0; i < styleMap.length; i++) {
+                styleMap[i] = (short) addStyle(other.getStyle(i));
+            }
+            for (int i = 0; i < other.size; i++) {
+                styleIndexes[size + i] = styleMap[other.styleIndexes[i]];
+            }
+        }
+        size += other.size;
+    }
+
+    /**
+     * Draws every shape in the list in order, reusing a single shape of each kind
+     * Consecutive shapes of the same style that do not overlap are drawn together in one batch
+     * @param g2d - the graphics object to draw to
+     */
+    public void draw(Graphics2D g2d) {
+        BatchRenderer renderer = new BatchRenderer(g2d, false);
+        draw(renderer);
+        renderer.flush();
+    }
+
+    /**
+     * Draws every shape in the list in order with the given renderer, reusing a single shape of each kind
+     * @param renderer - the renderer to draw the shapes with, flushed by the caller once the pattern is finished
+     */
+    public void draw(ShapeRenderer renderer) {
+        Shape[] flyweights = new Shape[HEXAGON + 1];
+        for (int i = 0; i < size; i++) {
+            Shape shape = flyweights[kinds[i]];
+            if (shape == null) {
+                shape = createShape(kinds[i], 0, 0, 0);
+                flyweights[kinds[i]] = shape;
+            }
+            shape.setPosition(xs[i], ys[i]);
+            shape.setScale(radii[i]);
+            ShapeParameters parameters = getStyle(styleIndexes[i]);
+            renderer.draw(shape, parameters.getLineColour(), parameters.getLineWidth(), parameters.getFillColour());
+        }
+    }
+
+    /**
+     * Creates a new shape object for a shape in the list
+     * @param id - the id of the shape
+     * @return the shape, with the parameters of its style
+     */
+    public Shape getShape(int id) {
+        return shapeFactory.createShape(xs[id], ys[id], radii[id], getStyle(styleIndexes[id]));
+    }
+
+    /**
+     * Gets a read only view of the list as shapes
+     * A new shape is only created when an element is accessed
+     * @return the shapes in the list
+     */
+    public List<Shape> asShapes() {
+        return new AbstractList<>() {
+            @Override
+            public Shape get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return getShape(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Gets the kind of a shape
+     * @param id - the id of the shape
+     * @return the kind, one of CIRCLE, SQUARE, TRIANGLE or HEXAGON
+     */
+    public byte getKind(int id) {
+        return kinds[id];
+    }
+
+    /**
+     * Gets the centre x co-ordinate of a shape
+     * @param id - the id of the shape
+     * @return the x co-ordinate
+     */
+    public int getX(int id) {
+        return xs[id];
+    }
+
+    /**
+     * Gets the centre y co-ordinate of a shape
+     * @param id - the id of the shape
+     * @return the y co-ordinate
+     */
+    public int getY(int id) {
+        return ys[id];
+    }
+
+    /**
+     * Gets the radius or scaling factor of a shape
+     * @param id - the id of the shape
+     * @return the radius
+     */
+    public float getRadius(int id) {
+        return radii[id];
+    }
+
+    /**
+     * Gets the style a shape is drawn with
+     * @param id - the id of the shape
+     * @return the index of the style
+     */
+    public int getStyleIndex(int id) {
+        return styleIndexes[id];
+    }
+
+    /**
+     * Gets the number of shapes in the list
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every shape from the list, keeping the styles and the allocated arrays
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Grows the arrays so they can hold at least the given number of shapes
+     * @param capacity - the number of shapes to allocate space for
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > xs.length) {
+            kinds = Arrays.copyOf(kinds, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            radii = Arrays.copyOf(radii, capacity);
+            styleIndexes = Arrays.copyOf(styleIndexes, capacity);
+        }
+    }
+
+    /**
+     * Finds the kind of shape drawn for a shape type
+     * @param shapeType - the type of shape, circle, square, triangle or hexagon
+     * @return the kind
+     */
+    public static byte kindOf(String shapeType) {
+        return switch (shapeType) {
+            case "circle" -> CIRCLE;
+            case "square" -> SQUARE;
+            case "triangle" -> TRIANGLE;
+            case "hexagon" -> HEXAGON;
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+    }
+
+    /**
+     * Helper method to create a shape of the given kind
+     * @param kind - the kind of shape
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius or scaling factor
+     * @return the shape
+     */
+    private static Shape createShape(byte kind, int x, int y, double radius) {
+        return switch (kind) {
+            case CIRCLE -> new Circle(x, y, radius);
+            case SQUARE -> new Square(x, y, radius);
+            case TRIANGLE -> new Triangle(x, y, radius);
+            case HEXAGON -> new Hexagon(x, y, radius);
+            default -> throw new IllegalArgumentException("Invalid shape kind: " + kind);
+        };
+    }
+
+    /**
+     * The shape parameters shared by the shapes of one or more display lists, with the kind of shape each is drawn as
+     */
+    private static class StyleTable {
+        private final List<ShapeParameters> parameters = new ArrayList<>();
+        private byte[] kinds = new byte[4];
+
+        /**
+         * Finds the index of a style, adding it to the end of the table if it is new
+         * Styles are matched by identity, as the parameters of a shape can be changed after it is added
+         * @param style - the shape parameters
+         * @return the index of the style
+         */
+        synchronized int indexOf(ShapeParameters style) {
+            for (int i = 0; i < parameters.size(); i++) {
+                if (parameters.get(i) == style) {
+                    return i;
+                }
+            }
+            if (parameters.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many styles in display list: " + parameters.size());
+            }
+            byte kind = kindOf(style.getShapeType());
+            if (parameters.size() == kinds.length) {
+                kinds = Arrays.copyOf(kinds, kinds.length * 2);
+            }
+            kinds[parameters.size()] = kind;
+            parameters.add(style);
+            return parameters.size() - 1;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package version2.shapes;
 
 import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a Hexagon Shape to use in the algorithms
@@ -10,6 +12,12 @@ public class Hexagon extends Shape {
     public double radius;
     private int centerX;
     private int centerY;
+    private final Polygon polygon = new Polygon(new int[6], new int[6], 6);
+    private final ConvexPolygon edges = new ConvexPolygon(6);
+    private final double[] fanAreas = new double[6];
+    private int cachedX;
+    private int cachedY;
+    private double cachedRadius = Double.NaN;
 
     /**
      * Constructor for a hexagon object
@@ -25,18 +33,23 @@ public class Hexagon extends Shape {
 
     /**
      * Calculates a random position inside the hexagon
-     * @return A new point containing co-ordinates for a random point in the hexagon
+     * Picks one of the triangles fanning out from the centre by area, samples it directly
+     * and rounds the point onto a whole pixel inside the hexagon, so a point is never drawn again
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
      */
     @Override
-    public Point randomPositionInside() {
-        int x, y;
-        do {
-            double angle = Math.random() * Math.PI * 2;
-            double distance = Math.random() * radius;
-            x = centerX + (int) (distance * Math.cos(angle));
-            y = centerY + (int) (distance * Math.sin(angle));
-        } while (!isPointInside(x, y));
-        return new Point(x, y);
+    public void randomPositionInside(int[] position, RandomGenerator random) {
+        updateVertices();
+        int[] xPoints = polygon.xpoints;
+        int[] yPoints = polygon.ypoints;
+        double target = random.nextDouble() * fanAreas[5];
+        int i = 0;
+        while (i < 5 && target >= fanAreas[i]) {
+            i++;
+        }
+        int next = (i + 1) % 6;
+        Triangle.randomPointInTriangle(centerX, centerY, xPoints[i], yPoints[i], xPoints[next], yPoints[next], polygon, position, random);
     }
 
     /**
@@ -46,14 +59,38 @@ public class Hexagon extends Shape {
      * @return true if the point in side of the hexagon
      */
     public boolean isPointInside(int x, int y) {
-        int[] xPoints = new int[6];
-        int[] yPoints = new int[6];
+        updateVertices();
+        return polygon.contains(x, y);
+    }
+
+    /**
+     * Helper method to recalculate the cached vertices and fan areas when the hexagon has moved or been scaled
+     */
+    private void updateVertices() {
+        if (centerX == cachedX && centerY == cachedY && radius == cachedRadius) {
+            return;
+        }
+        int[] xPoints = polygon.xpoints;
+        int[] yPoints = polygon.ypoints;
+        for (int i = 0; i < 6; i++) {
+            xPoints[i] = (int) (centerX + radius * TrigTables.HEXAGON_COS[i]);
+            yPoints[i] = (int) (centerY + radius * TrigTables.HEXAGON_SIN[i]);
+        }
+        double total = 0;
         for (int i = 0; i < 6; i++) {
-            xPoints[i] = (int) (centerX + radius * Math.cos(i * Math.PI / 3));
-            yPoints[i] = (int) (centerY + radius * Math.sin(i * Math.PI / 3));
+            int next = (i + 1) % 6;
+            double ax = xPoints[i] - centerX;
+            double ay = yPoints[i] - centerY;
+            double bx = xPoints[next] - centerX;
+            double by = yPoints[next] - centerY;
+            total += Math.abs(ax * by - bx * ay) / 2;
+            fanAreas[i] = total;
         }
-        Polygon hexagon = new Polygon(xPoints, yPoints, 6);
-        return hexagon.contains(x, y);
+        polygon.invalidate();
+        edges.setVertices(xPoints, yPoints);
+        cachedX = centerX;
+        cachedY = centerY;
+        cachedRadius = radius;
     }
 
     /**
@@ -63,15 +100,20 @@ public class Hexagon extends Shape {
      */
     @Override
     public boolean isInside(Circle circle) {
-        for (int angle = 0; angle < 360; angle += 5) {
-            double rad = Math.toRadians(angle);
-            int pointX = (int) (circle.getX() + circle.getRadius() * Math.cos(rad));
-            int pointY = (int) (circle.getY() + circle.getRadius() * Math.sin(rad));
-            if (!isPointInside(pointX, pointY)) {
-                return false;
-            }
-        }
-        return true;
+        updateVertices();
+        return edges.containsCircle(circle.getCenterX(), circle.getCenterY(), circle.getRadius());
+    }
+
+    /**
+     * Gets the signed distance from a point to the nearest edge of the hexagon
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the hexagon and negative outside
+     */
+    @Override
+    public double edgeDistance(double x, double y) {
+        updateVertices();
+        return edges.edgeDistance(x, y);
     }
 
     /**
@@ -84,19 +126,61 @@ public class Hexagon extends Shape {
      */
     @Override
     public void draw(Graphics2D g2d, Color lineColor, float lineWidth, Color fillColor, String lineType) {
-        int[] xPoints = new int[6];
-        int[] yPoints = new int[6];
-        for (int i = 0; i < 6; i++) {
-            xPoints[i] = (int) (centerX + radius * Math.cos(i * Math.PI / 3));
-            yPoints[i] = (int) (centerY + radius * Math.sin(i * Math.PI / 3));
-        }
-
+        updateVertices();
         g2d.setColor(fillColor);
-        g2d.fillPolygon(xPoints, yPoints, 6);
+        g2d.fillPolygon(polygon);
 
         g2d.setColor(lineColor);
         g2d.setStroke(new BasicStroke(lineWidth));
-        g2d.drawPolygon(xPoints, yPoints, 6);
+        g2d.drawPolygon(polygon);
+    }
+
+    /**
+     * Adds the outline of the hexagon to a path
+     * @param path - the path to add the outline to
+     */
+    @Override
+    public void appendOutline(Path2D path) {
+        updateVertices();
+        path.moveTo(polygon.xpoints[0], polygon.ypoints[0]);
+        for (int i = 1; i < 6; i++) {
+            path.lineTo(polygon.xpoints[i], polygon.ypoints[i]);
+        }
+        path.closePath();
+    }
+
+    /**
+     * Copies the vertices of the hexagon
+     * @param xPoints - the array to copy the x co-ordinates into
+     * @param yPoints - the array to copy the y co-ordinates into
+     * @return the number of vertices copied
+     */
+    @Override
+    int getVertices(int[] xPoints, int[] yPoints) {
+        updateVertices();
+        System.arraycopy(polygon.xpoints, 0, xPoints, 0, 6);
+        System.arraycopy(polygon.ypoints, 0, yPoints, 0, 6);
+        return 6;
+    }
+
+    /**
+     * Gets the bounding box of the hexagon
+     * @param bounds - the rectangle to write the bounding box into
+     */
+    @Override
+    public void getBounds(Rectangle bounds) {
+        updateVertices();
+        int minX = polygon.xpoints[0];
+        int minY = polygon.ypoints[0];
+        int maxX = minX;
+        int maxY = minY;
+        for (int i = 1; i < 6; i++) {
+            minX = Math.min(minX, polygon.xpoints[i]);
+            minY = Math.min(minY, polygon.ypoints[i]);
+            maxX = Math.max(maxX, polygon.xpoints[i]);
+            maxY = Math.max(maxY, polygon.ypoints[i]);
+        }
+        bounds.setBounds(minX, minY, maxX - minX, maxY - minY);
     }
 
     /**
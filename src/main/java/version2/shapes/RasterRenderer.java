@@ -0,0 +1,534 @@
+package version2.shapes;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Software rasteriser that draws shapes straight into the pixel array of an image rather than through a graphics object
+ * Circles find the span of each row from the circle equation, squares from their sides, and triangles and hexagons
+ * from the half planes of their edges, so the inside of each row is filled with a single array fill
+ * Thin outlines without antialiasing are traced a pixel per row and column, like the midpoint rule
+ * Only pixels along an edge work out how much of them the shape covers, and only when antialiased
+ * Shapes are placed and stroked the same way as a graphics object would, so the two only differ along edges
+ * @author carysedwards
+ */
+public class RasterRenderer implements ShapeRenderer {
+    private static final int MAX_SIDES = 6;
+    private static final double MIN_ANTIALIASED_WIDTH = 0.125;
+    private static final double BIAS = 1.0 / 4096;
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+    private final boolean antialiased;
+    private final Rectangle bounds = new Rectangle();
+    private final int[] vertexX = new int[MAX_SIDES];
+    private final int[] vertexY = new int[MAX_SIDES];
+    private final double[] normalX = new double[MAX_SIDES];
+    private final double[] normalY = new double[MAX_SIDES];
+    private final double[] offsets = new double[MAX_SIDES];
+    private int[] rowLeft = new int[16];
+    private int[] rowRight = new int[16];
+    private boolean ellipse;
+    private int planes;
+    private double centreX;
+    private double centreY;
+    private double radius;
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+    private int spanStart;
+    private int spanEnd;
+    private double crossingLow;
+    private double crossingHigh;
+
+    /**
+     * Creates a renderer that draws into the given image
+     * @param image - the image to draw into, which must store its pixels as ints in ARGB order
+     * @param antialiased - true to blend the edges of each shape by how much of each pixel it covers
+     */
+    public RasterRenderer(BufferedImage image, boolean antialiased) {
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB) {
+            throw new IllegalArgumentException("Invalid image type: " + image.getType());
+        }
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.antialiased = antialiased;
+    }
+
+    /**
+     * Fills the background with the given colour
+     * @param colour - the background colour
+     * @param width - the width of the area to fill
+     * @param height - the height of the area to fill
+     */
+    @Override
+    public void fillBackground(Color colour, int width, int height) {
+        int argb = colour.getRGB();
+        int alpha = argb >>> 24;
+        int right = Math.min(width, this.width);
+        for (int row = 0; row < Math.min(height, this.height); row++) {
+            fillSpan(row, 0, right, argb, alpha);
+        }
+    }
+
+    /**
+     * Fills a shape, then draws its outline over the fill
+     * @param shape - the shape, already moved and scaled
+     * @param lineColour - the line colour of the shape
+     * @param lineWidth - the line width of the shape
+     * @param fillColour - the fill colour of the shape
+     */
+    @Override
+    public void draw(Shape shape, Color lineColour, float lineWidth, Color fillColour) {
+        if (shape instanceof Circle) {
+            shape.getBounds(bounds);
+            setCircle(bounds);
+        } else if (shape instanceof Square) {
+            shape.getBounds(bounds);
+            setRectangle(bounds.x, bounds.y, bounds.x + bounds.width, bounds.y + bounds.height);
+        } else {
+            setPolygon(shape);
+        }
+        fill(fillColour.getRGB());
+        stroke(lineColour.getRGB(), lineWidth);
+    }
+
+    /**
+     * Shapes are drawn as soon as they are received, so there is nothing waiting to be drawn
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Helper method to use the circle inside a bounding box as the current shape
+     * @param bounds - the bounding box of the circle
+     */
+    private void setCircle(Rectangle bounds) {
+        ellipse = true;
+        radius = bounds.width / 2.0;
+        centreX = bounds.x + radius;
+        centreY = bounds.y + radius;
+        minX = bounds.x;
+        minY = bounds.y;
+        maxX = bounds.x + bounds.width;
+        maxY = bounds.y + bounds.height;
+    }
+
+    /**
+     * Helper method to use an axis aligned rectangle as the current shape
+     * @param left - the left edge
+     * @param top - the top edge
+     * @param right - the right edge
+     * @param bottom - the bottom edge
+     */
+    private void setRectangle(double left, double top, double right, double bottom) {
+        ellipse = false;
+        minX = left;
+        minY = top;
+        maxX = right;
+        maxY = bottom;
+        planes = 0;
+    }
+
+    /**
+     * Helper method to use the outline of a polygon as the current shape
+     * The polygon is kept as the half planes of its edges
+     * inside its bounding box, which keeps the outline of a polygon with no area from reaching past its vertices
+     * @param shape - the polygon
+     */
+    private void setPolygon(Shape shape) {
+        int sides = shape.getVertices(vertexX, vertexY);
+        if (sides == 0) {
+            throw new IllegalArgumentException("Invalid shape type: " + shape.getClass().getSimpleName());
+        }
+        ellipse = false;
+        minX = Double.POSITIVE_INFINITY;
+        minY = Double.POSITIVE_INFINITY;
+        maxX = Double.NEGATIVE_INFINITY;
+        maxY = Double.NEGATIVE_INFINITY;
+        double area = 0;
+        for (int i = 0; i < sides; i++) {
+            int next = (i + 1) % sides;
+            area += (double) vertexX[i] * vertexY[next] - (double) vertexX[next] * vertexY[i];
+            minX = Math.min(minX, vertexX[i]);
+            minY = Math.min(minY, vertexY[i]);
+            maxX = Math.max(maxX, vertexX[i]);
+            maxY = Math.max(maxY, vertexY[i]);
+        }
+        double winding = area < 0 ? -1 : 1;
+        planes = 0;
+        for (int i = 0; i < sides; i++) {
+            int next = (i + 1) % sides;
+            double edgeX = vertexX[next] - vertexX[i];
+            double edgeY = vertexY[next] - vertexY[i];
+            double length = Math.sqrt(edgeX * edgeX + edgeY * edgeY);
+            if (length > 0) {
+                addPlane(edgeY * winding / length, -edgeX * winding / length, vertexX[i], vertexY[i]);
+            }
+        }
+    }
+
+    /**
+     * Helper method to add a half plane bounding the current shape
+     * @param normalX - the x component of the outward unit normal
+     * @param normalY - the y component of the outward unit normal
+     * @param x - the x co-ordinate of a point on the edge
+     * @param y - the y co-ordinate of a point on the edge
+     */
+    private void addPlane(double normalX, double normalY, double x, double y) {
+        this.normalX[planes] = normalX;
+        this.normalY[planes] = normalY;
+        offsets[planes] = normalX * x + normalY * y;
+        planes++;
+    }
+
+    /**
+     * Helper method to get the signed distance from a point to the edge of the current shape
+     * Rectangles and polygons take the furthest of their edges, which gives the mitred corners of a stroked outline
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, negative inside the shape and positive outside
+     */
+    private double distance(double x, double y) {
+        if (ellipse) {
+            double dx = x - centreX;
+            double dy = y - centreY;
+            return Math.sqrt(dx * dx + dy * dy) - radius;
+        }
+        double furthest = Math.max(Math.max(minX - x, x - maxX), Math.max(minY - y, y - maxY));
+        for (int i = 0; i < planes; i++) {
+            furthest = Math.max(furthest, normalX[i] * x + normalY[i] * y - offsets[i]);
+        }
+        return furthest;
+    }
+
+    /**
+     * Helper method to find the pixels of a row whose sample points are closer than a threshold to the inside of the shape
+     * The result is kept in spanStart and spanEnd, clipped to the image
+     * @param sampleY - the y co-ordinate the row is sampled at
+     * @param threshold - the largest signed distance to include, negative to only include pixels well inside the shape
+     * @param offset - the offset of the sample points from the left of each pixel
+     * @return true if the span holds any pixels
+     */
+    private boolean span(double sampleY, double threshold, double offset) {
+        double low;
+        double high;
+        if (ellipse) {
+            double reach = radius + threshold;
+            double dy = sampleY - centreY;
+            if (reach <= 0 || dy * dy >= reach * reach) {
+                return false;
+            }
+            double half = Math.sqrt(reach * reach - dy * dy);
+            low = centreX - half;
+            high = centreX + half;
+        } else {
+            if (sampleY <= minY - threshold || sampleY >= maxY + threshold) {
+                return false;
+            }
+            low = minX - threshold;
+            high = maxX + threshold;
+            for (int i = 0; i < planes; i++) {
+                double limit = offsets[i] + threshold - normalY[i] * sampleY;
+                if (normalX[i] > 1e-9) {
+                    high = Math.min(high, limit / normalX[i]);
+                } else if (normalX[i] < -1e-9) {
+                    low = Math.max(low, limit / normalX[i]);
+                } else if (limit <= 0) {
+                    return false;
+                }
+            }
+        }
+        spanStart = (int) Math.max(0, Math.floor(low - offset) + 1);
+        spanEnd = (int) Math.min(width, Math.ceil(high - offset));
+        return spanStart < spanEnd;
+    }
+
+    /**
+     * Helper method to fill the current shape
+     * With antialiasing each pixel is blended by how much of it is inside the shape
+     * Without antialiasing a graphics object moves shapes half a pixel down and right, like outlines, so a pixel is filled if
+     * its top left corner is inside the shape, which keeps the fill inside the outline drawn around it
+     * @param argb - the fill colour
+     */
+    private void fill(int argb) {
+        int alpha = argb >>> 24;
+        if (alpha == 0) {
+            return;
+        }
+        double offset = antialiased ? 0.5 : BIAS;
+        double reach = antialiased ? 0.5 : 0;
+        int firstRow = (int) Math.max(0, Math.ceil(minY - reach - offset));
+        int lastRow = (int) Math.min(height - 1, Math.floor(maxY + reach - offset));
+        for (int row = firstRow; row <= lastRow; row++) {
+            double sampleY = row + offset;
+            if (!span(sampleY, reach, offset)) {
+                continue;
+            }
+            if (!antialiased) {
+                fillSpan(row, spanStart, spanEnd, argb, alpha);
+                continue;
+            }
+            int outerStart = spanStart;
+            int outerEnd = spanEnd;
+            int innerStart = outerEnd;
+            int innerEnd = outerEnd;
+            if (span(sampleY, -0.5, offset)) {
+                innerStart = spanStart;
+                innerEnd = spanEnd;
+                fillSpan(row, innerStart, innerEnd, argb, alpha);
+            }
+            for (int x = outerStart; x < innerStart; x++) {
+                blend(row * width + x, argb, coverageAlpha(alpha, 0.5 - distance(x + offset, sampleY)));
+            }
+            for (int x = innerEnd; x < outerEnd; x++) {
+                blend(row * width + x, argb, coverageAlpha(alpha, 0.5 - distance(x + offset, sampleY)));
+            }
+        }
+    }
+
+    /**
+     * Helper method to draw the outline of the current shape
+     * A graphics object moves outlines half a pixel down and right so thin lines land on whole pixels, so the outline is
+     * sampled at the top left corner of each pixel rather than its centre
+     * Without antialiasing lines a pixel wide or thinner are traced one pixel at a time, and with it lines thinner than a pixel
+     * are blended by their width
+     * @param argb - the line colour
+     * @param lineWidth - the line width
+     */
+    private void stroke(int argb, float lineWidth) {
+        int alpha = argb >>> 24;
+        if (alpha == 0) {
+            return;
+        }
+        if (!antialiased && lineWidth <= 1) {
+            strokeThin(argb, alpha);
+            return;
+        }
+        double half = antialiased ? Math.max(lineWidth, MIN_ANTIALIASED_WIDTH) / 2 : Math.max(lineWidth / 2.0, 0.5);
+        double offset = antialiased ? 0 : BIAS;
+        double reach = antialiased ? half + 0.5 : half;
+        int firstRow = (int) Math.max(0, Math.ceil(minY - reach - offset));
+        int lastRow = (int) Math.min(height - 1, Math.floor(maxY + reach - offset));
+        for (int row = firstRow; row <= lastRow; row++) {
+            double sampleY = row + offset;
+            if (!span(sampleY, reach, offset)) {
+                continue;
+            }
+            int outerStart = spanStart;
+            int outerEnd = spanEnd;
+            int holeStart = outerEnd;
+            int holeEnd = outerEnd;
+            if (span(sampleY, -reach, offset)) {
+                holeStart = spanStart;
+                holeEnd = spanEnd;
+            }
+            if (antialiased) {
+                strokeAntialiased(row, outerStart, holeStart, sampleY, half, argb, alpha);
+                strokeAntialiased(row, holeEnd, outerEnd, sampleY, half, argb, alpha);
+            } else {
+                fillSpan(row, outerStart, holeStart, argb, alpha);
+                fillSpan(row, holeEnd, outerEnd, argb, alpha);
+            }
+        }
+    }
+
+    /**
+     * Helper method to trace a thin outline, drawing the pixel nearest to where the outline crosses each row and each column
+     * This is the midpoint rule a graphics object draws thin lines with, so the outline is one pixel thick and has no gaps
+     * A pixel crossed by both a row and a column is only drawn once, so translucent outlines are blended evenly
+     * @param argb - the line colour
+     * @param alpha - the alpha of the line colour
+     */
+    private void strokeThin(int argb, int alpha) {
+        int firstRow = (int) Math.max(0, Math.ceil(minY));
+        int lastRow = (int) Math.min(height - 1, Math.floor(maxY));
+        if (rowLeft.length <= lastRow - firstRow) {
+            rowLeft = new int[lastRow - firstRow + 1];
+            rowRight = new int[lastRow - firstRow + 1];
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            int left = Integer.MIN_VALUE;
+            int right = Integer.MIN_VALUE;
+            if (crossings(row, false)) {
+                left = nearestPixel(crossingLow);
+                right = nearestPixel(crossingHigh);
+                drawPixel(left, row, argb, alpha);
+                if (right != left) {
+                    drawPixel(right, row, argb, alpha);
+                }
+            }
+            rowLeft[row - firstRow] = left;
+            rowRight[row - firstRow] = right;
+        }
+        for (int column = (int) Math.max(0, Math.ceil(minX)); column <= Math.min(width - 1, Math.floor(maxX)); column++) {
+            if (crossings(column, true)) {
+                int top = nearestPixel(crossingLow);
+                int bottom = nearestPixel(crossingHigh);
+                if (!crossedByRow(column, top, firstRow, lastRow)) {
+                    drawPixel(column, top, argb, alpha);
+                }
+                if (bottom != top && !crossedByRow(column, bottom, firstRow, lastRow)) {
+                    drawPixel(column, bottom, argb, alpha);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to find where the outline of the current shape crosses a row or a column
+     * The result is kept in crossingLow and crossingHigh, which are equal where the outline only touches it
+     * @param position - the y co-ordinate of the row, or the x co-ordinate of the column
+     * @param vertical - true to cross a column rather than a row
+     * @return true if the outline crosses or touches the row or column
+     */
+    private boolean crossings(double position, boolean vertical) {
+        if (ellipse) {
+            double d = position - (vertical ? centreX : centreY);
+            if (d * d > radius * radius) {
+                return false;
+            }
+            double half = Math.sqrt(radius * radius - d * d);
+            double centre = vertical ? centreY : centreX;
+            crossingLow = centre - half;
+            crossingHigh = centre + half;
+            return true;
+        }
+        if (vertical ? position < minX || position > maxX : position < minY || position > maxY) {
+            return false;
+        }
+        crossingLow = vertical ? minY : minX;
+        crossingHigh = vertical ? maxY : maxX;
+        for (int i = 0; i < planes; i++) {
+            double along = vertical ? normalY[i] : normalX[i];
+            double limit = offsets[i] - (vertical ? normalX[i] : normalY[i]) * position;
+            if (along > 1e-9) {
+                crossingHigh = Math.min(crossingHigh, limit / along);
+            } else if (along < -1e-9) {
+                crossingLow = Math.max(crossingLow, limit / along);
+            } else if (limit < 0) {
+                return false;
+            }
+        }
+        return crossingLow <= crossingHigh;
+    }
+
+    /**
+     * Helper method to check if a pixel was already drawn by the row pass of a thin outline
+     * @param x - the x co-ordinate of the pixel
+     * @param y - the y co-ordinate of the pixel
+     * @param firstRow - the first row of the row pass
+     * @param lastRow - the last row of the row pass
+     * @return true if the outline crosses the row of the pixel nearest to it
+     */
+    private boolean crossedByRow(int x, int y, int firstRow, int lastRow) {
+        return y >= firstRow && y <= lastRow && (rowLeft[y - firstRow] == x || rowRight[y - firstRow] == x);
+    }
+
+    /**
+     * Helper method to round a co-ordinate to the pixel nearest to it
+     * @param position - the co-ordinate
+     * @return the pixel
+     */
+    private static int nearestPixel(double position) {
+        return (int) Math.floor(position + 0.5);
+    }
+
+    /**
+     * Helper method to draw a single pixel, skipping pixels outside the image
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @param argb - the colour
+     * @param alpha - the alpha to blend the colour with
+     */
+    private void drawPixel(int x, int y, int argb, int alpha) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            blend(y * width + x, argb, alpha);
+        }
+    }
+
+    /**
+     * Helper method to blend part of a row of an antialiased outline by how much of each pixel the line covers
+     * @param row - the row
+     * @param start - the first pixel
+     * @param end - the pixel after the last
+     * @param sampleY - the y co-ordinate the row is sampled at
+     * @param half - half the line width
+     * @param argb - the line colour
+     * @param alpha - the alpha of the line colour
+     */
+    private void strokeAntialiased(int row, int start, int end, double sampleY, double half, int argb, int alpha) {
+        for (int x = start; x < end; x++) {
+            double distance = distance(x, sampleY);
+            double covered = Math.min(distance + 0.5, half) - Math.max(distance - 0.5, -half);
+            blend(row * width + x, argb, coverageAlpha(alpha, covered));
+        }
+    }
+
+    /**
+     * Helper method to scale the alpha of a colour by the fraction of a pixel covered
+     * @param alpha - the alpha of the colour
+     * @param covered - the fraction of the pixel covered, clamped between 0 and 1
+     * @return the alpha to blend the pixel with
+     */
+    private static int coverageAlpha(int alpha, double covered) {
+        if (covered <= 0) {
+            return 0;
+        }
+        if (covered >= 1) {
+            return alpha;
+        }
+        return (int) (alpha * covered + 0.5);
+    }
+
+    /**
+     * Helper method to fill part of a row with a colour, writing opaque colours straight into the pixel array
+     * @param row - the row
+     * @param start - the first pixel
+     * @param end - the pixel after the last
+     * @param argb - the colour
+     * @param alpha - the alpha to blend the colour with
+     */
+    private void fillSpan(int row, int start, int end, int argb, int alpha) {
+        if (start >= end) {
+            return;
+        }
+        int index = row * width;
+        if (alpha == 255) {
+            Arrays.fill(pixels, index + start, index + end, argb | 0xFF000000);
+            return;
+        }
+        for (int x = start; x < end; x++) {
+            blend(index + x, argb, alpha);
+        }
+    }
+
+    /**
+     * Helper method to draw a colour over a pixel, the same as the source over rule of a graphics object
+     * The image keeps colours that are not premultiplied by their alpha
+     * @param index - the index of the pixel
+     * @param argb - the colour
+     * @param alpha - the alpha to blend the colour with, replacing the alpha of the colour
+     */
+    private void blend(int index, int argb, int alpha) {
+        if (alpha <= 0) {
+            return;
+        }
+        if (alpha >= 255) {
+            pixels[index] = argb | 0xFF000000;
+            return;
+        }
+        int destination = pixels[index];
+        int destinationAlpha = ((destination >>> 24) * (255 - alpha) + 127) / 255;
+        int outAlpha = alpha + destinationAlpha;
+        int red = ((argb >> 16 & 0xFF) * alpha + (destination >> 16 & 0xFF) * destinationAlpha + (outAlpha >> 1)) / outAlpha;
+        int green = ((argb >> 8 & 0xFF) * alpha + (destination >> 8 & 0xFF) * destinationAlpha + (outAlpha >> 1)) / outAlpha;
+        int blue = ((argb & 0xFF) * alpha + (destination & 0xFF) * destinationAlpha + (outAlpha >> 1)) / outAlpha;
+        pixels[index] = outAlpha << 24 | red << 16 | green << 8 | blue;
+    }
+}
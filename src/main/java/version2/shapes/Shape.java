@@ -3,6 +3,9 @@ package version2.shapes;
 import version2.parameters.ShapeParameters;
 
 import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Abstract class for creating Shapes to be used by the algorithms
@@ -15,7 +18,27 @@ public abstract class Shape {
      * Generates a random point inside the shape
      * @return a Point inside the shape
      */
-    public abstract Point randomPositionInside();
+    public Point randomPositionInside() {
+        int[] position = new int[2];
+        randomPositionInside(position);
+        return new Point(position[0], position[1]);
+    }
+
+    /**
+     * Generates a random point inside the shape without allocating
+     * Uses the calling thread's random number generator
+     * @param position - the array to write the x and y co-ordinates into
+     */
+    public void randomPositionInside(int[] position) {
+        randomPositionInside(position, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates a random point inside the shape without allocating
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
+     */
+    public abstract void randomPositionInside(int[] position, RandomGenerator random);
 
     /**
      * Checks if a point is inside the shape
@@ -23,6 +46,14 @@ public abstract class Shape {
      */
     public abstract boolean isInside(Circle circle);
 
+    /**
+     * Gets the signed distance from a point to the nearest edge of the shape
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the shape and negative outside
+     */
+    public abstract double edgeDistance(double x, double y);
+
     /**
      * Draws the shape  onto the given graphics object
      * @param g2d - the graphics object to drawn
@@ -33,6 +64,30 @@ public abstract class Shape {
      */
     public abstract void draw(Graphics2D g2d, Color lineColor, float lineWidth, Color fillColor, String lineType);
 
+    /**
+     * Adds the outline of the shape to a path, so shapes drawn with the same style can be filled and drawn together
+     * The outline is the same one filled and drawn by draw
+     * @param path - the path to add the outline to
+     */
+    public abstract void appendOutline(Path2D path);
+
+    /**
+     * Copies the vertices of the shape, so a polygon can be drawn without building its outline
+     * The vertices are the same ones filled and drawn by draw
+     * @param xPoints - the array to copy the x co-ordinates into
+     * @param yPoints - the array to copy the y co-ordinates into
+     * @return the number of vertices copied, or 0 if the shape is not drawn as a polygon
+     */
+    int getVertices(int[] xPoints, int[] yPoints) {
+        return 0;
+    }
+
+    /**
+     * Gets the bounding box of the outline of the shape, not including the line width
+     * @param bounds - the rectangle to write the bounding box into
+     */
+    public abstract void getBounds(Rectangle bounds);
+
     /**
      * Sets the position of the shape
      * @param x starting x co-ordinate
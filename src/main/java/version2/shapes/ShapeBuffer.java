@@ -0,0 +1,140 @@
+package version2.shapes;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact store of shapes kept as parallel primitive arrays of x, y and size
+ * Used instead of a list of shape objects so large patterns take a fraction of the memory
+ * @author carysedwards
+ */
+public class ShapeBuffer implements ShapeSink {
+    private static final int DEFAULT_CAPACITY = 16;
+    private int[] xs;
+    private int[] ys;
+    private float[] sizes;
+    private int size;
+
+    /**
+     * Creates an empty buffer with the default capacity
+     */
+    public ShapeBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty buffer
+     * @param capacity - the number of shapes to allocate space for
+     */
+    public ShapeBuffer(int capacity) {
+        int initialCapacity = Math.max(1, capacity);
+        xs = new int[initialCapacity];
+        ys = new int[initialCapacity];
+        sizes = new float[initialCapacity];
+    }
+
+    /**
+     * Adds a shape to the end of the buffer, growing the arrays by half when full
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param shapeSize - the radius or scaling factor of the shape
+     * @return the id of the shape in the buffer
+     */
+    public int add(int x, int y, float shapeSize) {
+        if (size == xs.length) {
+            ensureCapacity(size + (size >> 1) + 1);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        sizes[size] = shapeSize;
+        return size++;
+    }
+
+    /**
+     * Adds a shape passed from a pattern generator to the end of the buffer
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param size - the radius or scaling factor of the shape
+     */
+    @Override
+    public void emit(int x, int y, double size) {
+        add(x, y, (float) size);
+    }
+
+    /**
+     * Grows the arrays so they can hold at least the given number of shapes
+     * @param capacity - the number of shapes to allocate space for
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > xs.length) {
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+    }
+
+    /**
+     * Gets the centre x co-ordinate of a shape
+     * @param id - the id of the shape
+     * @return the x co-ordinate
+     */
+    public int getX(int id) {
+        return xs[id];
+    }
+
+    /**
+     * Gets the centre y co-ordinate of a shape
+     * @param id - the id of the shape
+     * @return the y co-ordinate
+     */
+    public int getY(int id) {
+        return ys[id];
+    }
+
+    /**
+     * Gets the radius or scaling factor of a shape
+     * @param id - the id of the shape
+     * @return the size
+     */
+    public float getSize(int id) {
+        return sizes[id];
+    }
+
+    /**
+     * Gets the number of shapes in the buffer
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every shape from the buffer, keeping the allocated arrays
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gets a read only view of the buffer as circles
+     * A new circle is only created when an element is accessed
+     * @return the circles in the buffer
+     */
+    public List<Circle> asCircles() {
+        return new AbstractList<>() {
+            @Override
+            public Circle get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return new Circle(xs[index], ys[index], sizes[index]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package version2.shapes;
+
+import java.util.Arrays;
+
+/**
+ * Sink that records the shapes passed to it, including coverage fills, so they can be passed on later in the same order
+ * Used to generate parts of a pattern on separate threads and join them back together in order
+ * @author carysedwards
+ */
+public class ShapeRecorder implements ShapeSink {
+    private static final int DEFAULT_CAPACITY = 16;
+    private int[] xs;
+    private int[] ys;
+    private double[] sizes;
+    private double[] coverages;
+    private double[] details;
+    private int size;
+
+    /**
+     * Creates an empty recorder
+     */
+    public ShapeRecorder() {
+        xs = new int[DEFAULT_CAPACITY];
+        ys = new int[DEFAULT_CAPACITY];
+        sizes = new double[DEFAULT_CAPACITY];
+        coverages = new double[DEFAULT_CAPACITY];
+        details = new double[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Records an ordinary shape
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param size - the radius or scaling factor of the shape
+     */
+    @Override
+    public void emit(int x, int y, double size) {
+        record(x, y, size, Double.NaN, 0);
+    }
+
+    /**
+     * Records a shape standing in for part of the pattern too small to be split
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param size - the radius or scaling factor of the shape
+     * @param coverage - the fraction of the shape the smaller shapes would have covered, from 0 to 1
+     * @param detail - the radius or scaling factor of the smallest shapes it stands in for
+     */
+    @Override
+    public void emitCoverage(int x, int y, double size, double coverage, double detail) {
+        record(x, y, size, coverage, detail);
+    }
+
+    /**
+     * Adds every shape recorded by another recorder to the end of this one
+     * @param other - the recorder to copy from
+     */
+    public void append(ShapeRecorder other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.xs, 0, xs, size, other.size);
+        System.arraycopy(other.ys, 0, ys, size, other.size);
+        System.arraycopy(other.sizes, 0, sizes, size, other.size);
+        System.arraycopy(other.coverages, 0, coverages, size, other.size);
+        System.arraycopy(other.details, 0, details, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Passes every recorded shape to the sink in the order they were recorded
+     * @param sink - receives the shapes
+     */
+    public void replay(ShapeSink sink) {
+        for (int i = 0; i < size; i++) {
+            if (Double.isNaN(coverages[i])) {
+                sink.emit(xs[i], ys[i], sizes[i]);
+            } else {
+                sink.emitCoverage(xs[i], ys[i], sizes[i], coverages[i], details[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of shapes recorded
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Helper method to add a shape to the end of the recording, growing the arrays by half when full
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param shapeSize - the radius or scaling factor of the shape
+     * @param coverage - the coverage of the shape, or NaN for an ordinary shape
+     * @param detail - the size of the smallest shapes a coverage shape stands in for
+     */
+    private void record(int x, int y, double shapeSize, double coverage, double detail) {
+        if (size == xs.length) {
+            ensureCapacity(size + (size >> 1) + 1);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        sizes[size] = shapeSize;
+        coverages[size] = coverage;
+        details[size] = detail;
+        size++;
+    }
+
+    /**
+     * Helper method to grow the arrays so they can hold at least the given number of shapes
+     * @param capacity - the number of shapes to allocate space for
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > xs.length) {
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            coverages = Arrays.copyOf(coverages, capacity);
+            details = Arrays.copyOf(details, capacity);
+        }
+    }
+}
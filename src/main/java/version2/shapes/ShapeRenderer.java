@@ -0,0 +1,35 @@
+package version2.shapes;
+
+import java.awt.*;
+
+/**
+ * Draws the shapes of a pattern to a surface
+ * Lets a pattern be drawn through a graphics object or straight into the pixels of an image with the same code
+ * @author carysedwards
+ */
+public interface ShapeRenderer {
+
+    /**
+     * Fills the background of the pattern, drawing any shapes waiting to be drawn first
+     * @param colour - the background colour
+     * @param width - the width of the area to fill
+     * @param height - the height of the area to fill
+     */
+    void fillBackground(Color colour, int width, int height);
+
+    /**
+     * Draws a shape, or keeps it to be drawn by the next flush
+     * The shape is only read here, so a single shape can be moved and drawn again
+     * @param shape - the shape, already moved and scaled
+     * @param lineColour - the line colour of the shape
+     * @param lineWidth - the line width of the shape
+     * @param fillColour - the fill colour of the shape
+     */
+    void draw(Shape shape, Color lineColour, float lineWidth, Color fillColour);
+
+    /**
+     * Draws any shapes waiting to be drawn
+     * Must be called once every shape has been drawn
+     */
+    void flush();
+}
@@ -0,0 +1,43 @@
+package version2.shapes;
+
+import version2.parameters.CanvasParameters;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Implementation of the Simple Factory Pattern used to create the renderer a saved image is drawn with
+ * @author carysedwards
+ */
+public class ShapeRendererFactory {
+
+    /**
+     * Creates the renderer chosen by the canvas parameters
+     * @param image - the image being saved
+     * @param g2d - a graphics object of the image, disposed by the caller
+     * @param canvasParameters - the canvas parameters choosing the renderer and whether it antialiases
+     * @param disjoint - true if the shapes drawn never overlap, so they can be batched without checking
+     * @return the renderer
+     */
+    public ShapeRenderer createRenderer(BufferedImage image, Graphics2D g2d, CanvasParameters canvasParameters, boolean disjoint) {
+        return switch (canvasParameters.getRenderer()) {
+            case "java2d" -> createBatchRenderer(g2d, canvasParameters.isAntialiased(), disjoint);
+            case "raster" -> new RasterRenderer(image, canvasParameters.isAntialiased());
+            default -> throw new IllegalArgumentException("Invalid renderer type: " + canvasParameters.getRenderer());
+        };
+    }
+
+    /**
+     * Creates a renderer drawing through the graphics object
+     * @param g2d - the graphics object to draw to
+     * @param antialiased - true to turn on antialiasing for the graphics object
+     * @param disjoint - true if the shapes drawn never overlap
+     * @return A new batch renderer
+     */
+    private BatchRenderer createBatchRenderer(Graphics2D g2d, boolean antialiased, boolean disjoint) {
+        if (antialiased) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+        return new BatchRenderer(g2d, disjoint);
+    }
+}
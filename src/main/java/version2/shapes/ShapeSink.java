@@ -0,0 +1,31 @@
+package version2.shapes;
+
+/**
+ * Receives the shapes of a pattern one at a time as they are generated
+ * Lets a pattern be drawn or exported without keeping every shape in memory
+ * @author carysedwards
+ */
+@FunctionalInterface
+public interface ShapeSink {
+
+    /**
+     * Accepts the next shape of the pattern
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param size - the radius or scaling factor of the shape
+     */
+    void emit(int x, int y, double size);
+
+    /**
+     * Accepts a shape standing in for part of the pattern too small to be split into its own shapes
+     * Passed on as an ordinary shape unless the sink can draw partial coverage
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param size - the radius or scaling factor of the shape
+     * @param coverage - the fraction of the shape the smaller shapes would have covered, from 0 to 1
+     * @param detail - the radius or scaling factor of the smallest shapes it stands in for
+     */
+    default void emitCoverage(int x, int y, double size, double coverage, double detail) {
+        emit(x, y, size);
+    }
+}
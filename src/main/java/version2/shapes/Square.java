@@ -1,6 +1,8 @@
 package version2.shapes;
 
 import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a Square Shape to use in the algorithms
@@ -39,14 +41,25 @@ public class Square extends Shape {
 
     /**
      * Calculates a random position inside the square
-     * @return A new point containing co-ordinates for a random point in the square
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
      */
     @Override
-    public Point randomPositionInside() {
+    public void randomPositionInside(int[] position, RandomGenerator random) {
         double sideLength = 2 * radius;
-        int x = (int) (this.centerX + (Math.random() * sideLength) - sideLength / 2);
-        int y = (int) (this.centerY + (Math.random() * sideLength) - sideLength / 2);
-        return new Point(x, y);
+        position[0] = (int) (this.centerX + (random.nextDouble() * sideLength) - sideLength / 2);
+        position[1] = (int) (this.centerY + (random.nextDouble() * sideLength) - sideLength / 2);
+    }
+
+    /**
+     * Gets the signed distance from a point to the nearest edge of the square
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the square and negative outside
+     */
+    @Override
+    public double edgeDistance(double x, double y) {
+        return radius - Math.max(Math.abs(x - centerX), Math.abs(y - centerY));
     }
 
     /**
@@ -71,6 +84,33 @@ public class Square extends Shape {
         g2d.drawRect((int) x, (int) y, (int) sideLength, (int) sideLength);
     }
 
+    /**
+     * Adds the outline of the square to a path
+     * @param path - the path to add the outline to
+     */
+    @Override
+    public void appendOutline(Path2D path) {
+        double sideLength = 2 * radius;
+        int x = (int) (centerX - (sideLength / 2));
+        int y = (int) (centerY - (sideLength / 2));
+        int side = (int) sideLength;
+        path.moveTo(x, y);
+        path.lineTo(x + side, y);
+        path.lineTo(x + side, y + side);
+        path.lineTo(x, y + side);
+        path.closePath();
+    }
+
+    /**
+     * Gets the bounding box of the square
+     * @param bounds - the rectangle to write the bounding box into
+     */
+    @Override
+    public void getBounds(Rectangle bounds) {
+        double sideLength = 2 * radius;
+        bounds.setBounds((int) (centerX - (sideLength / 2)), (int) (centerY - (sideLength / 2)), (int) sideLength, (int) sideLength);
+    }
+
     /**
      * Sets the starting x and y co-ordinates of the square
      * @param x - the x co-ordinate
@@ -0,0 +1,62 @@
+package version2.spatial;
+
+import version2.shapes.ShapeBuffer;
+
+/**
+ * Interface for the spatial indexes used to find overlapping circles
+ * Part of the strategy design pattern so the circle packing algorithm can swap the overlap search
+ * The circles themselves are kept in a shape buffer which the index only refers to by id
+ * @author carysedwards
+ */
+public interface CircleIndex {
+    /**
+     * Adds a circle to the end of the buffer and to the index
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     */
+    void insert(int x, int y, double radius);
+
+    /**
+     * Adds a circle already held in the buffer to the index
+     * Circles must be added in the order they appear in the buffer
+     * @param id - the id of the circle in the buffer
+     */
+    void insert(int id);
+
+    /**
+     * Checks if a circle overlaps any circle already in the index
+     * Uses the same test as Circle.overlaps so each index gives identical results
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     * @return true if the circle overlaps a circle in the index
+     */
+    boolean overlaps(int x, int y, double radius);
+
+    /**
+     * Gets the largest radius a circle at the point can have without overlapping a circle in the index
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param limit - the largest radius of interest
+     * @return the free radius, capped at the limit, or negative if the point is inside a circle
+     */
+    double freeRadius(int x, int y, double limit);
+
+    /**
+     * Gets the number of circles in the index
+     * @return the number of circles
+     */
+    int size();
+
+    /**
+     * Removes every circle from the index and its buffer
+     */
+    void clear();
+
+    /**
+     * Gets the buffer holding the circles in the index
+     * @return the shape buffer
+     */
+    ShapeBuffer getBuffer();
+}
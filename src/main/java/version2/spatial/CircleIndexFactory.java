@@ -0,0 +1,30 @@
+package version2.spatial;
+
+import version2.shapes.ShapeBuffer;
+
+/**
+ * Implementation of the Simple Factory Pattern used to create circle indexes
+ * @author carysedwards
+ */
+public class CircleIndexFactory {
+
+    /**
+     * Creates a circle index covering the given area
+     * @param indexType - the type of index, linear, grid or quadtree
+     * @param circles - the buffer holding the circles
+     * @param minX - the smallest x co-ordinate of the area
+     * @param minY - the smallest y co-ordinate of the area
+     * @param maxX - the largest x co-ordinate of the area
+     * @param maxY - the largest y co-ordinate of the area
+     * @param maxRadius - the largest radius expected in the index
+     * @return the circle index
+     */
+    public CircleIndex createIndex(String indexType, ShapeBuffer circles, int minX, int minY, int maxX, int maxY, double maxRadius) {
+        return switch (indexType) {
+            case "linear" -> new LinearCircleIndex(circles);
+            case "grid" -> new GridCircleIndex(circles, minX, minY, maxX, maxY, maxRadius);
+            case "quadtree" -> new QuadtreeCircleIndex(circles, minX, minY, maxX, maxY);
+            default -> throw new IllegalArgumentException("Invalid index type: " + indexType);
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package version2.spatial;
+
+import version2.shapes.ShapeBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Circle index that buckets circles into a uniform grid
+ * The cells are twice the maximum radius wide so an overlap query only visits the neighbouring cells
+ * @author carysedwards
+ */
+public class GridCircleIndex implements CircleIndex {
+    private final int minX;
+    private final int minY;
+    private final int columns;
+    private final int rows;
+    private final double cellSize;
+    private final int[][] cells;
+    private final int[] cellCounts;
+    private final ShapeBuffer circles;
+    private double largestRadius;
+    private int size;
+
+    /**
+     * Creates a grid covering the given area with its own buffer
+     * @param minX - the smallest x co-ordinate of the area
+     * @param minY - the smallest y co-ordinate of the area
+     * @param maxX - the largest x co-ordinate of the area
+     * @param maxY - the largest y co-ordinate of the area
+     * @param maxRadius - the largest radius expected, used to size the cells
+     */
+    public GridCircleIndex(int minX, int minY, int maxX, int maxY, double maxRadius) {
+        this(new ShapeBuffer(), minX, minY, maxX, maxY, maxRadius);
+    }
+
+    /**
+     * Creates a grid covering the given area over a shared buffer
+     * Circles outside the area are kept in the edge cells so they are still found
+     * @param circles - the buffer holding the circles
+     * @param minX - the smallest x co-ordinate of the area
+     * @param minY - the smallest y co-ordinate of the area
+     * @param maxX - the largest x co-ordinate of the area
+     * @param maxY - the largest y co-ordinate of the area
+     * @param maxRadius - the largest radius expected, used to size the cells
+     */
+    public GridCircleIndex(ShapeBuffer circles, int minX, int minY, int maxX, int maxY, double maxRadius) {
+        this.circles = circles;
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = Math.max(1, Math.ceil(maxRadius * 2));
+        this.columns = (int) (Math.max(0, maxX - minX) / cellSize) + 1;
+        this.rows = (int) (Math.max(0, maxY - minY) / cellSize) + 1;
+        this.cells = new int[columns * rows][];
+        this.cellCounts = new int[columns * rows];
+    }
+
+    /**
+     * Adds a circle to the end of the buffer and to the index
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     */
+    @Override
+    public void insert(int x, int y, double radius) {
+        insert(circles.add(x, y, (float) radius));
+    }
+
+    /**
+     * Adds a circle already held in the buffer to the cell containing its centre
+     * @param id - the id of the circle in the buffer
+     */
+    @Override
+    public void insert(int id) {
+        largestRadius = Math.max(largestRadius, circles.getSize(id));
+
+        int cell = row(circles.getY(id)) * columns + column(circles.getX(id));
+        int[] items = cells[cell];
+        if (items == null) {
+            items = new int[4];
+            cells[cell] = items;
+        } else if (cellCounts[cell] == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            cells[cell] = items;
+        }
+        items[cellCounts[cell]++] = id;
+        size++;
+    }
+
+    /**
+     * Checks the circle against the circles in the neighbouring cells
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     * @return true if the circle overlaps a circle in the index
+     */
+    @Override
+    public boolean overlaps(int x, int y, double radius) {
+        if (size == 0) {
+            return false;
+        }
+        int reach = (int) Math.ceil((radius + largestRadius) / cellSize);
+        int column = column(x);
+        int row = row(y);
+        int firstColumn = Math.max(0, column - reach);
+        int lastColumn = Math.min(columns - 1, column + reach);
+        int firstRow = Math.max(0, row - reach);
+        int lastRow = Math.min(rows - 1, row + reach);
+
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = r * columns + c;
+                int[] items = cells[cell];
+                for (int i = 0; i < cellCounts[cell]; i++) {
+                    int index = items[i];
+                    int dx = x - circles.getX(index);
+                    int dy = y - circles.getY(index);
+                    int distance = dx * dx + dy * dy;
+                    double overlap = radius + circles.getSize(index);
+                    if (distance < overlap * overlap) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the largest radius a circle at the point can have by checking the cells within reach of the limit
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param limit - the largest radius of interest
+     * @return the free radius, capped at the limit, or negative if the point is inside a circle
+     */
+    @Override
+    public double freeRadius(int x, int y, double limit) {
+        double best = limit;
+        if (size == 0) {
+            return best;
+        }
+        int reach = (int) Math.ceil((Math.max(0, limit) + largestRadius) / cellSize);
+        int column = column(x);
+        int row = row(y);
+        for (int r = Math.max(0, row - reach); r <= Math.min(rows - 1, row + reach); r++) {
+            for (int c = Math.max(0, column - reach); c <= Math.min(columns - 1, column + reach); c++) {
+                int cell = r * columns + c;
+                int[] items = cells[cell];
+                for (int i = 0; i < cellCounts[cell]; i++) {
+                    int index = items[i];
+                    double dx = x - circles.getX(index);
+                    double dy = y - circles.getY(index);
+                    best = Math.min(best, Math.sqrt(dx * dx + dy * dy) - circles.getSize(index));
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the number of circles in the index
+     * @return size
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every circle from the index and its buffer
+     */
+    @Override
+    public void clear() {
+        circles.clear();
+        Arrays.fill(cellCounts, 0);
+        largestRadius = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the buffer holding the circles in the index
+     * @return circles
+     */
+    @Override
+    public ShapeBuffer getBuffer() {
+        return circles;
+    }
+
+    /**
+     * Helper method to find the grid column of an x co-ordinate
+     * @param x - the x co-ordinate
+     * @return the column, clamped to the grid
+     */
+    private int column(int x) {
+        int column = (int) Math.floor((x - minX) / cellSize);
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    /**
+     * Helper method to find the grid row of a y co-ordinate
+     * @param y - the y co-ordinate
+     * @return the row, clamped to the grid
+     */
+    private int row(int y) {
+        int row = (int) Math.floor((y - minY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+}
@@ -0,0 +1,114 @@
+package version2.spatial;
+
+import version2.shapes.ShapeBuffer;
+
+/**
+ * Circle index that checks every circle for an overlap
+ * Kept as the baseline to compare the other indexes against
+ * @author carysedwards
+ */
+public class LinearCircleIndex implements CircleIndex {
+    private final ShapeBuffer circles;
+    private int size;
+
+    /**
+     * Creates an index with its own buffer
+     */
+    public LinearCircleIndex() {
+        this(new ShapeBuffer());
+    }
+
+    /**
+     * Creates an index over a shared buffer
+     * @param circles - the buffer holding the circles
+     */
+    public LinearCircleIndex(ShapeBuffer circles) {
+        this.circles = circles;
+    }
+
+    /**
+     * Adds a circle to the end of the buffer and to the index
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     */
+    @Override
+    public void insert(int x, int y, double radius) {
+        insert(circles.add(x, y, (float) radius));
+    }
+
+    /**
+     * Adds a circle already held in the buffer to the index
+     * @param id - the id of the circle in the buffer
+     */
+    @Override
+    public void insert(int id) {
+        size = id + 1;
+    }
+
+    /**
+     * Checks the circle against every circle in the index
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     * @return true if the circle overlaps a circle in the index
+     */
+    @Override
+    public boolean overlaps(int x, int y, double radius) {
+        for (int i = 0; i < size; i++) {
+            int dx = x - circles.getX(i);
+            int dy = y - circles.getY(i);
+            int distance = dx * dx + dy * dy;
+            double reach = radius + circles.getSize(i);
+            if (distance < reach * reach) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the largest radius a circle at the point can have by checking every circle in the index
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param limit - the largest radius of interest
+     * @return the free radius, capped at the limit, or negative if the point is inside a circle
+     */
+    @Override
+    public double freeRadius(int x, int y, double limit) {
+        double best = limit;
+        for (int i = 0; i < size; i++) {
+            double dx = x - circles.getX(i);
+            double dy = y - circles.getY(i);
+            best = Math.min(best, Math.sqrt(dx * dx + dy * dy) - circles.getSize(i));
+        }
+        return best;
+    }
+
+    /**
+     * Gets the number of circles in the index
+     * @return size
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every circle from the index and its buffer
+     */
+    @Override
+    public void clear() {
+        circles.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the buffer holding the circles in the index
+     * @return circles
+     */
+    @Override
+    public ShapeBuffer getBuffer() {
+        return circles;
+    }
+}
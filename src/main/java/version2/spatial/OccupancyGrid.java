@@ -0,0 +1,204 @@
+package version2.spatial;
+
+import version2.shapes.Shape;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Coarse raster of the free space left for circles of at least the minimum radius
+ * Cells are blocked as circles are accepted so candidates are only drawn where a circle could still fit,
+ * and the packing can stop once no free cell remains
+ * @author carysedwards
+ */
+public class OccupancyGrid {
+    private static final int FIRST_SCAN = 4;
+    private final int minX;
+    private final int minY;
+    private final int columns;
+    private final int rows;
+    private final int cellSize;
+    private final double halfDiagonal;
+    private final double minRadius;
+    private final int[] freeCells;
+    private final int[] freeSlots;
+    private final int[] misses;
+    private int freeCount;
+
+    /**
+     * Creates a grid covering the given area with every cell free
+     * The cells are about the minimum radius wide
+     * @param minX - the smallest x co-ordinate of the area
+     * @param minY - the smallest y co-ordinate of the area
+     * @param maxX - the largest x co-ordinate of the area
+     * @param maxY - the largest y co-ordinate of the area
+     * @param minRadius - the smallest radius a circle can have
+     */
+    public OccupancyGrid(int minX, int minY, int maxX, int maxY, double minRadius) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minRadius = minRadius;
+        this.cellSize = Math.max(1, (int) minRadius);
+        this.halfDiagonal = cellSize * Math.sqrt(2) / 2;
+        this.columns = Math.max(0, maxX - minX) / cellSize + 1;
+        this.rows = Math.max(0, maxY - minY) / cellSize + 1;
+        int cells = columns * rows;
+        this.freeCells = new int[cells];
+        this.freeSlots = new int[cells];
+        this.misses = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            freeCells[cell] = cell;
+            freeSlots[cell] = cell;
+        }
+        this.freeCount = cells;
+    }
+
+    /**
+     * Blocks every cell that is too close to the edge of the boundary to hold a circle
+     * @param boundary - the shape the circles are packed into
+     */
+    public void blockOutside(Shape boundary) {
+        for (int i = freeCount - 1; i >= 0; i--) {
+            int cell = freeCells[i];
+            if (boundary.edgeDistance(cellCentreX(cell), cellCentreY(cell)) + halfDiagonal < minRadius) {
+                blockCell(cell);
+            }
+        }
+    }
+
+    /**
+     * Blocks every cell where a circle of the minimum radius would overlap the given circle
+     * @param x - the centre x co-ordinate of the accepted circle
+     * @param y - the centre y co-ordinate of the accepted circle
+     * @param radius - the radius of the accepted circle
+     */
+    public void block(int x, int y, double radius) {
+        double reach = radius + minRadius;
+        int firstColumn = Math.max(0, (int) Math.floor((x - reach - minX) / cellSize));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((x + reach - minX) / cellSize));
+        int firstRow = Math.max(0, (int) Math.floor((y - reach - minY) / cellSize));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((y + reach - minY) / cellSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                if (freeSlots[cell] < 0) {
+                    continue;
+                }
+                double dx = cellCentreX(cell) - x;
+                double dy = cellCentreY(cell) - y;
+                if (Math.sqrt(dx * dx + dy * dy) + halfDiagonal < reach) {
+                    blockCell(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a rejected candidate in the cell holding the point
+     * After repeated misses every point of the cell is checked and the cell is blocked if none can hold a circle,
+     * catching the gaps the conservative blocking leaves behind
+     * @param x - the x co-ordinate of the rejected candidate
+     * @param y - the y co-ordinate of the rejected candidate
+     * @param index - the index of the accepted circles
+     * @param boundary - the shape the circles are packed into
+     */
+    public void recordMiss(int x, int y, CircleIndex index, Shape boundary) {
+        int cell = cellAt(x, y);
+        if (cell < 0 || freeSlots[cell] < 0) {
+            return;
+        }
+        int count = ++misses[cell];
+        if (count < FIRST_SCAN || Integer.bitCount(count) != 1) {
+            return;
+        }
+        int startX = minX + (cell % columns) * cellSize;
+        int startY = minY + (cell / columns) * cellSize;
+        for (int pointY = startY; pointY < startY + cellSize; pointY++) {
+            for (int pointX = startX; pointX < startX + cellSize; pointX++) {
+                if (boundary.edgeDistance(pointX, pointY) >= minRadius && index.freeRadius(pointX, pointY, minRadius) >= minRadius) {
+                    return;
+                }
+            }
+        }
+        blockCell(cell);
+    }
+
+    /**
+     * Picks a random point in a random free cell
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
+     */
+    public void randomPosition(int[] position, RandomGenerator random) {
+        int cell = freeCells[random.nextInt(freeCount)];
+        position[0] = minX + (cell % columns) * cellSize + random.nextInt(cellSize);
+        position[1] = minY + (cell / columns) * cellSize + random.nextInt(cellSize);
+    }
+
+    /**
+     * Checks if there is no free space left for another circle
+     * @return true if every cell is blocked
+     */
+    public boolean isSaturated() {
+        return freeCount == 0;
+    }
+
+    /**
+     * Gets the number of cells that can still hold a circle
+     * @return freeCount
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Gets the width of the cells
+     * @return cellSize
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Helper method to remove a cell from the free list by swapping in the last free cell
+     * @param cell - the cell to block
+     */
+    private void blockCell(int cell) {
+        int slot = freeSlots[cell];
+        int last = freeCells[--freeCount];
+        freeCells[slot] = last;
+        freeSlots[last] = slot;
+        freeSlots[cell] = -1;
+    }
+
+    /**
+     * Helper method to find the cell holding a point
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the cell, or -1 if the point is outside the grid
+     */
+    private int cellAt(int x, int y) {
+        int column = Math.floorDiv(x - minX, cellSize);
+        int row = Math.floorDiv(y - minY, cellSize);
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Helper method to find the x co-ordinate of a cell's centre
+     * @param cell - the cell
+     * @return the centre x co-ordinate
+     */
+    private double cellCentreX(int cell) {
+        return minX + (cell % columns) * cellSize + cellSize / 2.0;
+    }
+
+    /**
+     * Helper method to find the y co-ordinate of a cell's centre
+     * @param cell - the cell
+     * @return the centre y co-ordinate
+     */
+    private double cellCentreY(int cell) {
+        return minY + (cell / columns) * cellSize + cellSize / 2.0;
+    }
+}
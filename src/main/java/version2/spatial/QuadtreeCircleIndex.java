@@ -0,0 +1,276 @@
+package version2.spatial;
+
+import version2.shapes.ShapeBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Circle index that stores circles in a loose quadtree
+ * Each circle is kept in the smallest node whose cell holds its centre and is at least as wide as the circle,
+ * so small and large circles mix without the cost of a fixed cell size
+ * @author carysedwards
+ */
+public class QuadtreeCircleIndex implements CircleIndex {
+    private static final int MAX_DEPTH = 20;
+    private final double rootX;
+    private final double rootY;
+    private final double rootSize;
+    private Node root;
+    private final ShapeBuffer circles;
+    private int size;
+
+    /**
+     * Creates a quadtree covering the given area with its own buffer
+     * @param minX - the smallest x co-ordinate of the area
+     * @param minY - the smallest y co-ordinate of the area
+     * @param maxX - the largest x co-ordinate of the area
+     * @param maxY - the largest y co-ordinate of the area
+     */
+    public QuadtreeCircleIndex(int minX, int minY, int maxX, int maxY) {
+        this(new ShapeBuffer(), minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Creates a quadtree covering the given area over a shared buffer
+     * Circles outside the area are kept in the root node so they are still found
+     * @param circles - the buffer holding the circles
+     * @param minX - the smallest x co-ordinate of the area
+     * @param minY - the smallest y co-ordinate of the area
+     * @param maxX - the largest x co-ordinate of the area
+     * @param maxY - the largest y co-ordinate of the area
+     */
+    public QuadtreeCircleIndex(ShapeBuffer circles, int minX, int minY, int maxX, int maxY) {
+        this.circles = circles;
+        this.rootX = minX;
+        this.rootY = minY;
+        this.rootSize = Math.max(1, Math.max(maxX - minX, maxY - minY));
+        this.root = new Node();
+    }
+
+    /**
+     * Adds a circle to the end of the buffer and to the index
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     */
+    @Override
+    public void insert(int x, int y, double radius) {
+        insert(circles.add(x, y, (float) radius));
+    }
+
+    /**
+     * Adds a circle already held in the buffer to the smallest node that can hold it
+     * @param id - the id of the circle in the buffer
+     */
+    @Override
+    public void insert(int id) {
+        int x = circles.getX(id);
+        int y = circles.getY(id);
+        double radius = circles.getSize(id);
+
+        Node node = root;
+        if (x >= rootX && x < rootX + rootSize && y >= rootY && y < rootY + rootSize) {
+            double nodeX = rootX;
+            double nodeY = rootY;
+            double nodeSize = rootSize;
+            for (int depth = 0; depth < MAX_DEPTH && radius <= nodeSize / 4; depth++) {
+                nodeSize /= 2;
+                int quadrant = 0;
+                if (x >= nodeX + nodeSize) {
+                    nodeX += nodeSize;
+                    quadrant += 1;
+                }
+                if (y >= nodeY + nodeSize) {
+                    nodeY += nodeSize;
+                    quadrant += 2;
+                }
+                node = node.child(quadrant);
+            }
+        }
+        node.add(id);
+        size++;
+    }
+
+    /**
+     * Checks the circle against the circles in the nodes it could reach
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     * @return true if the circle overlaps a circle in the index
+     */
+    @Override
+    public boolean overlaps(int x, int y, double radius) {
+        return overlaps(root, rootX, rootY, rootSize, true, x, y, radius);
+    }
+
+    /**
+     * Gets the largest radius a circle at the point can have without overlapping a circle in the index
+     * Nodes further away than the best radius found so far are skipped
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param limit - the largest radius of interest
+     * @return the free radius, capped at the limit, or negative if the point is inside a circle
+     */
+    @Override
+    public double freeRadius(int x, int y, double limit) {
+        return freeRadius(root, rootX, rootY, rootSize, true, x, y, limit);
+    }
+
+    /**
+     * Gets the number of circles in the index
+     * @return size
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every circle from the index and its buffer
+     */
+    @Override
+    public void clear() {
+        circles.clear();
+        root = new Node();
+        size = 0;
+    }
+
+    /**
+     * Gets the buffer holding the circles in the index
+     * @return circles
+     */
+    @Override
+    public ShapeBuffer getBuffer() {
+        return circles;
+    }
+
+    /**
+     * Recursively checks a node and the children it could reach for an overlapping circle
+     * @param node - the node to check
+     * @param nodeX - the smallest x co-ordinate of the node's cell
+     * @param nodeY - the smallest y co-ordinate of the node's cell
+     * @param nodeSize - the width of the node's cell
+     * @param isRoot - true if the node is the root, which can hold circles anywhere
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     * @return true if the circle overlaps a circle in the node
+     */
+    private boolean overlaps(Node node, double nodeX, double nodeY, double nodeSize, boolean isRoot, int x, int y, double radius) {
+        if (!isRoot && distanceToLooseBounds(nodeX, nodeY, nodeSize, x, y) > radius) {
+            return false;
+        }
+        for (int i = 0; i < node.count; i++) {
+            int index = node.items[i];
+            int dx = x - circles.getX(index);
+            int dy = y - circles.getY(index);
+            int distance = dx * dx + dy * dy;
+            double overlap = radius + circles.getSize(index);
+            if (distance < overlap * overlap) {
+                return true;
+            }
+        }
+        if (node.children != null) {
+            double childSize = nodeSize / 2;
+            for (int quadrant = 0; quadrant < 4; quadrant++) {
+                Node child = node.children[quadrant];
+                if (child != null && overlaps(child, nodeX + (quadrant & 1) * childSize, nodeY + (quadrant >> 1) * childSize,
+                        childSize, false, x, y, radius)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recursively finds the free radius around a point within a node and its children
+     * @param node - the node to check
+     * @param nodeX - the smallest x co-ordinate of the node's cell
+     * @param nodeY - the smallest y co-ordinate of the node's cell
+     * @param nodeSize - the width of the node's cell
+     * @param isRoot - true if the node is the root, which can hold circles anywhere
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param best - the best free radius found so far
+     * @return the free radius, no larger than best
+     */
+    private double freeRadius(Node node, double nodeX, double nodeY, double nodeSize, boolean isRoot, int x, int y, double best) {
+        if (!isRoot && distanceToLooseBounds(nodeX, nodeY, nodeSize, x, y) >= best) {
+            return best;
+        }
+        for (int i = 0; i < node.count; i++) {
+            int index = node.items[i];
+            double dx = x - circles.getX(index);
+            double dy = y - circles.getY(index);
+            best = Math.min(best, Math.sqrt(dx * dx + dy * dy) - circles.getSize(index));
+        }
+        if (node.children != null) {
+            double childSize = nodeSize / 2;
+            int nearest = (x >= nodeX + childSize ? 1 : 0) + (y >= nodeY + childSize ? 2 : 0);
+            for (int i = 0; i < 4; i++) {
+                int quadrant = nearest ^ i;
+                Node child = node.children[quadrant];
+                if (child != null) {
+                    best = freeRadius(child, nodeX + (quadrant & 1) * childSize, nodeY + (quadrant >> 1) * childSize,
+                            childSize, false, x, y, best);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Helper method to find the distance from a point to a node's loose bounds
+     * The loose bounds extend the cell by half its width on every side
+     * @param nodeX - the smallest x co-ordinate of the node's cell
+     * @param nodeY - the smallest y co-ordinate of the node's cell
+     * @param nodeSize - the width of the node's cell
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, or 0 if the point is inside the loose bounds
+     */
+    private static double distanceToLooseBounds(double nodeX, double nodeY, double nodeSize, int x, int y) {
+        double margin = nodeSize / 2;
+        double dx = Math.max(0, Math.max(nodeX - margin - x, x - (nodeX + nodeSize + margin)));
+        double dy = Math.max(0, Math.max(nodeY - margin - y, y - (nodeY + nodeSize + margin)));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * A node of the quadtree holding the indexes of its circles
+     */
+    private static class Node {
+        private int[] items;
+        private int count;
+        private Node[] children;
+
+        /**
+         * Adds a circle index to the node
+         * @param index - the index of the circle
+         */
+        private void add(int index) {
+            if (items == null) {
+                items = new int[4];
+            } else if (count == items.length) {
+                items = Arrays.copyOf(items, count * 2);
+            }
+            items[count++] = index;
+        }
+
+        /**
+         * Gets a child node, creating it if needed
+         * @param quadrant - the quadrant of the child, 0 to 3
+         * @return the child node
+         */
+        private Node child(int quadrant) {
+            if (children == null) {
+                children = new Node[4];
+            }
+            if (children[quadrant] == null) {
+                children[quadrant] = new Node();
+            }
+            return children[quadrant];
+        }
+    }
+}
@@ -6,6 +6,7 @@ import version3.shapes.*;
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 /**
  * The implementation of the Circle Packing algorithm
@@ -15,8 +16,14 @@ import java.util.ArrayList;
 public class CirclePacking extends JPanel {
     private PatternShape boundaryShape;
     private final ArrayList<Circle> circles;
+    private final CircleGrid grid;
     private final CirclePackingParameters params;
+    private final int[] position = new int[2];
+    private final Circle candidate = new Circle(0, 0, 0);
+    private final SplittableRandom random;
+    private final PatternCache cache = new PatternCache();
     private int attempts = 0;
+    private int drawnCircles = 0;
 
 
     /**
@@ -25,8 +32,11 @@ public class CirclePacking extends JPanel {
      */
     public CirclePacking(CirclePackingParameters params) {
         this.params = params;
+        this.random = new SplittableRandom(params.seed);
         setBoundary(this.params.boundaryType);
         this.circles = new ArrayList<>();
+        int reach = params.polygonSize + params.maxRadius;
+        this.grid = new CircleGrid(params.centreX - reach, params.centreY - reach, params.centreX + reach, params.centreY + reach, params.maxRadius);
         addCircle();
     }
 
@@ -41,6 +51,7 @@ public class CirclePacking extends JPanel {
             case "triangle" -> this.boundaryShape = new Triangle(params.centreX, params.centreY, params.polygonSize);
             case "hexagon" -> this.boundaryShape = new Hexagon(params.centreX, params.centreY, params.polygonSize);
         }
+        cache.invalidate();
     }
 
     /**
@@ -50,15 +61,23 @@ public class CirclePacking extends JPanel {
     public void addCircle() {
         for (int i = 0; i < params.maxAttempts; i++) {
             attempts++;
-            Point randomPosition = boundaryShape.randomPositionInside();
-            int randomRadius = params.minRadius + (int) (Math.random() * (params.maxRadius - params.minRadius));
-            Circle newCircle = new Circle(randomPosition.x, randomPosition.y, randomRadius);
+            boundaryShape.randomPositionInside(position, random);
+            int randomRadius = params.minRadius + (int) (random.nextDouble() * (params.maxRadius - params.minRadius));
+            candidate.setPosition(position[0], position[1]);
+            candidate.setScale(randomRadius);
 
-            boolean overlaps = circles.stream().anyMatch(newCircle::overlaps);
+            boolean overlaps;
+            if ("grid".equals(params.indexType)) {
+                overlaps = grid.overlaps(candidate);
+            } else {
+                overlaps = circles.stream().anyMatch(candidate::overlaps);
+            }
             if (!overlaps) {
-                boolean isInside = boundaryShape.isInside(newCircle);
+                boolean isInside = boundaryShape.isInside(candidate);
                 if (isInside) {
+                    Circle newCircle = new Circle(position[0], position[1], randomRadius);
                     circles.add(newCircle);
+                    grid.add(newCircle);
                 }
             }
         }
@@ -66,19 +85,68 @@ public class CirclePacking extends JPanel {
 
     /**
      * Draws the algorithm to the graphics object based on the parameters already passed
+     * Only the circles added since the last paint are drawn to the cached pattern, other repaints copy the damaged area
      * @param g - The graphics object to draw to
      */
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
-        g2d.setColor(params.backgroundColor);
-        g2d.fillRect(0, 0, params.canvasWidth, params.canvasHeight);
+        int width = getWidth();
+        int height = getHeight();
+        if (!cache.canCache(g2d, width, height)) {
+            drawCircles(g2d, 0);
+            return;
+        }
+        if (drawnCircles > circles.size()) {
+            cache.invalidate();
+        }
+        if (!cache.validate(g2d, cacheKey(), width, height)) {
+            drawnCircles = 0;
+        }
+        if (drawnCircles < circles.size()) {
+            Graphics2D imageGraphics = cache.createGraphics();
+            drawCircles(imageGraphics, drawnCircles);
+            imageGraphics.dispose();
+            drawnCircles = circles.size();
+        }
+        cache.copyClip(g2d);
+    }
+
+    /**
+     * Helper method to draw the circles from the given index onwards, with the background and boundary when drawing from the start
+     * Circles are only ever added, so the cached pattern only needs the circles placed since it was last painted
+     * @param g2d - the graphics object to draw to
+     * @param first - the index of the first circle to draw
+     */
+    private void drawCircles(Graphics2D g2d, int first) {
+        if (first == 0) {
+            g2d.setColor(params.backgroundColor);
+            g2d.fillRect(0, 0, params.canvasWidth, params.canvasHeight);
 
-        boundaryShape.draw(g2d, params.boundaryLineColour, params.boundaryLineWidth, params.boundaryFillColour, "solid");
-        for (Circle circle : circles) {
-            circle.draw(g2d, params.circleLineColour, params.circleLineWidth, params.circleFillColour, "solid");
+            boundaryShape.draw(g2d, params.boundaryLineColour, params.boundaryLineWidth, params.boundaryFillColour, "solid");
         }
+        for (int i = first; i < circles.size(); i++) {
+            circles.get(i).draw(g2d, params.circleLineColour, params.circleLineWidth, params.circleFillColour, "solid");
+        }
+    }
+
+    /**
+     * Marks the painted pattern as out of date, so the next paint draws it again rather than copying the cached image
+     */
+    public void invalidatePattern() {
+        cache.invalidate();
+    }
+
+    /**
+     * Helper method to describe the parameters the pattern is drawn with
+     * @return the key of the cached pattern
+     */
+    private String cacheKey() {
+        return params.canvasWidth + "," + params.canvasHeight + "," + params.backgroundColor + "," + params.boundaryType + ","
+                + params.centreX + "," + params.centreY + "," + params.polygonSize + "," + params.boundaryFillColour + ","
+                + params.boundaryLineColour + "," + params.boundaryLineWidth + "," + params.circleFillColour + ","
+                + params.circleLineColour + "," + params.circleLineWidth;
     }
 
     /**
@@ -0,0 +1,139 @@
+package version3.algorithms;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the last rendered pattern of a component as an image so repaints only copy the damaged area
+ * The image is keyed by the parameters it was drawn with, the size of the component, the display scale and the rendering hints,
+ * and is drawn again whenever any of them change.
+ * The image is kept at the resolution of the device, so on high density displays the pattern is drawn at the display scale
+ * and copied pixel for pixel rather than stretched
+ * @author carysedwards
+ */
+class PatternCache {
+    private BufferedImage image;
+    private String key;
+    private RenderingHints hints;
+    private double scaleX = 1;
+    private double scaleY = 1;
+
+    /**
+     * Paints the pattern to the graphics object, rendering it to the image first if it is out of date
+     * @param g - the graphics object to paint to
+     * @param key - the parameters the pattern is drawn with
+     * @param width - the width of the component
+     * @param height - the height of the component
+     * @param renderer - draws the whole pattern to a graphics object
+     */
+    void paint(Graphics2D g, String key, int width, int height, Consumer<Graphics2D> renderer) {
+        if (!canCache(g, width, height)) {
+            renderer.accept(g);
+            return;
+        }
+        if (!validate(g, key, width, height)) {
+            Graphics2D imageGraphics = createGraphics();
+            renderer.accept(imageGraphics);
+            imageGraphics.dispose();
+        }
+        copyClip(g);
+    }
+
+    /**
+     * Checks if the pattern can be kept as an image for the graphics object
+     * Translated and scaled graphics, such as on high density displays, can be, but rotated or flipped graphics are drawn to directly
+     * @param g - the graphics object to paint to
+     * @param width - the width of the component
+     * @param height - the height of the component
+     * @return true if the image can be used
+     */
+    boolean canCache(Graphics2D g, int width, int height) {
+        AffineTransform transform = g.getTransform();
+        int allowed = AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE;
+        return width > 0 && height > 0 && (transform.getType() & ~allowed) == 0
+                && transform.getScaleX() > 0 && transform.getScaleY() > 0;
+    }
+
+    /**
+     * Checks the image holds the pattern for the key, size, scale and rendering hints, clearing it if it does not
+     * @param g - the graphics object to paint to
+     * @param key - the parameters the pattern is drawn with
+     * @param width - the width of the component
+     * @param height - the height of the component
+     * @return true if the image is up to date, false if it was cleared and the pattern must be drawn again
+     */
+    boolean validate(Graphics2D g, String key, int width, int height) {
+        RenderingHints currentHints = g.getRenderingHints();
+        AffineTransform transform = g.getTransform();
+        double currentScaleX = transform.getScaleX();
+        double currentScaleY = transform.getScaleY();
+        int deviceWidth = (int) Math.ceil(width * currentScaleX);
+        int deviceHeight = (int) Math.ceil(height * currentScaleY);
+        boolean sameSize = image != null && image.getWidth() == deviceWidth && image.getHeight() == deviceHeight;
+        if (sameSize && currentScaleX == scaleX && currentScaleY == scaleY
+                && key.equals(this.key) && currentHints.equals(hints)) {
+            return true;
+        }
+        if (!sameSize) {
+            image = new BufferedImage(deviceWidth, deviceHeight, BufferedImage.TYPE_INT_ARGB);
+        } else {
+            Graphics2D imageGraphics = image.createGraphics();
+            imageGraphics.setComposite(AlphaComposite.Clear);
+            imageGraphics.fillRect(0, 0, deviceWidth, deviceHeight);
+            imageGraphics.dispose();
+        }
+        this.key = key;
+        this.hints = currentHints;
+        this.scaleX = currentScaleX;
+        this.scaleY = currentScaleY;
+        return false;
+    }
+
+    /**
+     * Creates a graphics object to draw to the image with the rendering hints and scale of the graphics object last validated
+     * @return the graphics object of the image, to be disposed by the caller
+     */
+    Graphics2D createGraphics() {
+        Graphics2D imageGraphics = image.createGraphics();
+        imageGraphics.setRenderingHints(hints);
+        imageGraphics.scale(scaleX, scaleY);
+        return imageGraphics;
+    }
+
+    /**
+     * Copies the area of the image inside the clip of the graphics object, the whole image if there is no clip
+     * The copy is made in device space, undoing the scale of the graphics object, so each pixel of the image covers one pixel of the display
+     * @param g - the graphics object to paint to
+     */
+    void copyClip(Graphics2D g) {
+        AffineTransform transform = g.getTransform();
+        Rectangle area = new Rectangle(0, 0, image.getWidth(), image.getHeight());
+        Rectangle clip = g.getClipBounds();
+        if (clip != null) {
+            int left = (int) Math.floor(clip.x * scaleX);
+            int top = (int) Math.floor(clip.y * scaleY);
+            int right = (int) Math.ceil((clip.x + clip.width) * scaleX);
+            int bottom = (int) Math.ceil((clip.y + clip.height) * scaleY);
+            area = area.intersection(new Rectangle(left, top, right - left, bottom - top));
+        }
+        if (area.isEmpty()) {
+            return;
+        }
+        g.setTransform(AffineTransform.getTranslateInstance(transform.getTranslateX(), transform.getTranslateY()));
+        try {
+            g.drawImage(image, area.x, area.y, area.x + area.width, area.y + area.height,
+                    area.x, area.y, area.x + area.width, area.y + area.height, null);
+        } finally {
+            g.setTransform(transform);
+        }
+    }
+
+    /**
+     * Marks the image as out of date so the pattern is drawn again on the next paint, keeping the image to draw to
+     */
+    void invalidate() {
+        key = null;
+    }
+}
@@ -13,6 +13,7 @@ import java.awt.*;
  */
 public class RecursiveShape extends JPanel {
     private final RecursiveShapeParameters params;
+    private final PatternCache cache = new PatternCache();
     private PatternShape largeShape;
     private PatternShape smallShape;
 
@@ -34,6 +35,7 @@ public class RecursiveShape extends JPanel {
      */
     private void drawPattern(Graphics2D g2d, int x, int y, int size, int depth) {
         if (depth == 0) return;
+        if (outsideClip(g2d.getClipBounds(), x, y, size, depth)) return;
 
         largeShape.setPosition(x, y);
         largeShape.setScale(size);
@@ -58,19 +60,61 @@ public class RecursiveShape extends JPanel {
         }
     }
 
+    /**
+     * Helper method to check if a large shape and every shape around and below it lie outside the area being painted
+     * Each ring of small shapes is a fixed fraction of the size of the last, so their reach is a geometric series
+     * @param clip - the clip bounds of the graphics object, or null if everything is painted
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param size - the size of the large shape
+     * @param depth - the depth left below the shape, allowing a pixel of rounding for each level
+     * @return true if none of the shapes can be seen
+     */
+    private boolean outsideClip(Rectangle clip, int x, int y, int size, int depth) {
+        double shrink = Math.sin(Math.PI / params.numShapes);
+        if (clip == null || shrink >= 1) {
+            return false;
+        }
+        double margin = size / (1 - shrink) + depth + Math.max(params.largeShapeLineWidth, params.smallShapeLineWidth);
+        return x + margin < clip.x || x - margin > clip.x + clip.width
+                || y + margin < clip.y || y - margin > clip.y + clip.height;
+    }
+
     /**
      * Draws the algorithm to the graphics object based on the parameters already passed
+     * The pattern is only drawn again when the parameters or the size change, other repaints copy the damaged area
      * @param g - The graphics object to draw to
      */
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
+        int width = getWidth();
+        int height = getHeight();
+        cache.paint((Graphics2D) g, cacheKey(), width, height, g2d -> {
+            g2d.setColor(params.backgroundColor);
+            g2d.fillRect(0, 0, width, height);
+
+            drawPattern(g2d, params.centerX, params.centerY, params.initialSize, params.depth);
+        });
+    }
 
-        g2d.setColor(params.backgroundColor);
-        g2d.fillRect(0, 0, getWidth(), getHeight());
+    /**
+     * Marks the painted pattern as out of date, so the next paint draws it again rather than copying the cached image
+     */
+    public void invalidatePattern() {
+        cache.invalidate();
+    }
 
-        drawPattern(g2d, params.centerX, params.centerY, params.initialSize, params.depth);
+    /**
+     * Helper method to describe the parameters the pattern is drawn with
+     * @return the key of the cached pattern
+     */
+    private String cacheKey() {
+        return params.backgroundColor + "," + params.largeShapeType + "," + params.largeShapeLineColor + ","
+                + params.largeShapeLineWidth + "," + params.largeShapeFillColor + "," + params.largeShapeLineType + ","
+                + params.smallShapeType + "," + params.smallShapeLineColor + "," + params.smallShapeLineWidth + ","
+                + params.smallShapeFillColor + "," + params.smallShapeLineType + "," + params.centerX + ","
+                + params.centerY + "," + params.initialSize + "," + params.depth + "," + params.numShapes;
     }
 
     /**
@@ -3,18 +3,46 @@ package version3.algorithms;
 import version3.parameters.SierpinskiShapeParameters;
 import version3.shapes.Circle;
 import version3.shapes.Hexagon;
+import version3.shapes.ShapeStack;
 import version3.shapes.Square;
 import version3.shapes.Triangle;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 
 /**
  * The implementation of the Sierpinski Shape algorithm
  * @author carysedwards
  */
 public class SierpinskiShape extends JPanel {
+    private static final double COS_30 = Math.cos(Math.toRadians(30));
+    private static final double SIN_30 = Math.sin(Math.toRadians(30));
+    private static final double GASKET_COS = Math.cos(Math.PI / 6);
+    private static final double GASKET_SIN = Math.sin(Math.PI / 6);
+    private static final double[] HEXAGON_COS = new double[6];
+    private static final double[] HEXAGON_SIN = new double[6];
+    private static final double TRIANGLE_REACH = 3;
     private final SierpinskiShapeParameters params;
+    private final ShapeStack pending = new ShapeStack();
+    private final ShapeStack instancePending = new ShapeStack();
+    private final Triangle triangleLeaf = new Triangle(0, 0, 0);
+    private final Circle circleLeaf = new Circle(0, 0, 0);
+    private final Square squareLeaf = new Square(0, 0, 0);
+    private final Hexagon hexagonLeaf = new Hexagon(0, 0, 0);
+    private final PatternCache cache = new PatternCache();
+    private BufferedImage instance;
+    private String instanceKey;
+    private int instanceOffset;
+
+    static {
+        for (int i = 0; i < 6; i++) {
+            HEXAGON_COS[i] = Math.cos(i * Math.PI / 3);
+            HEXAGON_SIN[i] = Math.sin(i * Math.PI / 3);
+        }
+    }
 
     /**
      * Constructor for the sierpinski shape algorithm
@@ -26,124 +54,376 @@ public class SierpinskiShape extends JPanel {
 
     /**
      * Draws the algorithm to the graphics object based on the parameters already passed
+     * The pattern is only drawn again when the parameters or the size change, other repaints copy the damaged area
      * @param g - The graphics object to draw to
      */
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setColor(Color.WHITE);
-        g2d.fillRect(0, 0, getWidth(), getHeight());
-
-        switch (params.shapeType) {
-            case "triangle":
-                drawSierpinski(g2d, new Triangle(params.centreX, params.centreY, params.polygonSize), params.depth);
-                break;
-            case "circle":
-                drawGasket(g2d, new Circle(params.centreX, params.centreY, params.polygonSize), params.depth);
-                break;
-            case "square":
-                drawCarpet(g2d, new Square(params.centreX, params.centreY, params.polygonSize), params.depth);
-                break;
-            case "hexagon":
-                drawHexagon(g2d, new Hexagon(params.centreX, params.centreY, params.polygonSize), params.depth);
-                break;
-        }
+        int width = getWidth();
+        int height = getHeight();
+        cache.paint((Graphics2D) g, cacheKey(), width, height, g2d -> {
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, width, height);
+
+            switch (params.shapeType) {
+                case "triangle":
+                    drawSierpinski(g2d, new Triangle(params.centreX, params.centreY, params.polygonSize), params.depth);
+                    break;
+                case "circle":
+                    drawGasket(g2d, new Circle(params.centreX, params.centreY, params.polygonSize), params.depth);
+                    break;
+                case "square":
+                    drawCarpet(g2d, new Square(params.centreX, params.centreY, params.polygonSize), params.depth);
+                    break;
+                case "hexagon":
+                    drawHexagon(g2d, new Hexagon(params.centreX, params.centreY, params.polygonSize), params.depth);
+                    break;
+            }
+        });
+    }
+
+    /**
+     * Marks the painted pattern as out of date, so the next paint draws it again rather than copying the cached image
+     */
+    public void invalidatePattern() {
+        cache.invalidate();
+    }
+
+    /**
+     * Helper method to describe the parameters the pattern is drawn with
+     * @return the key of the cached pattern
+     */
+    private String cacheKey() {
+        return params.shapeType + "," + params.centreX + "," + params.centreY + "," + params.polygonSize + ","
+                + params.depth + "," + params.shapeLineColour + "," + params.shapeFillColour + ","
+                + params.shapeLineWidth + "," + params.instanceDepth;
     }
 
     /**
      * Adds a sierpinski triangle to the graphics object
+     * The triangles still to be split are kept on an explicit stack, children pushed in reverse so the
+     * leaves are drawn in the same order as a recursive walk, reusing a single triangle to draw them
      * @param g - the graphics object to draw to
-     * @param triangle - the triangle to draw
+     * @param triangle - the outer triangle
      * @param depth - the recursive depth
      */
     public void drawSierpinski(Graphics2D g, Triangle triangle, int depth) {
-        if (depth == 0) {
-            triangle.draw(g, params.shapeLineColour, params.shapeLineWidth, params.shapeFillColour, null);
-            return;
-        }
+        drawSierpinski(g, triangle.centerX, triangle.centerY, triangle.radius, depth, pending);
+    }
 
-        double newRadius = triangle.radius / 2;
+    /**
+     * Helper method to walk a sierpinski triangle, stamping the cached subtree in place of each triangle at the instance depth
+     * @param g - the graphics object to draw to
+     * @param centreX - the centre x co-ordinate of the outer triangle
+     * @param centreY - the centre y co-ordinate of the outer triangle
+     * @param outerRadius - the radius of the outer triangle
+     * @param depth - the recursive depth
+     * @param pending - the stack to hold the triangles still to be split
+     */
+    private void drawSierpinski(Graphics2D g, int centreX, int centreY, double outerRadius, int depth, ShapeStack pending) {
+        Rectangle clip = g.getClipBounds();
+        int instanceLevel = instanceLevel(depth);
+        pending.clear();
+        pending.push(centreX, centreY, outerRadius, depth);
+        while (!pending.isEmpty()) {
+            int slot = pending.pop();
+            int x = pending.getX(slot);
+            int y = pending.getY(slot);
+            double radius = pending.getRadius(slot);
+            int level = pending.getDepth(slot);
+            if (outsideClip(clip, x, y, radius * TRIANGLE_REACH, level)) {
+                continue;
+            }
+            if (level == instanceLevel) {
+                stampInstance(g, "triangle", x, y, radius, level);
+                continue;
+            }
+            if (level == 0) {
+                triangleLeaf.setPosition(x, y);
+                triangleLeaf.setScale(radius);
+                triangleLeaf.draw(g, params.shapeLineColour, params.shapeLineWidth, params.shapeFillColour, null);
+                continue;
+            }
+            double newRadius = radius / 2;
 
-        int midX1 = (triangle.x1 + triangle.x2) / 2;
-        int midY1 = (triangle.y1 + triangle.y2) / 2;
-        int midX3 = (triangle.x1 + triangle.x3) / 2;
-        int midY3 = (triangle.y1 + triangle.y3) / 2;
+            int y1 = (int) (y - radius);
+            int x2 = (int) (x - radius * COS_30);
+            int x3 = (int) (x + radius * COS_30);
+            int y2 = (int) (y + radius * SIN_30);
+            int midX1 = (x + x2) / 2;
+            int midX3 = (x + x3) / 2;
+            int midY = (y1 + y2) / 2;
 
-        drawSierpinski(g, new Triangle(triangle.x1, triangle.y1 - (int) newRadius, newRadius), depth - 1);
-        drawSierpinski(g, new Triangle(midX1, midY1 - (int) newRadius, newRadius), depth - 1);
-        drawSierpinski(g, new Triangle(midX3, midY3 - (int) newRadius, newRadius), depth - 1);
+            pending.push(midX3, midY - (int) newRadius, newRadius, level - 1);
+            pending.push(midX1, midY - (int) newRadius, newRadius, level - 1);
+            pending.push(x, y1 - (int) newRadius, newRadius, level - 1);
+        }
     }
 
     /**
      * Adds a circle to the graphics object
+     * Every circle is drawn before the circles inside it, in the same order as a recursive walk
      * @param g - the graphics object to draw to
-     * @param circle - the circle to draw
+     * @param circle - the outer circle
      * @param depth - the recursive depth
      */
     private void drawGasket(Graphics2D g, Circle circle, int depth) {
-        if (depth <= 0) return;
+        drawGasket(g, circle.centerX, circle.centerY, circle.radius, depth, pending);
+    }
 
-        circle.draw(g, params.shapeLineColour, params.shapeLineWidth, params.shapeFillColour, "");
+    /**
+     * Helper method to walk a gasket, stamping the cached subtree in place of each circle at the instance depth
+     * @param g - the graphics object to draw to
+     * @param centreX - the centre x co-ordinate of the outer circle
+     * @param centreY - the centre y co-ordinate of the outer circle
+     * @param outerRadius - the radius of the outer circle
+     * @param depth - the recursive depth
+     * @param pending - the stack to hold the circles still to be split
+     */
+    private void drawGasket(Graphics2D g, int centreX, int centreY, double outerRadius, int depth, ShapeStack pending) {
+        Rectangle clip = g.getClipBounds();
+        int instanceLevel = instanceLevel(depth);
+        pending.clear();
+        pending.push(centreX, centreY, outerRadius, depth);
+        while (!pending.isEmpty()) {
+            int slot = pending.pop();
+            int x = pending.getX(slot);
+            int y = pending.getY(slot);
+            double radius = pending.getRadius(slot);
+            int level = pending.getDepth(slot);
+            if (outsideClip(clip, x, y, radius, level)) {
+                continue;
+            }
+            if (level == instanceLevel) {
+                stampInstance(g, "circle", x, y, radius, level);
+                continue;
+            }
+            if (level <= 0) {
+                continue;
+            }
+            circleLeaf.setPosition(x, y);
+            circleLeaf.setScale(radius);
+            circleLeaf.draw(g, params.shapeLineColour, params.shapeLineWidth, params.shapeFillColour, "");
 
-        int newRadius = (int) circle.radius / 2;
-        int dx = (int) (newRadius * Math.cos(Math.PI / 6));
-        int dy = (int) (newRadius * Math.sin(Math.PI / 6));
+            int newRadius = (int) radius / 2;
+            int dx = (int) (newRadius * GASKET_COS);
+            int dy = (int) (newRadius * GASKET_SIN);
 
-        drawGasket(g, new Circle(circle.centerX, circle.centerY - newRadius, newRadius), depth - 1);
-        drawGasket(g, new Circle(circle.centerX - dx, circle.centerY + dy, newRadius), depth - 1);
-        drawGasket(g, new Circle(circle.centerX + dx, circle.centerY + dy, newRadius), depth - 1);
+            pending.push(x + dx, y + dy, newRadius, level - 1);
+            pending.push(x - dx, y + dy, newRadius, level - 1);
+            pending.push(x, y - newRadius, newRadius, level - 1);
+        }
     }
 
     /**
      * Adds a hexagon to the graphics object
      * @param g - the graphics object to draw to
-     * @param hexagon - the hexagon to draw
+     * @param hexagon - the outer hexagon
      * @param depth - the recursive depth
      */
     public void drawHexagon(Graphics2D g, Hexagon hexagon, int depth) {
-        if (depth == 0) {
-            hexagon.draw(g, params.shapeLineColour, params.shapeLineWidth, params.shapeFillColour, "");
-            return;
-        }
+        drawHexagon(g, hexagon.centerX, hexagon.centerY, hexagon.radius, depth, pending);
+    }
+
+    /**
+     * Helper method to walk a hexagon pattern, stamping the cached subtree in place of each hexagon at the instance depth
+     * @param g - the graphics object to draw to
+     * @param centreX - the centre x co-ordinate of the outer hexagon
+     * @param centreY - the centre y co-ordinate of the outer hexagon
+     * @param outerRadius - the radius of the outer hexagon
+     * @param depth - the recursive depth
+     * @param pending - the stack to hold the hexagons still to be split
+     */
+    private void drawHexagon(Graphics2D g, int centreX, int centreY, double outerRadius, int depth, ShapeStack pending) {
+        Rectangle clip = g.getClipBounds();
+        int instanceLevel = instanceLevel(depth);
+        pending.clear();
+        pending.push(centreX, centreY, outerRadius, depth);
+        while (!pending.isEmpty()) {
+            int slot = pending.pop();
+            int x = pending.getX(slot);
+            int y = pending.getY(slot);
+            double radius = pending.getRadius(slot);
+            int level = pending.getDepth(slot);
+            if (outsideClip(clip, x, y, radius, level)) {
+                continue;
+            }
+            if (level == instanceLevel) {
+                stampInstance(g, "hexagon", x, y, radius, level);
+                continue;
+            }
+            if (level == 0) {
+                hexagonLeaf.setPosition(x, y);
+                hexagonLeaf.setScale(radius);
+                hexagonLeaf.draw(g, params.shapeLineColour, params.shapeLineWidth, params.shapeFillColour, "");
+                continue;
+            }
 
-        double newRadius = hexagon.radius / 3;
+            double newRadius = radius / 3;
 
-        for (int i = 0; i < 6; i++) {
-            int newX = hexagon.centerX + (int) (newRadius * 2 * Math.cos(i * Math.PI / 3));
-            int newY = hexagon.centerY + (int) (newRadius * 2 * Math.sin(i * Math.PI / 3));
-            drawHexagon(g, new Hexagon(newX, newY, newRadius), depth - 1);
+            pending.push(x, y, newRadius, level - 1);
+            for (int i = 5; i >= 0; i--) {
+                int newX = x + (int) (newRadius * 2 * HEXAGON_COS[i]);
+                int newY = y + (int) (newRadius * 2 * HEXAGON_SIN[i]);
+                pending.push(newX, newY, newRadius, level - 1);
+            }
         }
-
-        drawHexagon(g, new Hexagon(hexagon.centerX, hexagon.centerY, newRadius), depth - 1);
     }
 
     /**
      * Adds a square to the graphics object
      * @param g - the graphics object to draw to
-     * @param square - the square to draw
+     * @param square - the outer square
      * @param depth - the recursive depth
      */
     public void drawCarpet(Graphics2D g, Square square, int depth) {
-        if (depth == 0) {
-            square.draw(g, params.shapeLineColour, params.shapeLineWidth, params.shapeFillColour, null);
-            return;
+        drawCarpet(g, square.centerX, square.centerY, square.radius, depth, pending);
+    }
+
+    /**
+     * Helper method to walk a carpet, stamping the cached subtree in place of each square at the instance depth
+     * @param g - the graphics object to draw to
+     * @param centreX - the centre x co-ordinate of the outer square
+     * @param centreY - the centre y co-ordinate of the outer square
+     * @param outerRadius - the radius of the outer square
+     * @param depth - the recursive depth
+     * @param pending - the stack to hold the squares still to be split
+     */
+    private void drawCarpet(Graphics2D g, int centreX, int centreY, double outerRadius, int depth, ShapeStack pending) {
+        Rectangle clip = g.getClipBounds();
+        int instanceLevel = instanceLevel(depth);
+        pending.clear();
+        pending.push(centreX, centreY, outerRadius, depth);
+        while (!pending.isEmpty()) {
+            int slot = pending.pop();
+            int x = pending.getX(slot);
+            int y = pending.getY(slot);
+            double radius = pending.getRadius(slot);
+            int level = pending.getDepth(slot);
+            if (outsideClip(clip, x, y, radius, level)) {
+                continue;
+            }
+            if (level == instanceLevel) {
+                stampInstance(g, "square", x, y, radius, level);
+                continue;
+            }
+            if (level == 0) {
+                squareLeaf.setPosition(x, y);
+                squareLeaf.setScale(radius);
+                squareLeaf.draw(g, params.shapeLineColour, params.shapeLineWidth, params.shapeFillColour, null);
+                continue;
+            }
+            double newRadius = radius / 3;
+            double offsetX = newRadius * 2;
+
+            for (int row = 2; row >= 0; row--) {
+                for (int col = 2; col >= 0; col--) {
+                    if (row == 1 && col == 1) continue;
+
+                    int newX = (int) (x + (col - 1) * offsetX);
+                    int newY = (int) (y + (row - 1) * offsetX);
+                    pending.push(newX, newY, newRadius, level - 1);
+                }
+            }
         }
+    }
 
-        double newRadius = square.radius / 3;
-        double offsetX = newRadius * 2;
+    /**
+     * Helper method to find the depth left at which subtrees are stamped from the cached instance
+     * @param depth - the recursive depth of the pattern being walked
+     * @return the instance depth, or -1 if the pattern is drawn shape by shape
+     */
+    private int instanceLevel(int depth) {
+        if (params.instanceDepth <= 0 || params.instanceDepth >= depth) {
+            return -1;
+        }
+        return params.instanceDepth;
+    }
 
-        for (int row = 0; row < 3; row++) {
-            for (int col = 0; col < 3; col++) {
-                if (row == 1 && col == 1) continue;
+    /**
+     * Helper method to draw a subtree by copying the cached instance to its position
+     * Every subtree at the same depth is the same shapes moved to a new centre, so it is only rasterised once,
+     * and again whenever the shape, size, colours, antialiasing or display scale change.
+     * The instance is kept at the resolution of the device and copied with the scale of the graphics object undone,
+     * so on high density displays the stamped subtrees are as sharp as the shapes drawn one by one.
+     * Rotated or flipped graphics get an instance at the scale of the pattern, drawn through their transform
+     * @param g - the graphics object to draw to
+     * @param shapeType - the type of shape in the pattern
+     * @param x - the centre x co-ordinate of the subtree
+     * @param y - the centre y co-ordinate of the subtree
+     * @param radius - the radius of the outer shape of the subtree
+     * @param level - the depth of the subtree
+     */
+    private void stampInstance(Graphics2D g, String shapeType, int x, int y, double radius, int level) {
+        Object antialiasing = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        AffineTransform transform = g.getTransform();
+        int scaling = AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE;
+        boolean deviceResolution = (transform.getType() & ~scaling) == 0 && transform.getScaleX() > 0 && transform.getScaleY() > 0;
+        double scaleX = deviceResolution ? transform.getScaleX() : 1;
+        double scaleY = deviceResolution ? transform.getScaleY() : 1;
+        String key = shapeType + "," + radius + "," + level + "," + params.shapeLineColour + "," + params.shapeFillColour + ","
+                + params.shapeLineWidth + "," + antialiasing + "," + scaleX + "," + scaleY;
+        if (!key.equals(instanceKey)) {
+            renderInstance(g, shapeType, radius, level, scaleX, scaleY);
+            instanceKey = key;
+        }
+        if (!deviceResolution) {
+            g.drawImage(instance, x - instanceOffset, y - instanceOffset, null);
+            return;
+        }
+        Point2D corner = transform.transform(new Point2D.Double(x - instanceOffset, y - instanceOffset), null);
+        g.setTransform(new AffineTransform());
+        try {
+            g.drawImage(instance, (int) Math.round(corner.getX()), (int) Math.round(corner.getY()), null);
+        } finally {
+            g.setTransform(transform);
+        }
+    }
 
-                int newX = (int) (square.centerX + (col - 1) * offsetX);
-                int newY = (int) (square.centerY + (row - 1) * offsetX);
+    /**
+     * Helper method to rasterise a subtree into a transparent image centred on the subtree, at the scale of the device
+     * @param g - the graphics object the instance will be drawn to, its rendering hints are copied
+     * @param shapeType - the type of shape in the pattern
+     * @param radius - the radius of the outer shape of the subtree
+     * @param level - the depth of the subtree
+     * @param scaleX - the horizontal scale from the pattern to the device
+     * @param scaleY - the vertical scale from the pattern to the device
+     */
+    private void renderInstance(Graphics2D g, String shapeType, double radius, int level, double scaleX, double scaleY) {
+        double reach = shapeType.equals("triangle") ? radius * TRIANGLE_REACH : radius;
+        instanceOffset = (int) Math.ceil(reach + level + params.shapeLineWidth) + 1;
+        int size = instanceOffset * 2 + 1;
+        instance = new BufferedImage((int) Math.ceil(size * scaleX), (int) Math.ceil(size * scaleY), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D instanceGraphics = instance.createGraphics();
+        instanceGraphics.setRenderingHints(g.getRenderingHints());
+        instanceGraphics.scale(scaleX, scaleY);
+        switch (shapeType) {
+            case "triangle" -> drawSierpinski(instanceGraphics, instanceOffset, instanceOffset, radius, level, instancePending);
+            case "circle" -> drawGasket(instanceGraphics, instanceOffset, instanceOffset, radius, level, instancePending);
+            case "square" -> drawCarpet(instanceGraphics, instanceOffset, instanceOffset, radius, level, instancePending);
+            case "hexagon" -> drawHexagon(instanceGraphics, instanceOffset, instanceOffset, radius, level, instancePending);
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        }
+        instanceGraphics.dispose();
+    }
 
-                Square newSquare = new Square(newX, newY, newRadius);
-                drawCarpet(g, newSquare, depth - 1);
-            }
+    /**
+     * Helper method to check if a shape and every shape below it lie outside the area being painted
+     * @param clip - the clip bounds of the graphics object, or null if everything is painted
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param reach - how far the shape and the shapes below it can reach from its centre
+     * @param depth - the depth left below the shape, allowing a pixel of rounding for each level
+     * @return true if nothing below the shape can be seen
+     */
+    private boolean outsideClip(Rectangle clip, int x, int y, double reach, int depth) {
+        if (clip == null) {
+            return false;
         }
+        double margin = reach + depth + params.shapeLineWidth;
+        return x + margin < clip.x || x - margin > clip.x + clip.width
+                || y + margin < clip.y || y - margin > clip.y + clip.height;
     }
 
     /**
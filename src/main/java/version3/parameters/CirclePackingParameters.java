@@ -1,6 +1,7 @@
 package version3.parameters;
 
 import java.awt.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Responsible for housing and configuring the specific Circle Packing Algorithm values
@@ -21,6 +22,8 @@ public class CirclePackingParameters {
     public int boundaryLineWidth = 1;
 
     public int minRadius = 5, maxRadius = 22, maxAttempts = 100;
+    public String indexType = "grid";
+    public long seed = ThreadLocalRandom.current().nextLong();
     public Color circleFillColour = Color.YELLOW;
     public Color circleLineColour = Color.BLACK;
     public int circleLineWidth = 1;
@@ -128,4 +131,20 @@ public class CirclePackingParameters {
     public void setCircleLineWidth(int circleLineWidth) {
         this.circleLineWidth = circleLineWidth;
     }
+
+    /**
+     * Sets the type of index used to find overlapping circles
+     * @param indexType - the index type, linear or grid
+     */
+    public void setIndexType(String indexType) {
+        this.indexType = indexType;
+    }
+
+    /**
+     * Sets the seed for the random number generator, the same seed gives the same packing
+     * @param seed - the random seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ public class SierpinskiShapeParameters {
     public int centreX, centreY, polygonSize, depth;
     public Color shapeFillColour, shapeLineColour;
     public int shapeLineWidth;
+    public int instanceDepth;
     public String shapeType;
 
     /**
@@ -76,4 +77,12 @@ public class SierpinskiShapeParameters {
     public void setShapeLineWidth(int shapeLineWidth) {
         this.shapeLineWidth = shapeLineWidth;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the depth of the subtrees that are rasterised once and copied to every position
+     * @param instanceDepth - the depth of the copied subtrees, 0 to draw every shape
+     */
+    public void setInstanceDepth(int instanceDepth) {
+        this.instanceDepth = instanceDepth;
+    }
+}
@@ -1,6 +1,7 @@
 package version3.shapes;
 
 import java.awt.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a Circle Shape to use in the algorithms
@@ -35,12 +36,13 @@ public class Circle implements PatternShape {
 
     /**
      * Calculates a random position inside the circle
-     * @return A new point containing co-ordinates for a random point in the circle
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
      */
     @Override
-    public Point randomPositionInside() {
-        double angle = 2 * Math.PI * Math.random();
-        double radiusScale = Math.random();
+    public void randomPositionInside(int[] position, RandomGenerator random) {
+        double angle = 2 * Math.PI * random.nextDouble();
+        double radiusScale = random.nextDouble();
         double scaledRadius = radius * Math.sqrt(radiusScale);
         double newX = centerX + scaledRadius * Math.cos(angle);
         double newY = centerY + scaledRadius * Math.sin(angle);
@@ -57,7 +59,8 @@ public class Circle implements PatternShape {
         } else {
             finalY = (int) Math.ceil(newY);
         }
-        return new Point(finalX, finalY);
+        position[0] = finalX;
+        position[1] = finalY;
     }
 
     /**
@@ -73,6 +76,19 @@ public class Circle implements PatternShape {
         return distance <= (boundary.radius - this.radius) * (boundary.radius - this.radius);
     }
 
+    /**
+     * Gets the signed distance from a point to the nearest edge of the circle
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the circle and negative outside
+     */
+    @Override
+    public double edgeDistance(double x, double y) {
+        double dx = x - centerX;
+        double dy = y - centerY;
+        return radius - Math.sqrt(dx * dx + dy * dy);
+    }
+
     /**
      * Draws the circle onto the given graphics object
      * @param g2d - the graphics object to drawn
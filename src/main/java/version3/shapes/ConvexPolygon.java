@@ -0,0 +1,85 @@
+package version3.shapes;
+
+/**
+ * Containment kernel for convex polygons using precomputed edge normals
+ * The signed distance from a point to each edge is a single multiply-add, so checking that a circle
+ * fits inside the polygon is exact and does not allocate
+ * @author carysedwards
+ */
+public class ConvexPolygon {
+    private final int sides;
+    private final double[] normalX;
+    private final double[] normalY;
+    private final double[] offsets;
+    private boolean degenerate = true;
+
+    /**
+     * Creates a kernel for a polygon with the given number of sides
+     * @param sides - the number of vertices of the polygon
+     */
+    public ConvexPolygon(int sides) {
+        this.sides = sides;
+        this.normalX = new double[sides];
+        this.normalY = new double[sides];
+        this.offsets = new double[sides];
+    }
+
+    /**
+     * Recalculates the inward edge normals from the polygon's vertices
+     * The vertices may be given in either winding order
+     * @param xPoints - the x co-ordinates of the vertices
+     * @param yPoints - the y co-ordinates of the vertices
+     */
+    public void setVertices(int[] xPoints, int[] yPoints) {
+        double area = 0;
+        for (int i = 0; i < sides; i++) {
+            int next = (i + 1) % sides;
+            area += (double) xPoints[i] * yPoints[next] - (double) xPoints[next] * yPoints[i];
+        }
+        degenerate = area == 0;
+        double winding = area > 0 ? 1 : -1;
+        for (int i = 0; i < sides; i++) {
+            int next = (i + 1) % sides;
+            double edgeX = xPoints[next] - xPoints[i];
+            double edgeY = yPoints[next] - yPoints[i];
+            double length = Math.sqrt(edgeX * edgeX + edgeY * edgeY);
+            if (length == 0) {
+                normalX[i] = 0;
+                normalY[i] = 0;
+                offsets[i] = Double.POSITIVE_INFINITY;
+            } else {
+                normalX[i] = -edgeY * winding / length;
+                normalY[i] = edgeX * winding / length;
+                offsets[i] = -(normalX[i] * xPoints[i] + normalY[i] * yPoints[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the signed distance from a point to the nearest edge of the polygon
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the polygon and negative outside
+     */
+    public double edgeDistance(double x, double y) {
+        if (degenerate) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double nearest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < sides; i++) {
+            nearest = Math.min(nearest, normalX[i] * x + normalY[i] * y + offsets[i]);
+        }
+        return nearest;
+    }
+
+    /**
+     * Checks if a circle fits entirely inside the polygon
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius of the circle
+     * @return true if every edge is at least the radius away from the centre
+     */
+    public boolean containsCircle(double x, double y, double radius) {
+        return edgeDistance(x, y) >= radius;
+    }
+}
@@ -1,6 +1,8 @@
 package version3.shapes;
 
 import java.awt.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Interface for creating Shapes to be used by the algorithms
@@ -11,7 +13,27 @@ public interface PatternShape {
      * Generates a random point inside the shape
      * @return a Point inside the shape
      */
-    Point randomPositionInside();
+    default Point randomPositionInside() {
+        int[] position = new int[2];
+        randomPositionInside(position);
+        return new Point(position[0], position[1]);
+    }
+
+    /**
+     * Generates a random point inside the shape without allocating
+     * Uses the calling thread's random number generator
+     * @param position - the array to write the x and y co-ordinates into
+     */
+    default void randomPositionInside(int[] position) {
+        randomPositionInside(position, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates a random point inside the shape without allocating
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
+     */
+    void randomPositionInside(int[] position, RandomGenerator random);
 
     /**
      * Checks if a point is inside the shape
@@ -19,6 +41,14 @@ public interface PatternShape {
      */
     boolean isInside(Circle circle);
 
+    /**
+     * Gets the signed distance from a point to the nearest edge of the shape
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the shape and negative outside
+     */
+    double edgeDistance(double x, double y);
+
     /**
      * Draws the shape  onto the given graphics object
      * @param g2d - the graphics object to drawn
@@ -0,0 +1,109 @@
+package version3.shapes;
+
+import java.util.Arrays;
+
+/**
+ * Explicit stack of shapes still to be subdivided, kept as parallel primitive arrays of x, y, radius and depth
+ * Used by the fractal generators in place of recursion so deep patterns need no call stack or shape objects
+ * @author carysedwards
+ */
+public class ShapeStack {
+    private static final int DEFAULT_CAPACITY = 64;
+    private int[] xs;
+    private int[] ys;
+    private double[] radii;
+    private int[] depths;
+    private int size;
+
+    /**
+     * Creates an empty stack with the default capacity
+     */
+    public ShapeStack() {
+        xs = new int[DEFAULT_CAPACITY];
+        ys = new int[DEFAULT_CAPACITY];
+        radii = new double[DEFAULT_CAPACITY];
+        depths = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Pushes a shape onto the top of the stack, doubling the arrays when full
+     * @param x - the centre x co-ordinate
+     * @param y - the centre y co-ordinate
+     * @param radius - the radius or scaling factor of the shape
+     * @param depth - the recursive depth left below the shape
+     */
+    public void push(int x, int y, double radius, int depth) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            radii = Arrays.copyOf(radii, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        radii[size] = radius;
+        depths[size] = depth;
+        size++;
+    }
+
+    /**
+     * Removes the shape on top of the stack
+     * Its values can be read with the returned slot until the next push
+     * @return the slot of the removed shape
+     */
+    public int pop() {
+        return --size;
+    }
+
+    /**
+     * Gets the centre x co-ordinate of a shape
+     * @param slot - the slot of the shape
+     * @return the x co-ordinate
+     */
+    public int getX(int slot) {
+        return xs[slot];
+    }
+
+    /**
+     * Gets the centre y co-ordinate of a shape
+     * @param slot - the slot of the shape
+     * @return the y co-ordinate
+     */
+    public int getY(int slot) {
+        return ys[slot];
+    }
+
+    /**
+     * Gets the radius or scaling factor of a shape
+     * @param slot - the slot of the shape
+     * @return the radius
+     */
+    public double getRadius(int slot) {
+        return radii[slot];
+    }
+
+    /**
+     * Gets the recursive depth left below a shape
+     * @param slot - the slot of the shape
+     * @return the depth
+     */
+    public int getDepth(int slot) {
+        return depths[slot];
+    }
+
+    /**
+     * Checks if there are no shapes left on the stack
+     * @return true if the stack is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every shape from the stack, keeping the allocated arrays
+     */
+    public void clear() {
+        size = 0;
+    }
+}
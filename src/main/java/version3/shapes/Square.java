@@ -1,6 +1,7 @@
 package version3.shapes;
 
 import java.awt.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a Square Shape to use in the algorithms
@@ -38,14 +39,25 @@ public class Square implements PatternShape {
 
     /**
      * Calculates a random position inside the square
-     * @return A new point containing co-ordinates for a random point in the square
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
      */
     @Override
-    public Point randomPositionInside() {
+    public void randomPositionInside(int[] position, RandomGenerator random) {
         double sideLength = 2 * radius;
-        int x = (int) (this.centerX + (Math.random() * sideLength) - sideLength / 2);
-        int y = (int) (this.centerY + (Math.random() * sideLength) - sideLength / 2);
-        return new Point(x, y);
+        position[0] = (int) (this.centerX + (random.nextDouble() * sideLength) - sideLength / 2);
+        position[1] = (int) (this.centerY + (random.nextDouble() * sideLength) - sideLength / 2);
+    }
+
+    /**
+     * Gets the signed distance from a point to the nearest edge of the square
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the square and negative outside
+     */
+    @Override
+    public double edgeDistance(double x, double y) {
+        return radius - Math.max(Math.abs(x - centerX), Math.abs(y - centerY));
     }
 
     /**
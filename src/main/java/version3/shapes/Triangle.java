@@ -1,6 +1,7 @@
 package version3.shapes;
 
 import java.awt.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a Triangle Shape to use in the algorithms
@@ -10,6 +11,8 @@ public class Triangle implements PatternShape {
     public int centerX, centerY;
     public double radius;
     public int x1, y1, x2, y2, x3, y3;
+    private final Polygon polygon = new Polygon(new int[3], new int[3], 3);
+    private final ConvexPolygon edges = new ConvexPolygon(3);
 
     /**
      * Constructor for the triangle
@@ -31,33 +34,77 @@ public class Triangle implements PatternShape {
     public void setVertices() {
         x1 = centerX;
         y1 = (int) (centerY - radius);
-        x2 = (int) (centerX - radius * Math.cos(Math.toRadians(30)));
-        y2 = (int) (centerY + radius * Math.sin(Math.toRadians(30)));
-        x3 = (int) (centerX + radius * Math.cos(Math.toRadians(30)));
-        y3 = (int) (centerY + radius * Math.sin(Math.toRadians(30)));
+        x2 = (int) (centerX - radius * TrigTables.TRIANGLE_COS);
+        y2 = (int) (centerY + radius * TrigTables.TRIANGLE_SIN);
+        x3 = (int) (centerX + radius * TrigTables.TRIANGLE_COS);
+        y3 = (int) (centerY + radius * TrigTables.TRIANGLE_SIN);
     }
 
     /**
      * Calculates a random position inside the triangle
-     * @return A new point containing co-ordinates for a random point in the triangle
+     * Samples the triangle directly with barycentric co-ordinates and rounds the point onto a whole pixel inside it,
+     * so a point is never drawn again, even for a triangle too small to contain any whole pixel
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
      */
     @Override
-    public Point randomPositionInside() {
-        int minX = Math.min(x1, Math.min(x2, x3));
-        int maxX = Math.max(x1, Math.max(x2, x3));
-        int minY = Math.min(y1, Math.min(y2, y3));
-        int maxY = Math.max(y1, Math.max(y2, y3));
-
-        Polygon triangle = new Polygon(new int[]{x1, x2, x3}, new int[]{y1, y2, y3}, 3);
+    public void randomPositionInside(int[] position, RandomGenerator random) {
+        updatePolygon();
+        randomPointInTriangle(x1, y1, x2, y2, x3, y3, polygon, position, random);
+    }
 
-        while (true) {
-            int x = minX + (int) (Math.random() * (maxX - minX + 1));
-            int y = minY + (int) (Math.random() * (maxY - minY + 1));
+    /**
+     * Helper method to pick a uniformly random point inside any triangle, rounded onto a whole pixel inside the polygon
+     * The point is rounded down, or up on either axis if that lands it inside the polygon instead.
+     * A point with none of those pixels inside, such as in a sharp corner, is moved to the middle of the triangle,
+     * and is left outside only when the polygon has no whole pixel there at all
+     * @param ax - the x co-ordinate of the first vertex
+     * @param ay - the y co-ordinate of the first vertex
+     * @param bx - the x co-ordinate of the second vertex
+     * @param by - the y co-ordinate of the second vertex
+     * @param cx - the x co-ordinate of the third vertex
+     * @param cy - the y co-ordinate of the third vertex
+     * @param polygon - the polygon the point is rounded to be inside of
+     * @param position - the array to write the x and y co-ordinates into
+     * @param random - the random number generator to draw from
+     */
+    static void randomPointInTriangle(double ax, double ay, double bx, double by, double cx, double cy, Polygon polygon, int[] position, RandomGenerator random) {
+        double u = random.nextDouble();
+        double v = random.nextDouble();
+        if (u + v > 1) {
+            u = 1 - u;
+            v = 1 - v;
+        }
+        double x = ax + u * (bx - ax) + v * (cx - ax);
+        double y = ay + u * (by - ay) + v * (cy - ay);
+        if (!roundInside(polygon, x, y, position)) {
+            roundInside(polygon, (ax + bx + cx) / 3, (ay + by + cy) / 3, position);
+        }
+    }
 
-            if (triangle.contains(x, y)) {
-                return new Point(x, y);
+    /**
+     * Helper method to round a point onto a whole pixel inside the polygon, trying the pixels either side of it on each axis
+     * @param polygon - the polygon the point is rounded to be inside of
+     * @param x - the x co-ordinate of the point
+     * @param y - the y co-ordinate of the point
+     * @param position - the array to write the x and y co-ordinates into
+     * @return true if the pixel is inside the polygon, false if none were and the point was rounded down
+     */
+    private static boolean roundInside(Polygon polygon, double x, double y, int[] position) {
+        int left = (int) Math.floor(x);
+        int top = (int) Math.floor(y);
+        for (int dy = 0; dy <= 1; dy++) {
+            for (int dx = 0; dx <= 1; dx++) {
+                if (polygon.contains(left + dx, top + dy)) {
+                    position[0] = left + dx;
+                    position[1] = top + dy;
+                    return true;
+                }
             }
         }
+        position[0] = left;
+        position[1] = top;
+        return false;
     }
 
     /**
@@ -67,15 +114,20 @@ public class Triangle implements PatternShape {
      */
     @Override
     public boolean isInside(Circle circle) {
-        for (int angle = 0; angle < 360; angle += 5) {
-            double rad = Math.toRadians(angle);
-            int pointX = (int) (circle.centerX + circle.radius * Math.cos(rad));
-            int pointY = (int) (circle.centerY + circle.radius * Math.sin(rad));
-            if (!isPointInside(pointX, pointY)) {
-                return false;
-            }
-        }
-        return true;
+        updatePolygon();
+        return edges.containsCircle(circle.centerX, circle.centerY, circle.getRadius());
+    }
+
+    /**
+     * Gets the signed distance from a point to the nearest edge of the triangle
+     * @param x - the x co-ordinate
+     * @param y - the y co-ordinate
+     * @return the distance, positive inside the triangle and negative outside
+     */
+    @Override
+    public double edgeDistance(double x, double y) {
+        updatePolygon();
+        return edges.edgeDistance(x, y);
     }
 
     /**
@@ -85,8 +137,26 @@ public class Triangle implements PatternShape {
      * @return true if the point is inside a triangle
      */
     public boolean isPointInside(int x, int y) {
-        Polygon triangle = new Polygon(new int[]{x1, x2, x3}, new int[]{y1, y2, y3}, 3);
-        return triangle.contains(x, y);
+        updatePolygon();
+        return polygon.contains(x, y);
+    }
+
+    /**
+     * Helper method to copy the vertices into the cached polygon when they have changed
+     */
+    private void updatePolygon() {
+        int[] xPoints = polygon.xpoints;
+        int[] yPoints = polygon.ypoints;
+        if (xPoints[0] != x1 || xPoints[1] != x2 || xPoints[2] != x3 || yPoints[0] != y1 || yPoints[1] != y2 || yPoints[2] != y3) {
+            xPoints[0] = x1;
+            xPoints[1] = x2;
+            xPoints[2] = x3;
+            yPoints[0] = y1;
+            yPoints[1] = y2;
+            yPoints[2] = y3;
+            polygon.invalidate();
+            edges.setVertices(xPoints, yPoints);
+        }
     }
 
     /**
@@ -99,12 +169,13 @@ public class Triangle implements PatternShape {
      */
     @Override
     public void draw(Graphics2D g2d, Color lineColor, float lineWidth, Color fillColor, String lineType) {
+        updatePolygon();
         g2d.setColor(fillColor);
-        g2d.fillPolygon(new int[]{x1, x2, x3}, new int[]{y1, y2, y3}, 3);
+        g2d.fillPolygon(polygon);
 
         g2d.setColor(lineColor);
         g2d.setStroke(new BasicStroke(lineWidth));
-        g2d.drawPolygon(new int[]{x1, x2, x3}, new int[]{y1, y2, y3}, 3);
+        g2d.drawPolygon(polygon);
     }
 
     /**
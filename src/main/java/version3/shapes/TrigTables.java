@@ -0,0 +1,20 @@
+package version3.shapes;
+
+/**
+ * Unit vertices of the hexagon and triangle, shared by every shape so the trigonometry is only worked out once
+ * Each value is worked out the same way the shapes used to, so the vertices land on the same pixels
+ * @author carysedwards
+ */
+class TrigTables {
+    static final double[] HEXAGON_COS = new double[6];
+    static final double[] HEXAGON_SIN = new double[6];
+    static final double TRIANGLE_COS = Math.cos(Math.toRadians(30));
+    static final double TRIANGLE_SIN = Math.sin(Math.toRadians(30));
+
+    static {
+        for (int i = 0; i < 6; i++) {
+            HEXAGON_COS[i] = Math.cos(i * Math.PI / 3);
+            HEXAGON_SIN[i] = Math.sin(i * Math.PI / 3);
+        }
+    }
+}
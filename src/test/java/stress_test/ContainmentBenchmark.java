@@ -0,0 +1,127 @@
+package stress_test;
+
+import java.awt.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Micro-benchmark comparing the edge normal containment kernel against the previous
+ * 72 point perimeter sampling, using the circle packing stress parameters
+ * Run the main method directly, it does not need a display
+ */
+public class ContainmentBenchmark {
+    private static final int CENTRE = 250;
+    private static final int POLYGON_SIZE = 250;
+    private static final int RADIUS = 1;
+    private static final int CANDIDATES = 10000;
+    private static final int ROUNDS = 50;
+
+    public static void main(String[] args) {
+        run("version2 triangle", new version2.shapes.Triangle(CENTRE, CENTRE, POLYGON_SIZE));
+        run("version2 hexagon", new version2.shapes.Hexagon(CENTRE, CENTRE, POLYGON_SIZE));
+        run("version3 triangle", new version3.shapes.Triangle(CENTRE, CENTRE, POLYGON_SIZE));
+        run("version3 hexagon", new version3.shapes.Hexagon(CENTRE, CENTRE, POLYGON_SIZE));
+    }
+
+    private static void run(String name, version2.shapes.Shape shape) {
+        int[] xs = new int[CANDIDATES];
+        int[] ys = new int[CANDIDATES];
+        int[] position = new int[2];
+        for (int i = 0; i < CANDIDATES; i++) {
+            shape.randomPositionInside(position);
+            xs[i] = position[0];
+            ys[i] = position[1];
+        }
+        Polygon outline = outline(shape);
+        version2.shapes.Circle candidate = new version2.shapes.Circle(0, 0, RADIUS);
+        report(name, xs, ys, i -> {
+            candidate.setPosition(xs[i], ys[i]);
+            return shape.isInside(candidate);
+        }, i -> perimeterSampling(outline, xs[i], ys[i], RADIUS));
+    }
+
+    private static void run(String name, version3.shapes.PatternShape shape) {
+        int[] xs = new int[CANDIDATES];
+        int[] ys = new int[CANDIDATES];
+        int[] position = new int[2];
+        for (int i = 0; i < CANDIDATES; i++) {
+            shape.randomPositionInside(position);
+            xs[i] = position[0];
+            ys[i] = position[1];
+        }
+        Polygon outline = outline(shape);
+        version3.shapes.Circle candidate = new version3.shapes.Circle(0, 0, RADIUS);
+        report(name, xs, ys, i -> {
+            candidate.setPosition(xs[i], ys[i]);
+            return shape.isInside(candidate);
+        }, i -> perimeterSampling(outline, xs[i], ys[i], RADIUS));
+    }
+
+    private static void report(String name, int[] xs, int[] ys, IntPredicate kernel, IntPredicate sampling) {
+        long kernelTime = time(kernel);
+        long samplingTime = time(sampling);
+        int agree = 0;
+        for (int i = 0; i < CANDIDATES; i++) {
+            if (kernel.test(i) == sampling.test(i)) {
+                agree++;
+            }
+        }
+        double kernelNanos = kernelTime / (double) (ROUNDS * CANDIDATES);
+        double samplingNanos = samplingTime / (double) (ROUNDS * CANDIDATES);
+        System.out.printf("%-18s kernel %8.1f ns/op  sampling %8.1f ns/op  speedup %6.1fx  agreement %d/%d%n",
+                name, kernelNanos, samplingNanos, samplingNanos / kernelNanos, agree, CANDIDATES);
+    }
+
+    private static long time(IntPredicate check) {
+        long best = Long.MAX_VALUE;
+        int accepted = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            long start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int i = 0; i < CANDIDATES; i++) {
+                    if (check.test(i)) {
+                        accepted++;
+                    }
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (accepted < 0) {
+            System.out.println(accepted);
+        }
+        return best;
+    }
+
+    /**
+     * The containment test the shapes used before the kernel, 72 points around the circle
+     * each checked against a newly built polygon
+     */
+    private static boolean perimeterSampling(Polygon outline, int x, int y, double radius) {
+        for (int angle = 0; angle < 360; angle += 5) {
+            double rad = Math.toRadians(angle);
+            int pointX = (int) (x + radius * Math.cos(rad));
+            int pointY = (int) (y + radius * Math.sin(rad));
+            Polygon polygon = new Polygon(outline.xpoints, outline.ypoints, outline.npoints);
+            if (!polygon.contains(pointX, pointY)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Polygon outline(Object shape) {
+        if (shape instanceof version2.shapes.Triangle triangle) {
+            return new Polygon(new int[]{triangle.getX1(), triangle.getX2(), triangle.getX3()},
+                    new int[]{triangle.getY1(), triangle.getY2(), triangle.getY3()}, 3);
+        }
+        if (shape instanceof version3.shapes.Triangle triangle) {
+            return new Polygon(new int[]{triangle.x1, triangle.x2, triangle.x3}, new int[]{triangle.y1, triangle.y2, triangle.y3}, 3);
+        }
+        int[] xPoints = new int[6];
+        int[] yPoints = new int[6];
+        for (int i = 0; i < 6; i++) {
+            xPoints[i] = (int) (CENTRE + POLYGON_SIZE * Math.cos(i * Math.PI / 3));
+            yPoints[i] = (int) (CENTRE + POLYGON_SIZE * Math.sin(i * Math.PI / 3));
+        }
+        return new Polygon(xPoints, yPoints, 6);
+    }
+}
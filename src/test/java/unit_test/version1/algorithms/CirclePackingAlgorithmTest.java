@@ -131,4 +131,26 @@ public class CirclePackingAlgorithmTest {
         assertTrue(packing.getBoundaryShape().isInside(lastAddedCircle));
     }
 
+    @Test
+    public void testSameSeedGivesSamePacking() {
+        CirclePackingAlgorithm first = createTestInstance();
+        first.setBoundaryShape("triangle");
+        first.getAlgorithmParameters().setSeed(42);
+        first.getAlgorithmParameters().setMaxAttempts(5000);
+        first.addCircles();
+        CirclePackingAlgorithm second = createTestInstance();
+        second.setBoundaryShape("triangle");
+        second.getAlgorithmParameters().setSeed(42);
+        second.getAlgorithmParameters().setMaxAttempts(5000);
+        second.addCircles();
+        assertFalse(first.getCircles().isEmpty());
+        assertEquals(first.getCircles().size(), second.getCircles().size());
+        for (int i = 0; i < first.getCircles().size(); i++) {
+            Circle a = first.getCircles().get(i);
+            Circle b = second.getCircles().get(i);
+            assertEquals(a.getX(), b.getX());
+            assertEquals(a.getY(), b.getY());
+            assertEquals(a.getRadius(), b.getRadius(), 0.0);
+        }
+    }
 }
@@ -61,4 +61,25 @@ public class HexagonTest {
         hexagon.setScale(10);
         assertEquals("Radius should be updated", 10, hexagon.radius, 0.0);
     }
+
+    @Test(timeout = 1000)
+    public void testRandomPositionInsideWithoutWholePixel() {
+        int[] position = new int[2];
+        hexagon.setScale(0);
+        for (int i = 0; i < 1000; i++) {
+            hexagon.randomPositionInside(position);
+        }
+        assertEquals("A point should still be returned for a hexagon with no area", 10, position[0]);
+        assertEquals(10, position[1]);
+    }
+
+    @Test
+    public void testRandomPositionInsideSmallHexagon() {
+        int[] position = new int[2];
+        hexagon.setScale(3);
+        for (int i = 0; i < 10000; i++) {
+            hexagon.randomPositionInside(position);
+            assertTrue("Point should be inside the small hexagon", hexagon.isPointInside(position[0], position[1]));
+        }
+    }
 }
@@ -107,6 +107,24 @@ public class TriangleTest {
         assertEquals("Radius should be updated", 10, triangle.radius, 0.0);
     }
 
-}
-
+    @Test(timeout = 1000)
+    public void testRandomPositionInsideWithoutWholePixel() {
+        int[] position = new int[2];
+        triangle.setScale(0);
+        for (int i = 0; i < 1000; i++) {
+            triangle.randomPositionInside(position);
+        }
+        assertEquals("A point should still be returned for a triangle with no area", 10, position[0]);
+        assertEquals(10, position[1]);
+    }
 
+    @Test
+    public void testRandomPositionInsideSmallTriangle() {
+        int[] position = new int[2];
+        triangle.setScale(3);
+        for (int i = 0; i < 10000; i++) {
+            triangle.randomPositionInside(position);
+            assertTrue("Point should be inside the small triangle", triangle.isPointInside(position[0], position[1]));
+        }
+    }
+}
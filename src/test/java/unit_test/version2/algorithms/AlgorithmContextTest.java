@@ -40,6 +40,16 @@ public class AlgorithmContextTest {
         assertTrue("drawPattern should call the strategy's drawPattern method", mockStrategy.isDrawCalled());
     }
 
+    @Test
+    public void testStreamPattern() {
+        MockAlgorithmStrategy mockStrategy = new MockAlgorithmStrategy();
+        AlgorithmContext context = AlgorithmContext.getAlgorithmContext();
+        context.setStrategy(mockStrategy);
+        context.streamPattern(null);
+        assertTrue("streamPattern should execute the strategy by default", mockStrategy.isExecuteCalled());
+        assertTrue("streamPattern should draw the strategy by default", mockStrategy.isDrawCalled());
+    }
+
     @Test
     public void testStrategyChange() {
         MockAlgorithmStrategy firstStrategy = new MockAlgorithmStrategy();
@@ -0,0 +1,161 @@
+package unit_test.version2.algorithms;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import version2.algorithms.ChaosGameAlgorithm;
+import version2.algorithms.SierpinskiShapeAlgorithm;
+import version2.parameters.CanvasParameters;
+import version2.parameters.ChaosGameAlgorithmParameters;
+import version2.parameters.ShapeParameters;
+import version2.parameters.SierpinskiShapeAlgorithmParameters;
+import version2.shapes.ShapeBuffer;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class ChaosGameAlgorithmTestStrategy {
+    CanvasParameters canvas;
+    ArrayList<ShapeParameters> shapes;
+    ChaosGameAlgorithmParameters algorithm;
+    ChaosGameAlgorithm test;
+
+    @Before
+    public void createTestInstance() {
+        canvas = new CanvasParameters(800, 800, Color.WHITE);
+        shapes = new ArrayList<>();
+        shapes.add(new ShapeParameters("square", 1, Color.BLACK, Color.WHITE));
+        algorithm = new ChaosGameAlgorithmParameters(400, 400, 300, 20000);
+        algorithm.setSeed(42);
+        test = new ChaosGameAlgorithm(canvas, shapes, algorithm);
+    }
+
+    private ChaosGameAlgorithm createTestInstanceWithShapeType(String shapeType) {
+        ArrayList<ShapeParameters> shapes = new ArrayList<>();
+        shapes.add(new ShapeParameters(shapeType, 1, Color.BLACK, Color.WHITE));
+        return new ChaosGameAlgorithm(canvas, shapes, algorithm);
+    }
+
+    private int totalDensity(ChaosGameAlgorithm chaosGame) {
+        int total = 0;
+        for (int y = 0; y < 800; y++) {
+            for (int x = 0; x < 800; x++) {
+                total += chaosGame.getDensity(x, y);
+            }
+        }
+        return total;
+    }
+
+    @Test
+    public void testEveryShapeTypePlotsEverySample() {
+        String[] shapeTypes = {"triangle", "circle", "square", "hexagon"};
+        algorithm.setCentreY(600);
+        algorithm.setPolygonSize(150);
+        for (String shapeType : shapeTypes) {
+            ChaosGameAlgorithm chaosGame = createTestInstanceWithShapeType(shapeType);
+            chaosGame.executeAlgorithm();
+            assertEquals("Every sample should land on the canvas for shape type: " + shapeType, 20000, totalDensity(chaosGame));
+        }
+    }
+
+    @Test
+    public void testInvalidShapeType() {
+        assertThrows(IllegalArgumentException.class, () -> createTestInstanceWithShapeType("invalidShape").executeAlgorithm());
+    }
+
+    @Test
+    public void testInvalidParametersPlotNothing() {
+        algorithm.setSamples(0);
+        test.executeAlgorithm();
+        assertEquals(0, test.getMaxDensity());
+    }
+
+    @Test
+    public void testSameSeedGivesSameDensity() {
+        test.executeAlgorithm();
+        ChaosGameAlgorithm other = new ChaosGameAlgorithm(canvas, shapes, algorithm);
+        other.executeAlgorithm();
+        for (int y = 0; y < 800; y++) {
+            for (int x = 0; x < 800; x++) {
+                assertEquals(test.getDensity(x, y), other.getDensity(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testCarpetLeavesCentreEmpty() {
+        test.executeAlgorithm();
+        for (int y = 400 - 95; y <= 400 + 95; y++) {
+            for (int x = 400 - 95; x <= 400 + 95; x++) {
+                assertEquals("No points should land in the hole of the carpet", 0, test.getDensity(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testPointsLieOnTheSierpinskiPattern() {
+        ArrayList<ShapeParameters> triangles = new ArrayList<>();
+        triangles.add(new ShapeParameters("triangle", 1, Color.BLACK, Color.WHITE));
+        SierpinskiShapeAlgorithm sierpinski = new SierpinskiShapeAlgorithm(canvas, triangles, new SierpinskiShapeAlgorithmParameters(400, 700, 200, 6));
+        sierpinski.executeAlgorithm();
+        ShapeBuffer leaves = sierpinski.getShapeBuffer();
+
+        algorithm.setCentreY(700);
+        algorithm.setPolygonSize(200);
+        ChaosGameAlgorithm chaosGame = createTestInstanceWithShapeType("triangle");
+        chaosGame.executeAlgorithm();
+
+        double leafRadius = 200 / Math.pow(2, 6);
+        double tolerance = leafRadius * 3 + 6 + 2;
+        for (int y = 0; y < 800; y++) {
+            for (int x = 0; x < 800; x++) {
+                if (chaosGame.getDensity(x, y) == 0) {
+                    continue;
+                }
+                double nearest = Double.MAX_VALUE;
+                for (int i = 0; i < leaves.size(); i++) {
+                    nearest = Math.min(nearest, Math.hypot(x - leaves.getX(i), y - leaves.getY(i)));
+                }
+                assertTrue("Every point should lie within a leaf of the tree", nearest <= tolerance);
+            }
+        }
+    }
+
+    @Test
+    public void testDrawPatternUsesLineColour() {
+        test.executeAlgorithm();
+        BufferedImage image = new BufferedImage(800, 800, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        test.drawPattern(g2d);
+        g2d.dispose();
+        assertEquals("The hole of the carpet should be the background colour", Color.WHITE.getRGB(), image.getRGB(400, 400));
+        boolean found = false;
+        for (int y = 0; y < 800 && !found; y++) {
+            for (int x = 0; x < 800 && !found; x++) {
+                found = test.getDensity(x, y) == test.getMaxDensity() && image.getRGB(x, y) == Color.BLACK.getRGB();
+            }
+        }
+        assertTrue("The densest pixel should be drawn in the line colour", found);
+    }
+
+    @Test
+    public void testSaveImage() {
+        test.executeAlgorithm();
+        String testFilePath = "test_chaos_game_algorithm.png";
+        test.saveImage(testFilePath);
+        File savedImage = new File(testFilePath);
+        assertTrue("Image file should be created", savedImage.exists() && !savedImage.isDirectory());
+    }
+
+    @After
+    public void cleanUp() {
+        File savedImage = new File("test_chaos_game_algorithm.png");
+        if (savedImage.exists()) {
+            savedImage.delete();
+        }
+    }
+}
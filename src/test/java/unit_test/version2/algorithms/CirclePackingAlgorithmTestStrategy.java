@@ -8,12 +8,15 @@ import version2.parameters.CirclePackingAlgorithmParameters;
 import version2.parameters.ShapeParameters;
 import version2.shapes.Circle;
 import version2.shapes.Hexagon;
+import version2.shapes.RasterRenderer;
 import version2.shapes.Square;
 import version2.shapes.Triangle;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -101,7 +104,7 @@ public class CirclePackingAlgorithmTestStrategy {
     public void testNoOverlappingCircles() {
         CirclePackingAlgorithm packing = createTestInstance();
         packing.addCircles();
-        ArrayList<Circle> circles = packing.getCircles();
+        List<Circle> circles = packing.getCircles();
         for (int i = 0; i < circles.size(); i++) {
             for (int j = i + 1; j < circles.size(); j++) {
                 assertFalse("Circles should not overlap", circles.get(i).overlaps(circles.get(j)));
@@ -109,6 +112,217 @@ public class CirclePackingAlgorithmTestStrategy {
         }
     }
 
+    @Test
+    public void testLinearIndexHasNoOverlappingCircles() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.getAlgorithmParameters().setIndexType("linear");
+        packing.addCircles();
+        List<Circle> circles = packing.getCircles();
+        for (int i = 0; i < circles.size(); i++) {
+            for (int j = i + 1; j < circles.size(); j++) {
+                assertFalse("Circles should not overlap", circles.get(i).overlaps(circles.get(j)));
+            }
+        }
+    }
+
+    @Test
+    public void testQuadtreeIndexInsideHexagon() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.setBoundaryShape("hexagon");
+        packing.getAlgorithmParameters().setMinRadius(1);
+        packing.getAlgorithmParameters().setIndexType("quadtree");
+        packing.addCircles();
+        List<Circle> circles = packing.getCircles();
+        assertFalse(circles.isEmpty());
+        for (int i = 0; i < circles.size(); i++) {
+            assertTrue(packing.getBoundaryShape().isInside(circles.get(i)));
+            for (int j = i + 1; j < circles.size(); j++) {
+                assertFalse("Circles should not overlap", circles.get(i).overlaps(circles.get(j)));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelModeHasNoOverlappingCircles() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.setBoundaryShape("triangle");
+        packing.getAlgorithmParameters().setMinRadius(1);
+        packing.getAlgorithmParameters().setMaxRadius(10);
+        packing.getAlgorithmParameters().setMaxAttempts(20000);
+        packing.getAlgorithmParameters().setParallel(true);
+        packing.addCircles();
+        List<Circle> circles = packing.getCircles();
+        assertFalse(circles.isEmpty());
+        for (int i = 0; i < circles.size(); i++) {
+            assertTrue(packing.getBoundaryShape().isInside(circles.get(i)));
+            for (int j = i + 1; j < circles.size(); j++) {
+                assertFalse("Circles should not overlap", circles.get(i).overlaps(circles.get(j)));
+            }
+        }
+    }
+
+    @Test
+    public void testSameSeedGivesSamePacking() {
+        CirclePackingAlgorithm first = createTestInstance();
+        first.getAlgorithmParameters().setSeed(42);
+        first.getAlgorithmParameters().setMaxAttempts(5000);
+        first.addCircles();
+        CirclePackingAlgorithm second = createTestInstance();
+        second.getAlgorithmParameters().setSeed(42);
+        second.getAlgorithmParameters().setMaxAttempts(5000);
+        second.addCircles();
+        assertPackingsEqual(first, second);
+    }
+
+    @Test
+    public void testParallelModeMatchesSequential() {
+        CirclePackingAlgorithm sequential = createTestInstance();
+        sequential.setBoundaryShape("hexagon");
+        sequential.getAlgorithmParameters().setMinRadius(1);
+        sequential.getAlgorithmParameters().setMaxAttempts(20000);
+        sequential.getAlgorithmParameters().setSeed(7);
+        sequential.addCircles();
+        CirclePackingAlgorithm parallel = createTestInstance();
+        parallel.setBoundaryShape("hexagon");
+        parallel.getAlgorithmParameters().setMinRadius(1);
+        parallel.getAlgorithmParameters().setMaxAttempts(20000);
+        parallel.getAlgorithmParameters().setSeed(7);
+        parallel.getAlgorithmParameters().setParallel(true);
+        parallel.addCircles();
+        assertPackingsEqual(sequential, parallel);
+    }
+
+    @Test
+    public void testOccupancySamplingSaturates() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.setBoundaryShape("triangle");
+        packing.getAlgorithmParameters().setMinRadius(4);
+        packing.getAlgorithmParameters().setMaxRadius(20);
+        packing.getAlgorithmParameters().setMaxAttempts(1000000);
+        packing.getAlgorithmParameters().setSamplingType("occupancy");
+        packing.getAlgorithmParameters().setSeed(3);
+        packing.addCircles();
+        assertTrue("Packing should stop once there is no free space", packing.isSaturated());
+        List<Circle> circles = packing.getCircles();
+        for (int i = 0; i < circles.size(); i++) {
+            assertTrue(packing.getBoundaryShape().isInside(circles.get(i)));
+            for (int j = i + 1; j < circles.size(); j++) {
+                assertFalse("Circles should not overlap", circles.get(i).overlaps(circles.get(j)));
+            }
+        }
+    }
+
+    @Test
+    public void testShapeSamplingIsNeverSaturated() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.addCircles();
+        assertFalse(packing.isSaturated());
+        assertNull(packing.getOccupancyGrid());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSamplingType() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.getAlgorithmParameters().setSamplingType("invalid");
+        packing.addCircles();
+    }
+
+    @Test
+    public void testMaximalPlacementFillsGaps() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.setBoundaryShape("hexagon");
+        packing.getAlgorithmParameters().setMinRadius(2);
+        packing.getAlgorithmParameters().setMaxRadius(40);
+        packing.getAlgorithmParameters().setMaxAttempts(5000);
+        packing.getAlgorithmParameters().setPlacementMode("maximal");
+        packing.addCircles();
+        List<Circle> circles = packing.getCircles();
+        assertFalse(circles.isEmpty());
+        for (int i = 0; i < circles.size(); i++) {
+            Circle circle = circles.get(i);
+            assertTrue(packing.getBoundaryShape().isInside(circle));
+            assertTrue(circle.getRadius() >= 2 && circle.getRadius() <= 40);
+            for (int j = i + 1; j < circles.size(); j++) {
+                assertFalse("Circles should not overlap", circle.overlaps(circles.get(j)));
+            }
+        }
+    }
+
+    @Test
+    public void testMaximalPlacementIsDenser() {
+        CirclePackingAlgorithm random = createTestInstance();
+        random.getAlgorithmParameters().setMaxAttempts(3000);
+        random.getAlgorithmParameters().setSeed(11);
+        random.addCircles();
+        CirclePackingAlgorithm maximal = createTestInstance();
+        maximal.getAlgorithmParameters().setMaxAttempts(3000);
+        maximal.getAlgorithmParameters().setSeed(11);
+        maximal.getAlgorithmParameters().setPlacementMode("maximal");
+        maximal.addCircles();
+        assertTrue("Growing each circle to fit should cover more of the boundary", coveredArea(maximal) > coveredArea(random));
+    }
+
+    @Test
+    public void testParallelMaximalPlacementMatchesSequential() {
+        CirclePackingAlgorithm sequential = createTestInstance();
+        sequential.setBoundaryShape("triangle");
+        sequential.getAlgorithmParameters().setMinRadius(1);
+        sequential.getAlgorithmParameters().setMaxAttempts(20000);
+        sequential.getAlgorithmParameters().setSeed(5);
+        sequential.getAlgorithmParameters().setPlacementMode("maximal");
+        sequential.addCircles();
+        CirclePackingAlgorithm parallel = createTestInstance();
+        parallel.setBoundaryShape("triangle");
+        parallel.getAlgorithmParameters().setMinRadius(1);
+        parallel.getAlgorithmParameters().setMaxAttempts(20000);
+        parallel.getAlgorithmParameters().setSeed(5);
+        parallel.getAlgorithmParameters().setPlacementMode("maximal");
+        parallel.getAlgorithmParameters().setParallel(true);
+        parallel.addCircles();
+        assertPackingsEqual(sequential, parallel);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPlacementMode() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.getAlgorithmParameters().setPlacementMode("invalid");
+        packing.addCircles();
+    }
+
+    private double coveredArea(CirclePackingAlgorithm packing) {
+        double area = 0;
+        for (Circle circle : packing.getCircles()) {
+            area += Math.PI * circle.getRadius() * circle.getRadius();
+        }
+        return area;
+    }
+
+    private void assertPackingsEqual(CirclePackingAlgorithm first, CirclePackingAlgorithm second) {
+        List<Circle> expected = first.getCircles();
+        List<Circle> actual = second.getCircles();
+        assertEquals("Packings should have the same number of circles", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Circles should be in the same place", expected.get(i).getCenterX(), actual.get(i).getCenterX());
+            assertEquals("Circles should be in the same place", expected.get(i).getCenterY(), actual.get(i).getCenterY());
+            assertEquals("Circles should be the same size", expected.get(i).getRadius(), actual.get(i).getRadius(), 0.0);
+        }
+    }
+
+    @Test
+    public void testChangingIndexTypeKeepsCircles() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.addCircles();
+        packing.getAlgorithmParameters().setIndexType("linear");
+        assertEquals("Index should be rebuilt with the placed circles", packing.getCircles().size(), packing.getCircleIndex().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidIndexType() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.getAlgorithmParameters().setIndexType("invalidType");
+        packing.addCircles();
+    }
+
     @Test
     public void testCircleRadiusConstraints() {
         CirclePackingAlgorithm packing = createTestInstance();
@@ -138,6 +352,37 @@ public class CirclePackingAlgorithmTestStrategy {
         assertTrue(packing.getBoundaryShape().isInside(lastAddedCircle));
     }
 
+    @Test
+    public void testIncrementalDrawingMatchesFullDrawing() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        algorithm.setSeed(42);
+        BufferedImage incremental = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D incrementalGraphics = incremental.createGraphics();
+        packing.drawBoundary(incrementalGraphics);
+        int drawn = 0;
+        for (int i = 0; i < 3; i++) {
+            packing.addCircles();
+            Rectangle changed = packing.drawCircles(incrementalGraphics, drawn);
+            for (int id = drawn; id < packing.getCircleBuffer().size(); id++) {
+                assertTrue("The changed area should cover every new circle", changed.contains(
+                        packing.getCircleBuffer().getX(id), packing.getCircleBuffer().getY(id)));
+            }
+            drawn = packing.getCircleBuffer().size();
+        }
+        incrementalGraphics.dispose();
+        assertNull("Nothing should change when there are no new circles", packing.drawCircles(incremental.createGraphics(), drawn));
+
+        BufferedImage full = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D fullGraphics = full.createGraphics();
+        packing.drawPattern(fullGraphics);
+        fullGraphics.dispose();
+        for (int y = 0; y < 500; y++) {
+            for (int x = 0; x < 500; x++) {
+                assertEquals("Drawing only new circles should give the same image", full.getRGB(x, y), incremental.getRGB(x, y));
+            }
+        }
+    }
+
     @Test
     public void testSaveImage() {
         CirclePackingAlgorithm packing = createTestInstance();
@@ -149,6 +394,33 @@ public class CirclePackingAlgorithmTestStrategy {
         assertTrue("Image file should be created", savedImage.exists() && !savedImage.isDirectory());
     }
 
+    private static int countDifferentPixels(BufferedImage expected, BufferedImage actual) {
+        int different = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    different++;
+                }
+            }
+        }
+        return different;
+    }
+
+    @Test
+    public void testRasterRendererOnlyDiffersAlongEdges() {
+        CirclePackingAlgorithm packing = createTestInstance();
+        packing.executeAlgorithm();
+        BufferedImage expected = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = expected.createGraphics();
+        packing.drawPattern(g2d);
+        g2d.dispose();
+
+        BufferedImage actual = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        packing.drawPattern(new RasterRenderer(actual, false));
+        assertTrue("The raster renderer should only differ from graphics along the edges of the circles",
+                countDifferentPixels(expected, actual) < 500 * 500 / 50);
+    }
+
     @After
     public void cleanUp() {
         String testFilePath = "test_circle_packing_algorithm.png";
@@ -10,8 +10,10 @@ import version2.parameters.ShapeParameters;
 import version2.shapes.*;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -106,6 +108,221 @@ public class RecursiveShapeAlgorithmTestStrategy {
         assertEquals("Expected "+ expectedNumberOfShapes +"number of large shapes, but have " + test.getShapesToDraw().size()+" instead.",expectedNumberOfShapes, test.getShapesToDraw().size());
     }
 
+    @Test
+    public void testLevelOfDetailStopsSubdividing() {
+        algorithm.setDepth(6);
+        algorithm.setNumShapes(6);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        int fullCount = test.getShapesToDraw().size();
+
+        algorithm.setLodThreshold(30);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        assertTrue("Parts of the pattern below the threshold should be replaced by fewer shapes", test.getShapesToDraw().size() < fullCount / 10);
+        assertTrue("Skipped parts of the pattern should be filled with a circle", test.getShapesToDraw().stream().anyMatch(shape -> shape instanceof Circle));
+    }
+
+    private static double[] averageColour(RecursiveShapeAlgorithm pattern) {
+        BufferedImage image = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        pattern.drawPattern(g2d);
+        g2d.dispose();
+        double[] average = new double[3];
+        for (int y = 0; y < 500; y++) {
+            for (int x = 0; x < 500; x++) {
+                int rgb = image.getRGB(x, y);
+                average[0] += ((rgb >> 16) & 0xFF) / (500.0 * 500);
+                average[1] += ((rgb >> 8) & 0xFF) / (500.0 * 500);
+                average[2] += (rgb & 0xFF) / (500.0 * 500);
+            }
+        }
+        return average;
+    }
+
+    @Test
+    public void testLevelOfDetailKeepsAverageColour() {
+        shapes.set(1, new ShapeParameters("triangle", 2, Color.RED, Color.YELLOW));
+        algorithm.setDepth(6);
+        algorithm.setNumShapes(6);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        double[] expected = averageColour(test);
+
+        algorithm.setLodThreshold(30);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        double[] actual = averageColour(test);
+        for (int channel = 0; channel < 3; channel++) {
+            assertEquals("Level of detail should keep the average colour of the pattern", expected[channel], actual[channel], 20);
+        }
+    }
+
+    @Test
+    public void testPatternOutsideTheViewportIsEmpty() {
+        algorithm.setCenterX(-1000);
+        algorithm.setCenterY(-1000);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        assertTrue("Nothing should be generated for a pattern off the canvas", test.getShapesToDraw().isEmpty());
+    }
+
+    @Test
+    public void testPartialViewportCullsShapes() {
+        algorithm.setDepth(4);
+        algorithm.setNumShapes(6);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        int fullCount = test.getShapesToDraw().size();
+
+        canvas.setViewport(new Rectangle(0, 0, 250, 250));
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        int culledCount = test.getShapesToDraw().size();
+        assertTrue("Fewer shapes should be generated for a smaller viewport", culledCount < fullCount);
+        assertTrue("Shapes inside the viewport should still be generated", culledCount > 0);
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        algorithm.setDepth(5);
+        algorithm.setNumShapes(6);
+        algorithm.setLodThreshold(4);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        BufferedImage expected = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D expectedGraphics = expected.createGraphics();
+        test.drawPattern(expectedGraphics);
+        expectedGraphics.dispose();
+
+        algorithm.setParallel(true);
+        RecursiveShapeAlgorithm parallel = createTestInstanceWithUpdatedParameters();
+        parallel.executeAlgorithm();
+        assertEquals("Parallel and sequential patterns should have the same shapes", test.getShapesToDraw().size(), parallel.getShapesToDraw().size());
+        for (int i = 0; i < test.getShapesToDraw().size(); i++) {
+            assertEquals(test.getShapesToDraw().get(i).getClass(), parallel.getShapesToDraw().get(i).getClass());
+            assertSame(test.getShapesToDraw().get(i).getParameters().getShapeType(), parallel.getShapesToDraw().get(i).getParameters().getShapeType());
+        }
+        BufferedImage actual = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D actualGraphics = actual.createGraphics();
+        parallel.drawPattern(actualGraphics);
+        actualGraphics.dispose();
+        for (int y = 0; y < 500; y++) {
+            for (int x = 0; x < 500; x++) {
+                assertEquals("Parallel pattern should match the sequential pattern", expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    private static int[] centreAndSize(version2.shapes.Shape shape) {
+        if (shape instanceof Square square) {
+            return new int[]{square.getCenterX(), square.getCenterY(), (int) square.getRadius()};
+        }
+        if (shape instanceof Triangle triangle) {
+            return new int[]{triangle.getCenterX(), triangle.getCenterY(), (int) triangle.getRadius()};
+        }
+        throw new IllegalArgumentException("Unexpected shape: " + shape);
+    }
+
+    private void addReferencePattern(List<int[]> expected, int x, int y, int size, int depth, int numShapes) {
+        if (depth == 0) return;
+        expected.add(new int[]{x, y, size});
+        double angleStep = Math.PI * 2 / numShapes;
+        int smallerSize = (int) (size * Math.sin(angleStep / 2));
+        for (int i = 0; i < numShapes; i++) {
+            int newX = x + (int) (size * Math.cos(i * angleStep));
+            int newY = y + (int) (size * Math.sin(i * angleStep));
+            expected.add(new int[]{newX, newY, smallerSize});
+            addReferencePattern(expected, newX, newY, smallerSize, depth - 1, numShapes);
+        }
+    }
+
+    @Test
+    public void testCachedPatternMatchesRecursion() {
+        algorithm.setDepth(4);
+        algorithm.setNumShapes(6);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        List<int[]> expected = new ArrayList<>();
+        addReferencePattern(expected, 250, 250, 100, 4, 6);
+        assertEquals(expected.size(), test.getShapesToDraw().size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals("Shape " + i + " should match the recursion", expected.get(i), centreAndSize(test.getShapesToDraw().get(i)));
+        }
+    }
+
+    @Test
+    public void testWholePatternIsNotKeptAsATemplate() {
+        algorithm.setDepth(4);
+        algorithm.setNumShapes(6);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        assertTrue("Only the parts around the small shapes should be kept as templates",
+                test.getTemplateShapeCount() < test.getShapesToDraw().size() / 2);
+    }
+
+    @Test
+    public void testTemplatesAreBoundedByShapeCount() {
+        algorithm.setDepth(7);
+        algorithm.setNumShapes(5);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        assertTrue("Templates should hold a bounded number of shapes", test.getTemplateShapeCount() <= 1 << 16);
+        List<int[]> expected = new ArrayList<>();
+        addReferencePattern(expected, 250, 250, 100, 7, 5);
+        assertEquals(expected.size(), test.getShapesToDraw().size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals("Shape " + i + " should match the recursion", expected.get(i), centreAndSize(test.getShapesToDraw().get(i)));
+        }
+    }
+
+    @Test
+    public void testRepeatedPatternsAreTheSame() {
+        algorithm.setDepth(4);
+        algorithm.setNumShapes(6);
+        test = createTestInstanceWithUpdatedParameters();
+        test.addPattern(250, 250, 100, 4);
+        int firstCount = test.getShapesToDraw().size();
+        test.addPattern(200, 240, 100, 4);
+        assertEquals("A repeated pattern should have the same shapes", firstCount * 2, test.getShapesToDraw().size());
+        for (int i = 0; i < firstCount; i++) {
+            int[] first = centreAndSize(test.getShapesToDraw().get(i));
+            int[] second = centreAndSize(test.getShapesToDraw().get(firstCount + i));
+            assertArrayEquals("A repeated pattern should only be moved", new int[]{first[0] - 50, first[1] - 10, first[2]}, second);
+        }
+
+        algorithm.setNumShapes(5);
+        RecursiveShapeAlgorithm changed = createTestInstanceWithUpdatedParameters();
+        changed.addPattern(250, 250, 100, 4);
+        test.addPattern(250, 250, 100, 4);
+        assertEquals("Changing the number of shapes should not reuse the old pattern", changed.getShapesToDraw().size(), test.getShapesToDraw().size() - firstCount * 2);
+    }
+
+    @Test
+    public void testPartialViewportDrawsTheSameVisiblePixels() {
+        algorithm.setDepth(4);
+        algorithm.setNumShapes(6);
+        test = createTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        BufferedImage full = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D fullGraphics = full.createGraphics();
+        test.drawPattern(fullGraphics);
+        fullGraphics.dispose();
+
+        canvas.setViewport(new Rectangle(0, 0, 250, 250));
+        RecursiveShapeAlgorithm culled = createTestInstanceWithUpdatedParameters();
+        culled.executeAlgorithm();
+        BufferedImage partial = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D partialGraphics = partial.createGraphics();
+        culled.drawPattern(partialGraphics);
+        partialGraphics.dispose();
+        for (int y = 0; y < 250; y++) {
+            for (int x = 0; x < 250; x++) {
+                assertEquals("Pixels inside the viewport should not change", full.getRGB(x, y), partial.getRGB(x, y));
+            }
+        }
+    }
+
     @Test
     public void testNumberOfLargeShapes() {
         algorithm.setDepth(1);
@@ -142,6 +359,39 @@ public class RecursiveShapeAlgorithmTestStrategy {
         assertTrue("Image file should be created", savedImage.exists() && !savedImage.isDirectory());
     }
 
+    private static int countDifferentPixels(BufferedImage expected, BufferedImage actual) {
+        int different = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    different++;
+                }
+            }
+        }
+        return different;
+    }
+
+    @Test
+    public void testRasterRendererOnlyDiffersAlongEdges() {
+        test.executeAlgorithm();
+        BufferedImage expected = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = expected.createGraphics();
+        test.drawPattern(g2d);
+        g2d.dispose();
+
+        BufferedImage actual = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        test.drawPattern(new RasterRenderer(actual, false));
+        assertTrue("The raster renderer should only differ from graphics along the edges of the triangles",
+                countDifferentPixels(expected, actual) < 500 * 500 / 20);
+    }
+
+    @Test
+    public void testSaveImageWithRasterRenderer() {
+        canvas.setRenderer("raster");
+        canvas.setAntialiased(true);
+        testSaveImage();
+    }
+
     @After
     public void cleanUp() {
         String testFilePath = "test_recursive_shape_algorithm.png";
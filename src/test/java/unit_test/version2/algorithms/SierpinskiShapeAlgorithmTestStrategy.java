@@ -7,14 +7,21 @@ import version2.algorithms.SierpinskiShapeAlgorithm;
 import version2.parameters.CanvasParameters;
 import version2.parameters.ShapeParameters;
 import version2.parameters.SierpinskiShapeAlgorithmParameters;
+import version2.shapes.RasterRenderer;
+import version2.shapes.ShapeBuffer;
+import version2.shapes.ShapeSink;
+import version2.shapes.Square;
+import version2.shapes.Triangle;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
 
 import static org.junit.Assert.*;
 
 public class SierpinskiShapeAlgorithmTestStrategy {
+    private static final Rectangle WHOLE_PATTERN = new Rectangle(-2000, -2000, 4800, 4800);
     CanvasParameters canvas;
     ArrayList<ShapeParameters> shapes;
     SierpinskiShapeAlgorithmParameters algorithm;
@@ -23,6 +30,7 @@ public class SierpinskiShapeAlgorithmTestStrategy {
     @Before
     public void createTestInstance() {
         canvas = new CanvasParameters(800, 800, Color.WHITE);
+        canvas.setViewport(WHOLE_PATTERN);
         shapes = new ArrayList<>();
         shapes.add(new ShapeParameters("triangle", 0.1f, Color.BLACK, Color.WHITE));
         algorithm = new SierpinskiShapeAlgorithmParameters(400, 1200, 400, 5);
@@ -32,7 +40,11 @@ public class SierpinskiShapeAlgorithmTestStrategy {
         test = new SierpinskiShapeAlgorithm(canvas, shapes, algorithm);
     }
     private SierpinskiShapeAlgorithm createTestInstanceWithShapeType(String shapeType) {
+        return createTestInstanceWithShapeType(shapeType, WHOLE_PATTERN);
+    }
+    private SierpinskiShapeAlgorithm createTestInstanceWithShapeType(String shapeType, Rectangle viewport) {
         CanvasParameters canvas = new CanvasParameters(800, 800, Color.WHITE);
+        canvas.setViewport(viewport);
         ArrayList<ShapeParameters> shapes = new ArrayList<>();
         shapes.add(new ShapeParameters(shapeType, 0.1f, Color.BLACK, Color.WHITE));
         SierpinskiShapeAlgorithmParameters algorithm = new SierpinskiShapeAlgorithmParameters(400, 1200, 400, 5);
@@ -61,6 +73,268 @@ public class SierpinskiShapeAlgorithmTestStrategy {
         assertFalse(test.validateParameters());
     }
 
+    @Test
+    public void testShapeCountForEachShapeType() {
+        String[] shapeTypes = {"triangle", "circle", "square", "hexagon"};
+        int[] expectedCounts = {243, 121, 32768, 16807};
+        for (int i = 0; i < shapeTypes.length; i++) {
+            SierpinskiShapeAlgorithm sierpinski = createTestInstanceWithShapeType(shapeTypes[i]);
+            sierpinski.executeAlgorithm();
+            assertEquals("Unexpected number of shapes for shape type: " + shapeTypes[i], expectedCounts[i], sierpinski.getShapeBuffer().size());
+        }
+    }
+
+    @Test
+    public void testTrianglesMatchRecursiveWalk() {
+        test.executeAlgorithm();
+        ShapeBuffer expected = new ShapeBuffer();
+        addSierpinski(expected, new Triangle(400, 1200, 400), 5);
+        assertBuffersEqual(expected, test.getShapeBuffer());
+    }
+
+    @Test
+    public void testCarpetMatchesRecursiveWalk() {
+        SierpinskiShapeAlgorithm sierpinski = createTestInstanceWithShapeType("square");
+        sierpinski.executeAlgorithm();
+        ShapeBuffer expected = new ShapeBuffer();
+        addCarpet(expected, new Square(400, 1200, 400), 5);
+        assertBuffersEqual(expected, sierpinski.getShapeBuffer());
+    }
+
+    @Test
+    public void testGenerateDoesNotKeepShapes() {
+        String[] shapeTypes = {"triangle", "circle", "square", "hexagon"};
+        for (String shapeType : shapeTypes) {
+            SierpinskiShapeAlgorithm sierpinski = createTestInstanceWithShapeType(shapeType);
+            int[] count = new int[1];
+            sierpinski.generate((x, y, size) -> count[0]++);
+            sierpinski.executeAlgorithm();
+            assertEquals("Streamed and kept patterns should have the same shapes for shape type: " + shapeType, sierpinski.getShapeBuffer().size(), count[0]);
+        }
+        test.generate((x, y, size) -> { });
+        assertEquals("Generating into a sink should not keep any shapes", 0, test.getShapeBuffer().size());
+    }
+
+    @Test
+    public void testStreamPatternMatchesDrawPattern() {
+        BufferedImage drawn = new BufferedImage(800, 800, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D drawnGraphics = drawn.createGraphics();
+        test.executeAlgorithm();
+        test.drawPattern(drawnGraphics);
+        drawnGraphics.dispose();
+
+        BufferedImage streamed = new BufferedImage(800, 800, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D streamedGraphics = streamed.createGraphics();
+        new SierpinskiShapeAlgorithm(canvas, shapes, algorithm).streamPattern(streamedGraphics);
+        streamedGraphics.dispose();
+
+        for (int y = 0; y < 800; y++) {
+            for (int x = 0; x < 800; x++) {
+                assertEquals("Streamed pattern should match the drawn pattern", drawn.getRGB(x, y), streamed.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testLevelOfDetailStopsSubdividing() {
+        String[] shapeTypes = {"triangle", "circle", "square", "hexagon"};
+        for (String shapeType : shapeTypes) {
+            SierpinskiShapeAlgorithm full = createTestInstanceWithShapeType(shapeType);
+            full.executeAlgorithm();
+            SierpinskiShapeAlgorithm culled = createTestInstanceWithShapeType(shapeType);
+            culled.getAlgorithmParameters().setLodThreshold(120);
+            culled.executeAlgorithm();
+            assertTrue("Fewer shapes should be generated below the threshold for shape type: " + shapeType, culled.getShapeBuffer().size() < full.getShapeBuffer().size());
+        }
+    }
+
+    @Test
+    public void testLevelOfDetailCoverage() {
+        SierpinskiShapeAlgorithm carpet = createTestInstanceWithShapeType("square");
+        carpet.getAlgorithmParameters().setLodThreshold(100);
+        double[] coverage = new double[1];
+        int[] shapes = new int[1];
+        carpet.generate(new ShapeSink() {
+            @Override
+            public void emit(int x, int y, double size) {
+                shapes[0]++;
+            }
+
+            @Override
+            public void emitCoverage(int x, int y, double size, double fraction, double detail) {
+                coverage[0] = fraction;
+            }
+        });
+        assertEquals("Only coverage fills should be passed when every square is below the threshold", 0, shapes[0]);
+        assertEquals("A carpet square three levels from the bottom covers (8/9)^3", Math.pow(8.0 / 9, 3), coverage[0], 1e-12);
+    }
+
+    private static double[] averageColour(SierpinskiShapeAlgorithm sierpinski) {
+        BufferedImage image = new BufferedImage(800, 800, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        sierpinski.streamPattern(g2d);
+        g2d.dispose();
+        double[] average = new double[3];
+        for (int y = 0; y < 800; y++) {
+            for (int x = 0; x < 800; x++) {
+                int rgb = image.getRGB(x, y);
+                average[0] += ((rgb >> 16) & 0xFF) / (800.0 * 800);
+                average[1] += ((rgb >> 8) & 0xFF) / (800.0 * 800);
+                average[2] += (rgb & 0xFF) / (800.0 * 800);
+            }
+        }
+        return average;
+    }
+
+    @Test
+    public void testLevelOfDetailKeepsAverageColour() {
+        String[] shapeTypes = {"triangle", "square", "hexagon"};
+        int[] centreYs = {1200, 400, 400};
+        int[] depths = {7, 5, 5};
+        for (int i = 0; i < shapeTypes.length; i++) {
+            SierpinskiShapeAlgorithm full = createTestInstanceWithShapeType(shapeTypes[i], null);
+            full.getAlgorithmParameters().setCentreY(centreYs[i]);
+            full.getAlgorithmParameters().setDepth(depths[i]);
+            SierpinskiShapeAlgorithm detailed = createTestInstanceWithShapeType(shapeTypes[i], null);
+            detailed.getAlgorithmParameters().setCentreY(centreYs[i]);
+            detailed.getAlgorithmParameters().setDepth(depths[i]);
+            detailed.getAlgorithmParameters().setLodThreshold(30);
+            double[] expected = averageColour(full);
+            double[] actual = averageColour(detailed);
+            for (int channel = 0; channel < 3; channel++) {
+                assertEquals("Level of detail should keep the average colour for shape type: " + shapeTypes[i], expected[channel], actual[channel], 15);
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultLevelOfDetailIsOff() {
+        assertEquals(0, test.getAlgorithmParameters().getLodThreshold(), 0.0);
+    }
+
+    @Test
+    public void testShapesOutsideTheViewportAreCulled() {
+        String[] shapeTypes = {"triangle", "circle", "square", "hexagon"};
+        for (String shapeType : shapeTypes) {
+            SierpinskiShapeAlgorithm full = createTestInstanceWithShapeType(shapeType);
+            full.getAlgorithmParameters().setCentreX(1);
+            full.getAlgorithmParameters().setCentreY(1000);
+            full.executeAlgorithm();
+            SierpinskiShapeAlgorithm culled = createTestInstanceWithShapeType(shapeType, null);
+            culled.getAlgorithmParameters().setCentreX(1);
+            culled.getAlgorithmParameters().setCentreY(1000);
+            culled.executeAlgorithm();
+            assertTrue("Fewer shapes should be generated inside the canvas for shape type: " + shapeType, culled.getShapeBuffer().size() < full.getShapeBuffer().size());
+            assertTrue("Shapes on the canvas should still be generated for shape type: " + shapeType, culled.getShapeBuffer().size() > 0);
+        }
+    }
+
+    @Test
+    public void testCullingKeepsVisibleShapes() {
+        algorithm.setCentreX(1);
+        algorithm.setCentreY(1000);
+        refreshTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        canvas.setViewport(null);
+        SierpinskiShapeAlgorithm culled = new SierpinskiShapeAlgorithm(canvas, shapes, algorithm);
+        culled.executeAlgorithm();
+        int visible = 0;
+        for (int i = 0; i < test.getShapeBuffer().size(); i++) {
+            int x = test.getShapeBuffer().getX(i);
+            int y = test.getShapeBuffer().getY(i);
+            float size = test.getShapeBuffer().getSize(i);
+            if (x + size >= 0 && y + size >= 0 && x - size <= 800 && y - size <= 800) {
+                visible++;
+            }
+        }
+        assertTrue("Part of the pattern should reach the canvas", visible > 0);
+        assertTrue("Every shape reaching the canvas should be kept", culled.getShapeBuffer().size() >= visible);
+        assertTrue("Shapes off the canvas should be culled", culled.getShapeBuffer().size() < test.getShapeBuffer().size());
+    }
+
+    @Test
+    public void testPatternOutsideTheViewportIsEmpty() {
+        algorithm = new SierpinskiShapeAlgorithmParameters(5000, 5000, 400, 5);
+        canvas.setViewport(null);
+        refreshTestInstanceWithUpdatedParameters();
+        test.executeAlgorithm();
+        assertEquals("Nothing should be generated for a pattern off the canvas", 0, test.getShapeBuffer().size());
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        String[] shapeTypes = {"triangle", "circle", "square", "hexagon"};
+        int[] depths = {8, 8, 5, 5};
+        for (int i = 0; i < shapeTypes.length; i++) {
+            SierpinskiShapeAlgorithm sequential = createTestInstanceWithShapeType(shapeTypes[i]);
+            sequential.getAlgorithmParameters().setDepth(depths[i]);
+            sequential.executeAlgorithm();
+            SierpinskiShapeAlgorithm parallel = createTestInstanceWithShapeType(shapeTypes[i]);
+            parallel.getAlgorithmParameters().setDepth(depths[i]);
+            parallel.getAlgorithmParameters().setParallel(true);
+            parallel.executeAlgorithm();
+            assertBuffersEqual(sequential.getShapeBuffer(), parallel.getShapeBuffer());
+        }
+    }
+
+    @Test
+    public void testParallelStreamedImageMatchesSequential() {
+        SierpinskiShapeAlgorithm sequential = createTestInstanceWithShapeType("square", null);
+        sequential.getAlgorithmParameters().setLodThreshold(10);
+        BufferedImage expected = new BufferedImage(800, 800, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D expectedGraphics = expected.createGraphics();
+        sequential.streamPattern(expectedGraphics);
+        expectedGraphics.dispose();
+
+        SierpinskiShapeAlgorithm parallel = createTestInstanceWithShapeType("square", null);
+        parallel.getAlgorithmParameters().setLodThreshold(10);
+        parallel.getAlgorithmParameters().setParallel(true);
+        BufferedImage actual = new BufferedImage(800, 800, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D actualGraphics = actual.createGraphics();
+        parallel.streamPattern(actualGraphics);
+        actualGraphics.dispose();
+
+        for (int y = 0; y < 800; y++) {
+            for (int x = 0; x < 800; x++) {
+                assertEquals("Parallel pattern should match the sequential pattern", expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    private void addSierpinski(ShapeBuffer buffer, Triangle triangle, int depth) {
+        if (depth == 0) {
+            buffer.add(triangle.getCenterX(), triangle.getCenterY(), (float) triangle.getRadius());
+            return;
+        }
+        double newRadius = triangle.getRadius() / 2;
+        addSierpinski(buffer, new Triangle(triangle.getX1(), triangle.getY1() - (int) newRadius, newRadius), depth - 1);
+        addSierpinski(buffer, new Triangle((triangle.getX1() + triangle.getX2()) / 2, (triangle.getY1() + triangle.getY2()) / 2 - (int) newRadius, newRadius), depth - 1);
+        addSierpinski(buffer, new Triangle((triangle.getX1() + triangle.getX3()) / 2, (triangle.getY1() + triangle.getY3()) / 2 - (int) newRadius, newRadius), depth - 1);
+    }
+
+    private void addCarpet(ShapeBuffer buffer, Square square, int depth) {
+        if (depth == 0) {
+            buffer.add(square.getCenterX(), square.getCenterY(), (float) square.getRadius());
+            return;
+        }
+        double newRadius = square.getRadius() / 3;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                if (row == 1 && col == 1) continue;
+                addCarpet(buffer, new Square((int) (square.getCenterX() + (col - 1) * newRadius * 2), (int) (square.getCenterY() + (row - 1) * newRadius * 2), newRadius), depth - 1);
+            }
+        }
+    }
+
+    private void assertBuffersEqual(ShapeBuffer expected, ShapeBuffer actual) {
+        assertEquals("Patterns should have the same number of shapes", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+            assertEquals(expected.getSize(i), actual.getSize(i), 0.0);
+        }
+    }
+
     @Test
     public void testSaveImage() {
         test.executeAlgorithm();
@@ -70,6 +344,34 @@ public class SierpinskiShapeAlgorithmTestStrategy {
         assertTrue("Image file should be created", savedImage.exists() && !savedImage.isDirectory());
     }
 
+    private static int countDifferentPixels(BufferedImage expected, BufferedImage actual) {
+        int different = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    different++;
+                }
+            }
+        }
+        return different;
+    }
+
+    @Test
+    public void testRasterRendererOnlyDiffersAlongEdges() {
+        for (String shapeType : new String[]{"triangle", "circle", "square", "hexagon"}) {
+            SierpinskiShapeAlgorithm sierpinski = createTestInstanceWithShapeType(shapeType);
+            BufferedImage expected = new BufferedImage(800, 800, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = expected.createGraphics();
+            sierpinski.streamPattern(g2d);
+            g2d.dispose();
+
+            BufferedImage actual = new BufferedImage(800, 800, BufferedImage.TYPE_INT_ARGB);
+            sierpinski.streamPattern(new RasterRenderer(actual, false));
+            assertTrue("The raster renderer should only differ from graphics along the edges of the " + shapeType + "s",
+                    countDifferentPixels(expected, actual) < 800 * 800 / 50);
+        }
+    }
+
     @After
     public void cleanUp() {
         String testFilePath = "test_sierpinski_shape_algorithm.png";
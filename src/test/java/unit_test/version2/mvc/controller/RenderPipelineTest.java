@@ -0,0 +1,229 @@
+package unit_test.version2.mvc.controller;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import version2.gui.controller.RenderPipeline;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class RenderPipelineTest {
+    private final List<Integer> shownColours = new CopyOnWriteArrayList<>();
+    private final AtomicReference<RuntimeException> error = new AtomicReference<>();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final List<Rectangle> changedAreas = new CopyOnWriteArrayList<>();
+    private volatile BufferedImage lastFrame;
+    private volatile boolean shownOnEventDispatchThread = true;
+    private RenderPipeline pipeline;
+
+    @Before
+    public void createPipeline() {
+        pipeline = new RenderPipeline(10, 10, (frame, changed) -> {
+            shownOnEventDispatchThread &= SwingUtilities.isEventDispatchThread();
+            shownColours.add(frame.getRGB(5, 5));
+            changedAreas.add(changed);
+            lastFrame = frame;
+        }, ex -> {
+            errors.incrementAndGet();
+            error.set(ex);
+        });
+    }
+
+    @After
+    public void shutdownPipeline() {
+        pipeline.shutdown();
+    }
+
+    private static void fill(Graphics2D g2d, Color colour) {
+        g2d.setColor(colour);
+        g2d.fillRect(0, 0, 10, 10);
+    }
+
+    private static void flushEventDispatchThread() throws Exception {
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    @Test
+    public void testRenderShowsFrameOnEventDispatchThread() throws Exception {
+        pipeline.render(g2d -> fill(g2d, Color.RED)).get(5, TimeUnit.SECONDS);
+        flushEventDispatchThread();
+        assertEquals(List.of(Color.RED.getRGB()), shownColours);
+        assertTrue("Frames should only be shown on the Event Dispatch Thread", shownOnEventDispatchThread);
+    }
+
+    @Test
+    public void testBuffersAreClearedBetweenFrames() throws Exception {
+        pipeline.render(g2d -> fill(g2d, Color.RED)).get(5, TimeUnit.SECONDS);
+        flushEventDispatchThread();
+        for (int i = 0; i < 3; i++) {
+            pipeline.render(g2d -> { }).get(5, TimeUnit.SECONDS);
+            flushEventDispatchThread();
+        }
+        assertEquals("A reused buffer should not keep an old frame", 0, (int) shownColours.get(shownColours.size() - 1));
+    }
+
+    @Test
+    public void testFramesAreDroppedWhileEventDispatchThreadIsBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        AtomicInteger steps = new AtomicInteger();
+        Color[] colours = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.MAGENTA};
+        pipeline.animate(0, () -> {
+            boolean running = steps.incrementAndGet() < colours.length;
+            if (!running) {
+                finished.countDown();
+            }
+            return running;
+        }, g2d -> fill(g2d, colours[steps.get() - 1]));
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        release.countDown();
+        flushEventDispatchThread();
+        assertEquals("Only the latest frame should be shown", List.of(Color.MAGENTA.getRGB()), shownColours);
+        assertEquals(colours.length - 1, pipeline.getDroppedFrames());
+    }
+
+    @Test
+    public void testCancelStopsAnimation() throws Exception {
+        AtomicInteger steps = new AtomicInteger();
+        pipeline.animate(5, () -> {
+            steps.incrementAndGet();
+            return true;
+        }, g2d -> fill(g2d, Color.RED));
+        Thread.sleep(50);
+        pipeline.cancel();
+        Thread.sleep(20);
+        int stepsAtCancel = steps.get();
+        Thread.sleep(100);
+        assertTrue("The animation should have run", stepsAtCancel > 0);
+        assertEquals("No steps should run after the animation is cancelled", stepsAtCancel, steps.get());
+    }
+
+    @Test
+    public void testIncrementalAnimationKeepsEveryChange() throws Exception {
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger steps = new AtomicInteger();
+        pipeline.animateIncremental(0, () -> {
+            boolean running = steps.incrementAndGet() < 10;
+            if (!running) {
+                finished.countDown();
+            }
+            return running;
+        }, g2d -> {
+            int step = steps.get() - 1;
+            g2d.setColor(Color.RED);
+            g2d.fillRect(step, step, 1, 1);
+            return new Rectangle(step, step, 1, 1);
+        });
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        flushEventDispatchThread();
+        assertEquals("The first frame should be repainted in full", new Rectangle(0, 0, 10, 10), changedAreas.get(0));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Every change should be in the last frame", Color.RED.getRGB(), lastFrame.getRGB(i, i));
+        }
+        assertEquals(0, lastFrame.getRGB(9, 0));
+        if (changedAreas.size() > 1) {
+            assertTrue("Later frames should only repaint what changed", changedAreas.get(changedAreas.size() - 1).contains(9, 9));
+            assertFalse(changedAreas.get(changedAreas.size() - 1).contains(0, 9));
+        }
+    }
+
+    @Test
+    public void testIncrementalAnimationSkipsUnchangedFrames() throws Exception {
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger steps = new AtomicInteger();
+        pipeline.animateIncremental(10, () -> {
+            boolean running = steps.incrementAndGet() < 3;
+            if (!running) {
+                finished.countDown();
+            }
+            return running;
+        }, g2d -> {
+            if (steps.get() == 1) {
+                g2d.setColor(Color.RED);
+                g2d.fillRect(0, 0, 10, 10);
+            }
+            return null;
+        });
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        flushEventDispatchThread();
+        assertEquals("Only the first frame should be shown", List.of(Color.RED.getRGB()), shownColours);
+    }
+
+    @Test
+    public void testErrorsAreReported() throws Exception {
+        pipeline.render(g2d -> {
+            throw new IllegalArgumentException("Invalid shape type: invalidShape");
+        }).get(5, TimeUnit.SECONDS);
+        flushEventDispatchThread();
+        assertNotNull(error.get());
+        assertEquals("Invalid shape type: invalidShape", error.get().getMessage());
+        assertTrue("A failed frame should not be shown", shownColours.isEmpty());
+    }
+
+    @Test
+    public void testAnimationErrorsAreReportedOnce() throws Exception {
+        AtomicInteger steps = new AtomicInteger();
+        pipeline.animate(5, () -> {
+            steps.incrementAndGet();
+            return true;
+        }, g2d -> {
+            throw new IllegalArgumentException("Invalid shape type: invalidShape");
+        });
+        Thread.sleep(100);
+        flushEventDispatchThread();
+        assertEquals("Invalid shape type: invalidShape", error.get().getMessage());
+        assertEquals("The error should only be reported once", 1, errors.get());
+        assertEquals("No steps should run after a frame fails", 1, steps.get());
+        assertTrue("A failed frame should not be shown", shownColours.isEmpty());
+    }
+
+    @Test
+    public void testIncrementalAnimationStopsAfterFailedFirstFrame() throws Exception {
+        AtomicInteger steps = new AtomicInteger();
+        pipeline.animateIncremental(5, () -> {
+            steps.incrementAndGet();
+            return true;
+        }, g2d -> {
+            g2d.setColor(Color.RED);
+            g2d.fillRect(0, 0, 10, 10);
+            throw new IllegalArgumentException("Invalid shape type: invalidShape");
+        });
+        Thread.sleep(100);
+        flushEventDispatchThread();
+        assertEquals("Invalid shape type: invalidShape", error.get().getMessage());
+        assertEquals("No steps should run after a frame fails", 1, steps.get());
+        assertEquals(1, errors.get());
+        assertTrue("A failed frame should not be shown", shownColours.isEmpty());
+
+        CountDownLatch finished = new CountDownLatch(1);
+        pipeline.animateIncremental(0, () -> {
+            finished.countDown();
+            return false;
+        }, g2d -> new Rectangle(9, 9, 1, 1));
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        flushEventDispatchThread();
+        assertEquals("The next animation should start from a cleared frame", List.of(0), shownColours);
+        assertEquals("The first frame should be repainted in full", new Rectangle(0, 0, 10, 10), changedAreas.get(0));
+    }
+}
@@ -49,4 +49,74 @@ public class CanvasParametersTest {
         params = new CanvasParameters(100, 200, null);
         assertFalse(params.validateParameters());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testViewportDefaultsToTheCanvas() {
+        CanvasParameters params = new CanvasParameters(100, 200, Color.WHITE);
+        assertEquals(new Rectangle(0, 0, 200, 100), params.getViewport());
+    }
+
+    @Test
+    public void testSetViewport() {
+        CanvasParameters params = new CanvasParameters(100, 200, Color.WHITE);
+        Rectangle viewport = new Rectangle(10, 20, 30, 40);
+        params.setViewport(viewport);
+        viewport.width = 0;
+        assertEquals(new Rectangle(10, 20, 30, 40), params.getViewport());
+
+        params.getViewport().width = 0;
+        assertEquals("The viewport should not be changed through its getter", 30, params.getViewport().width);
+
+        params.setViewport(null);
+        assertEquals(new Rectangle(0, 0, 200, 100), params.getViewport());
+    }
+
+    @Test
+    public void testValidateViewport() {
+        CanvasParameters params = new CanvasParameters(100, 200, Color.WHITE);
+        params.setViewport(new Rectangle(0, 0, 0, 40));
+        assertFalse(params.validateParameters());
+
+        params.setViewport(new Rectangle(-50, -50, 10, 10));
+        assertTrue("Viewports can start outside the canvas", params.validateParameters());
+    }
+
+    @Test
+    public void testRendererDefaultsToJava2d() {
+        CanvasParameters params = new CanvasParameters(100, 200, Color.WHITE);
+        assertEquals("java2d", params.getRenderer());
+        assertFalse(params.isAntialiased());
+    }
+
+    @Test
+    public void testValidateRenderer() {
+        CanvasParameters params = new CanvasParameters(100, 200, Color.WHITE);
+        params.setRenderer("raster");
+        params.setAntialiased(true);
+        assertTrue(params.validateParameters());
+        assertEquals("raster", params.getRenderer());
+        assertTrue(params.isAntialiased());
+
+        params.setRenderer("invalidRenderer");
+        assertFalse(params.validateParameters());
+
+        params.setRenderer(null);
+        assertFalse(params.validateParameters());
+    }
+
+    @Test
+    public void testCopyConstructor() {
+        CanvasParameters params = new CanvasParameters(100, 200, Color.WHITE);
+        params.setViewport(new Rectangle(0, 0, 50, 50));
+        params.setRenderer("raster");
+        CanvasParameters copy = new CanvasParameters(params);
+        assertEquals(100, copy.getHeight());
+        assertEquals("raster", copy.getRenderer());
+        assertEquals(new Rectangle(0, 0, 50, 50), copy.getViewport());
+
+        params.setViewport(new Rectangle(5, 5, 10, 10));
+        params.setWidth(300);
+        assertEquals("Changing the original should not change the copy", new Rectangle(0, 0, 50, 50), copy.getViewport());
+        assertEquals(200, copy.getWidth());
+    }
+}
@@ -0,0 +1,61 @@
+package unit_test.version2.parameters;
+
+import org.junit.Test;
+import version2.parameters.ChaosGameAlgorithmParameters;
+
+import static org.junit.Assert.*;
+
+public class ChaosGameAlgorithmParametersTestStrategy {
+
+    @Test
+    public void testConstructorAndGetters() {
+        ChaosGameAlgorithmParameters params = new ChaosGameAlgorithmParameters(100, 150, 200, 5000);
+        assertEquals(100, params.getCentreX());
+        assertEquals(150, params.getCentreY());
+        assertEquals(200, params.getPolygonSize());
+        assertEquals(5000, params.getSamples());
+    }
+
+    @Test
+    public void testSetters() {
+        ChaosGameAlgorithmParameters params = new ChaosGameAlgorithmParameters(100, 150, 200, 5000);
+
+        params.setCentreX(200);
+        assertEquals(200, params.getCentreX());
+
+        params.setCentreY(250);
+        assertEquals(250, params.getCentreY());
+
+        params.setPolygonSize(300);
+        assertEquals(300, params.getPolygonSize());
+
+        params.setSamples(10000);
+        assertEquals(10000, params.getSamples());
+
+        params.setSeed(42);
+        assertEquals(42, params.getSeed());
+    }
+
+    @Test
+    public void testValidateParametersValid() {
+        ChaosGameAlgorithmParameters params = new ChaosGameAlgorithmParameters(100, 150, 200, 5000);
+        assertTrue(params.validateParameters());
+    }
+
+    @Test
+    public void testValidateParametersInvalid() {
+        ChaosGameAlgorithmParameters params;
+
+        params = new ChaosGameAlgorithmParameters(-100, 150, 200, 5000);
+        assertFalse(params.validateParameters());
+
+        params = new ChaosGameAlgorithmParameters(100, -150, 200, 5000);
+        assertFalse(params.validateParameters());
+
+        params = new ChaosGameAlgorithmParameters(100, 150, -200, 5000);
+        assertFalse(params.validateParameters());
+
+        params = new ChaosGameAlgorithmParameters(100, 150, 200, 0);
+        assertFalse(params.validateParameters());
+    }
+}
@@ -43,6 +43,25 @@ public class CirclePackingAlgorithmParametersTestStrategy {
 
         params.setAnimationSpeed(3);
         assertEquals(3, params.getAnimationSpeed());
+
+        assertFalse(params.isParallel());
+        params.setParallel(true);
+        assertTrue(params.isParallel());
+
+        params.setSeed(42);
+        assertEquals(42, params.getSeed());
+
+        assertEquals("shape", params.getSamplingType());
+        params.setSamplingType("occupancy");
+        assertEquals("occupancy", params.getSamplingType());
+
+        assertEquals("random", params.getPlacementMode());
+        params.setPlacementMode("maximal");
+        assertEquals("maximal", params.getPlacementMode());
+
+        assertEquals("incremental", params.getAnimationMode());
+        params.setAnimationMode("full");
+        assertEquals("full", params.getAnimationMode());
     }
 
     @Test
@@ -66,5 +85,27 @@ public class CirclePackingAlgorithmParametersTestStrategy {
 
         params = new CirclePackingAlgorithmParameters(100, 150, 200, 5, 10, 50, 0);
         assertFalse(params.validateParameters());
+
+        params = new CirclePackingAlgorithmParameters(100, 150, 200, 5, 10, 50, 2);
+        params.setAnimationMode("");
+        assertFalse(params.validateParameters());
+    }
+
+    @Test
+    public void testCopyConstructor() {
+        CirclePackingAlgorithmParameters params = new CirclePackingAlgorithmParameters(100, 150, 200, 5, 10, 50, 2);
+        params.setSeed(42);
+        params.setIndexType("linear");
+        params.setAnimationMode("full");
+        CirclePackingAlgorithmParameters copy = new CirclePackingAlgorithmParameters(params);
+        assertEquals(50, copy.getMaxAttempts());
+        assertEquals(42, copy.getSeed());
+        assertEquals("linear", copy.getIndexType());
+        assertEquals("full", copy.getAnimationMode());
+
+        params.setMaxAttempts(5000);
+        params.setMinRadius(1);
+        assertEquals("Changing the original should not change the copy", 50, copy.getMaxAttempts());
+        assertEquals(5, copy.getMinRadius());
     }
-}
\ No newline at end of file
+}
@@ -35,6 +35,14 @@ public class RecursiveShapeAlgorithmParametersTestStrategy {
 
         params.setNumShapes(6);
         assertEquals(6, params.getNumShapes());
+
+        assertEquals(0, params.getLodThreshold(), 0.0);
+        params.setLodThreshold(1.5);
+        assertEquals(1.5, params.getLodThreshold(), 0.0);
+
+        assertFalse(params.isParallel());
+        params.setParallel(true);
+        assertTrue(params.isParallel());
     }
 
     @Test
@@ -55,5 +63,9 @@ public class RecursiveShapeAlgorithmParametersTestStrategy {
 
         params = new RecursiveShapeAlgorithmParameters(100, 150, 200, 3, 0);
         assertFalse(params.validateParameters());
+
+        params = new RecursiveShapeAlgorithmParameters(100, 150, 200, 3, 5);
+        params.setLodThreshold(-1);
+        assertFalse(params.validateParameters());
     }
 }
@@ -31,6 +31,14 @@ public class SierpinskiShapeAlgorithmParametersTestStrategy {
 
         params.setDepth(4);
         assertEquals(4, params.getDepth());
+
+        assertEquals(0, params.getLodThreshold(), 0.0);
+        params.setLodThreshold(1.5);
+        assertEquals(1.5, params.getLodThreshold(), 0.0);
+
+        assertFalse(params.isParallel());
+        params.setParallel(true);
+        assertTrue(params.isParallel());
     }
 
     @Test
@@ -54,5 +62,9 @@ public class SierpinskiShapeAlgorithmParametersTestStrategy {
 
         params = new SierpinskiShapeAlgorithmParameters(100, 150, 200, -3);
         assertFalse(params.validateParameters());
+
+        params = new SierpinskiShapeAlgorithmParameters(100, 150, 200, 3);
+        params.setLodThreshold(-1);
+        assertFalse(params.validateParameters());
     }
 }
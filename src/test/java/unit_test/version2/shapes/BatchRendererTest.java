@@ -0,0 +1,178 @@
+package unit_test.version2.shapes;
+
+import org.junit.Test;
+import version2.shapes.BatchRenderer;
+import version2.shapes.Circle;
+import version2.shapes.Hexagon;
+import version2.shapes.Shape;
+import version2.shapes.Square;
+import version2.shapes.Triangle;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class BatchRendererTest {
+
+    private static BufferedImage createImage() {
+        return new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static void assertSameImage(BufferedImage expected, BufferedImage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals("Pixel " + x + ", " + y + " should match", expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    private static int countDifferentPixels(BufferedImage expected, BufferedImage actual) {
+        int different = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    different++;
+                }
+            }
+        }
+        return different;
+    }
+
+    @Test
+    public void testShapesOfOneStyleAreDrawnInOneBatch() {
+        Shape[] shapes = {new Circle(30, 30, 20), new Circle(90, 30, 20), new Triangle(150, 40, 20), new Hexagon(60, 120, 25)};
+        BufferedImage expected = createImage();
+        Graphics2D expectedGraphics = expected.createGraphics();
+        for (Shape shape : shapes) {
+            shape.draw(expectedGraphics, Color.BLACK, 2, Color.YELLOW, "solid");
+        }
+        expectedGraphics.dispose();
+
+        BufferedImage actual = createImage();
+        Graphics2D actualGraphics = actual.createGraphics();
+        BatchRenderer renderer = new BatchRenderer(actualGraphics, false);
+        for (Shape shape : shapes) {
+            renderer.draw(shape, Color.BLACK, 2, Color.YELLOW);
+        }
+        renderer.flush();
+        actualGraphics.dispose();
+
+        assertEquals(1, renderer.getBatchCount());
+        assertSameImage(expected, actual);
+    }
+
+    @Test
+    public void testStyleChangeStartsNewBatch() {
+        BatchRenderer renderer = new BatchRenderer(createImage().createGraphics(), true);
+        renderer.draw(new Square(20, 20, 10), Color.BLACK, 1, Color.WHITE);
+        renderer.draw(new Square(60, 20, 10), Color.BLACK, 1, Color.WHITE);
+        renderer.draw(new Square(100, 20, 10), Color.RED, 1, Color.WHITE);
+        renderer.draw(new Square(140, 20, 10), Color.RED, 3, Color.WHITE);
+        renderer.flush();
+        assertEquals(3, renderer.getBatchCount());
+    }
+
+    @Test
+    public void testSquaresAreBatchedApart() {
+        Shape[] shapes = {new Circle(30, 30, 20), new Square(90, 30, 20), new Square(150, 30, 20), new Hexagon(60, 120, 25)};
+        BufferedImage expected = createImage();
+        Graphics2D expectedGraphics = expected.createGraphics();
+        for (Shape shape : shapes) {
+            shape.draw(expectedGraphics, Color.BLACK, 1, Color.GREEN, "solid");
+        }
+        expectedGraphics.dispose();
+
+        BufferedImage actual = createImage();
+        Graphics2D actualGraphics = actual.createGraphics();
+        BatchRenderer renderer = new BatchRenderer(actualGraphics, true);
+        for (Shape shape : shapes) {
+            renderer.draw(shape, Color.BLACK, 1, Color.GREEN);
+        }
+        renderer.flush();
+        actualGraphics.dispose();
+
+        assertEquals(3, renderer.getBatchCount());
+        assertSameImage(expected, actual);
+    }
+
+    @Test
+    public void testOverlappingShapesKeepTheirOrder() {
+        Shape[] shapes = {new Circle(100, 100, 60), new Circle(130, 100, 40), new Square(100, 150, 30)};
+        BufferedImage expected = createImage();
+        Graphics2D expectedGraphics = expected.createGraphics();
+        for (Shape shape : shapes) {
+            shape.draw(expectedGraphics, Color.BLACK, 3, Color.ORANGE, "solid");
+        }
+        expectedGraphics.dispose();
+
+        BufferedImage actual = createImage();
+        Graphics2D actualGraphics = actual.createGraphics();
+        BatchRenderer renderer = new BatchRenderer(actualGraphics, false);
+        for (Shape shape : shapes) {
+            renderer.draw(shape, Color.BLACK, 3, Color.ORANGE);
+        }
+        renderer.flush();
+        actualGraphics.dispose();
+
+        assertEquals("Every overlapping shape should start a new batch", 3, renderer.getBatchCount());
+        assertSameImage(expected, actual);
+    }
+
+    @Test
+    public void testTouchingShapesShareABatch() {
+        BatchRenderer renderer = new BatchRenderer(createImage().createGraphics(), false);
+        renderer.draw(new Square(20, 20, 10), Color.BLACK, 1, Color.WHITE);
+        renderer.draw(new Square(40, 20, 10), Color.BLACK, 1, Color.WHITE);
+        renderer.draw(new Square(20, 40, 10), Color.BLACK, 1, Color.WHITE);
+        renderer.flush();
+        assertEquals(1, renderer.getBatchCount());
+    }
+
+    @Test
+    public void testFlyweightCanBeMovedBetweenDraws() {
+        BufferedImage expected = createImage();
+        Graphics2D expectedGraphics = expected.createGraphics();
+        BufferedImage actual = createImage();
+        Graphics2D actualGraphics = actual.createGraphics();
+        expectedGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        actualGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        BatchRenderer renderer = new BatchRenderer(actualGraphics, true);
+        Hexagon hexagon = new Hexagon(0, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            hexagon.setPosition(20 + i * 40, 100);
+            hexagon.setScale(15);
+            hexagon.draw(expectedGraphics, Color.BLUE, 1, Color.CYAN, "solid");
+            renderer.draw(hexagon, Color.BLUE, 1, Color.CYAN);
+        }
+        renderer.flush();
+        expectedGraphics.dispose();
+        actualGraphics.dispose();
+        assertEquals(1, renderer.getBatchCount());
+        assertTrue("Antialiased batches should only differ by rounding", countDifferentPixels(expected, actual) < 200 * 200 / 100);
+    }
+
+    @Test
+    public void testFlushWithoutShapesDrawsNothing() {
+        BufferedImage image = createImage();
+        BatchRenderer renderer = new BatchRenderer(image.createGraphics(), false);
+        renderer.flush();
+        assertEquals(0, renderer.getBatchCount());
+        assertEquals(0, image.getRGB(100, 100));
+    }
+
+    @Test
+    public void testBoundsMatchOutline() {
+        Rectangle bounds = new Rectangle();
+        new Circle(50, 60, 10).getBounds(bounds);
+        assertEquals(new Rectangle(40, 50, 20, 20), bounds);
+        new Square(50, 60, 10).getBounds(bounds);
+        assertEquals(new Rectangle(40, 50, 20, 20), bounds);
+        new Hexagon(50, 60, 10).getBounds(bounds);
+        assertEquals(40, bounds.x);
+        assertEquals(20, bounds.width);
+    }
+}
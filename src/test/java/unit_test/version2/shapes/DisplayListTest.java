@@ -0,0 +1,138 @@
+package unit_test.version2.shapes;
+
+import org.junit.Test;
+import version2.parameters.ShapeParameters;
+import version2.shapes.DisplayList;
+import version2.shapes.Shape;
+import version2.shapes.Square;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class DisplayListTest {
+
+    @Test
+    public void testNewDisplayListIsEmpty() {
+        DisplayList displayList = new DisplayList();
+        assertEquals(0, displayList.size());
+        assertEquals(0, displayList.getStyleCount());
+        assertTrue(displayList.asShapes().isEmpty());
+    }
+
+    @Test
+    public void testStylesAreShared() {
+        DisplayList displayList = new DisplayList();
+        ShapeParameters square = new ShapeParameters("square", 1, Color.BLACK, Color.WHITE);
+        ShapeParameters circle = new ShapeParameters("circle", 2, Color.GRAY, Color.YELLOW);
+        assertEquals(0, displayList.addStyle(square));
+        assertEquals(1, displayList.addStyle(circle));
+        assertEquals("The same parameters should not be added twice", 0, displayList.addStyle(square));
+        assertEquals(2, displayList.getStyleCount());
+        assertSame(circle, displayList.getStyle(1));
+    }
+
+    @Test
+    public void testAddKeepsRecords() {
+        DisplayList displayList = new DisplayList();
+        int hexagon = displayList.addStyle(new ShapeParameters("hexagon", 1, Color.BLACK, Color.WHITE));
+        int triangle = displayList.addStyle(new ShapeParameters("triangle", 1, Color.BLACK, Color.WHITE));
+        for (int i = 0; i < 100; i++) {
+            displayList.add(i, i * 2, i + 0.5, i % 2 == 0 ? hexagon : triangle);
+        }
+        assertEquals(100, displayList.size());
+        assertEquals(DisplayList.TRIANGLE, displayList.getKind(99));
+        assertEquals(99, displayList.getX(99));
+        assertEquals(198, displayList.getY(99));
+        assertEquals(99.5, displayList.getRadius(99), 0.0);
+        assertEquals(triangle, displayList.getStyleIndex(99));
+        assertEquals(DisplayList.HEXAGON, displayList.getKind(98));
+    }
+
+    @Test
+    public void testShapeViewCreatesShapesWithTheirStyle() {
+        DisplayList displayList = new DisplayList();
+        ShapeParameters parameters = new ShapeParameters("square", 1, Color.BLACK, Color.WHITE);
+        displayList.add(10, 20, 5, displayList.addStyle(parameters));
+        Shape shape = displayList.asShapes().get(0);
+        assertTrue(shape instanceof Square);
+        assertEquals(10, ((Square) shape).getCenterX());
+        assertEquals(20, ((Square) shape).getCenterY());
+        assertSame(parameters, shape.getParameters());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testShapeViewOutOfRange() {
+        new DisplayList().asShapes().get(0);
+    }
+
+    @Test
+    public void testAppendSharingStyles() {
+        DisplayList first = new DisplayList();
+        int style = first.addStyle(new ShapeParameters("circle", 1, Color.BLACK, Color.WHITE));
+        first.add(1, 1, 1, style);
+        DisplayList second = new DisplayList(first);
+        second.add(2, 2, 2, style);
+        first.append(second);
+        assertEquals(2, first.size());
+        assertEquals(1, first.getStyleCount());
+        assertEquals(2, first.getX(1));
+    }
+
+    @Test
+    public void testAppendRemapsStyles() {
+        ShapeParameters circle = new ShapeParameters("circle", 1, Color.BLACK, Color.WHITE);
+        ShapeParameters square = new ShapeParameters("square", 1, Color.BLACK, Color.WHITE);
+        DisplayList first = new DisplayList();
+        first.add(1, 1, 1, first.addStyle(circle));
+        DisplayList second = new DisplayList();
+        second.add(2, 2, 2, second.addStyle(square));
+        second.add(3, 3, 3, second.addStyle(circle));
+        first.append(second);
+        assertEquals(3, first.size());
+        assertSame(square, first.getStyle(first.getStyleIndex(1)));
+        assertSame(circle, first.getStyle(first.getStyleIndex(2)));
+        assertEquals(DisplayList.SQUARE, first.getKind(1));
+    }
+
+    @Test
+    public void testDrawMatchesShapes() {
+        DisplayList displayList = new DisplayList();
+        int square = displayList.addStyle(new ShapeParameters("square", 2, Color.BLACK, Color.WHITE));
+        int triangle = displayList.addStyle(new ShapeParameters("triangle", 1, Color.RED, Color.YELLOW));
+        displayList.add(50, 50, 30, square);
+        displayList.add(60, 40, 20, triangle);
+        displayList.add(30, 70, 10, square);
+
+        BufferedImage expected = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D expectedGraphics = expected.createGraphics();
+        for (Shape shape : displayList.asShapes()) {
+            shape.draw(expectedGraphics, shape.getParameters().getLineColour(), shape.getParameters().getLineWidth(), shape.getParameters().getFillColour(), "solid");
+        }
+        expectedGraphics.dispose();
+        BufferedImage actual = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D actualGraphics = actual.createGraphics();
+        displayList.draw(actualGraphics);
+        actualGraphics.dispose();
+        for (int y = 0; y < 100; y++) {
+            for (int x = 0; x < 100; x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testClearKeepsStyles() {
+        DisplayList displayList = new DisplayList();
+        displayList.add(1, 1, 1, displayList.addStyle(new ShapeParameters("circle", 1, Color.BLACK, Color.WHITE)));
+        displayList.clear();
+        assertEquals(0, displayList.size());
+        assertEquals(1, displayList.getStyleCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidShapeType() {
+        DisplayList.kindOf("invalidShape");
+    }
+}
@@ -49,6 +49,34 @@ public class HexagonTest {
         assertTrue("Randomly generated point should be inside hexagon", isInside);
     }
 
+    @Test
+    public void testRandomPositionInsideAfterMoving() {
+        int[] position = new int[2];
+        hexagon.setPosition(200, 300);
+        hexagon.setScale(40);
+        for (int i = 0; i < 1000; i++) {
+            hexagon.randomPositionInside(position);
+            assertTrue("Point should be inside the moved hexagon", hexagon.isPointInside(position[0], position[1]));
+        }
+    }
+
+    @Test
+    public void testRandomPositionInsideIsUniform() {
+        Hexagon large = new Hexagon(0, 0, 100);
+        Hexagon inner = new Hexagon(0, 0, 50);
+        int[] position = new int[2];
+        int innerCount = 0;
+        int samples = 40000;
+        for (int i = 0; i < samples; i++) {
+            large.randomPositionInside(position);
+            if (inner.isPointInside(position[0], position[1])) {
+                innerCount++;
+            }
+        }
+        double fraction = innerCount / (double) samples;
+        assertTrue("A hexagon half the size should hold about a quarter of the points: " + fraction, fraction > 0.22 && fraction < 0.28);
+    }
+
 
     @Test
     public void testSetPosition() {
@@ -63,4 +91,24 @@ public class HexagonTest {
         assertEquals("Radius should be updated", 10, hexagon.radius, 0.0);
     }
 
+    @Test(timeout = 1000)
+    public void testRandomPositionInsideWithoutWholePixel() {
+        int[] position = new int[2];
+        hexagon.setScale(0);
+        for (int i = 0; i < 1000; i++) {
+            hexagon.randomPositionInside(position);
+        }
+        assertEquals("A point should still be returned for a hexagon with no area", 10, position[0]);
+        assertEquals(10, position[1]);
+    }
+
+    @Test
+    public void testRandomPositionInsideSmallHexagon() {
+        int[] position = new int[2];
+        hexagon.setScale(3);
+        for (int i = 0; i < 10000; i++) {
+            hexagon.randomPositionInside(position);
+            assertTrue("Point should be inside the small hexagon", hexagon.isPointInside(position[0], position[1]));
+        }
     }
+}
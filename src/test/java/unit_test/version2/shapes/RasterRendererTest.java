@@ -0,0 +1,218 @@
+package unit_test.version2.shapes;
+
+import org.junit.Test;
+import version2.shapes.Circle;
+import version2.shapes.Hexagon;
+import version2.shapes.RasterRenderer;
+import version2.shapes.Shape;
+import version2.shapes.Square;
+import version2.shapes.Triangle;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class RasterRendererTest {
+
+    private static BufferedImage createImage() {
+        return new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static Shape createShape(String shapeType, double radius) {
+        return switch (shapeType) {
+            case "circle" -> new Circle(100, 100, radius);
+            case "square" -> new Square(100, 100, radius);
+            case "triangle" -> new Triangle(100, 100, radius);
+            case "hexagon" -> new Hexagon(100, 100, radius);
+            default -> throw new IllegalArgumentException("Invalid shape type: " + shapeType);
+        };
+    }
+
+    private static BufferedImage drawWithGraphics(Shape shape, float lineWidth, Color fill, boolean antialiased) {
+        BufferedImage image = createImage();
+        Graphics2D g2d = image.createGraphics();
+        if (antialiased) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, 200, 200);
+        shape.draw(g2d, Color.BLACK, lineWidth, fill, "solid");
+        g2d.dispose();
+        return image;
+    }
+
+    private static BufferedImage drawWithRaster(Shape shape, float lineWidth, Color fill, boolean antialiased) {
+        BufferedImage image = createImage();
+        RasterRenderer renderer = new RasterRenderer(image, antialiased);
+        renderer.fillBackground(Color.WHITE, 200, 200);
+        renderer.draw(shape, Color.BLACK, lineWidth, fill);
+        renderer.flush();
+        return image;
+    }
+
+    private static int countDifferentPixels(BufferedImage expected, BufferedImage actual, int tolerance) {
+        int different = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int expectedPixel = expected.getRGB(x, y);
+                int actualPixel = actual.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    if (Math.abs((expectedPixel >>> shift & 0xFF) - (actualPixel >>> shift & 0xFF)) > tolerance) {
+                        different++;
+                        break;
+                    }
+                }
+            }
+        }
+        return different;
+    }
+
+    private static int countPixels(BufferedImage image, Color colour) {
+        int count = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (image.getRGB(x, y) == colour.getRGB()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testSquaresMatchGraphics() {
+        for (float lineWidth : new float[]{0.1f, 1, 2, 3}) {
+            Shape square = createShape("square", 40);
+            BufferedImage expected = drawWithGraphics(square, lineWidth, Color.YELLOW, false);
+            BufferedImage actual = drawWithRaster(square, lineWidth, Color.YELLOW, false);
+            assertEquals("Squares should be drawn the same as with graphics, line width " + lineWidth,
+                    0, countDifferentPixels(expected, actual, 0));
+
+            expected = drawWithGraphics(square, lineWidth, Color.YELLOW, true);
+            actual = drawWithRaster(square, lineWidth, Color.YELLOW, true);
+            assertTrue("Antialiased squares should only differ at their corners, line width " + lineWidth,
+                    countDifferentPixels(expected, actual, 1) <= 8);
+        }
+    }
+
+    @Test
+    public void testShapesOnlyDifferFromGraphicsAlongEdges() {
+        for (String shapeType : new String[]{"circle", "triangle", "hexagon"}) {
+            for (float lineWidth : new float[]{0.1f, 1, 3}) {
+                Shape shape = createShape(shapeType, 40);
+                BufferedImage expected = drawWithGraphics(shape, lineWidth, Color.YELLOW, false);
+                BufferedImage actual = drawWithRaster(shape, lineWidth, Color.YELLOW, false);
+                assertTrue("Only a few edge pixels of the " + shapeType + " should differ",
+                        countDifferentPixels(expected, actual, 0) < 200);
+                assertEquals("The inside of the " + shapeType + " should be filled",
+                        Color.YELLOW.getRGB(), actual.getRGB(100, 105));
+                assertEquals(Color.WHITE.getRGB(), actual.getRGB(5, 5));
+            }
+        }
+    }
+
+    @Test
+    public void testAntialiasedEdgesAreCloseToGraphics() {
+        for (String shapeType : new String[]{"circle", "square", "triangle", "hexagon"}) {
+            Shape shape = createShape(shapeType, 40);
+            BufferedImage expected = drawWithGraphics(shape, 1, Color.YELLOW, true);
+            BufferedImage actual = drawWithRaster(shape, 1, Color.YELLOW, true);
+            assertTrue("Antialiased " + shapeType + " edges should only differ by rounding",
+                    countDifferentPixels(expected, actual, 128) < 40);
+        }
+    }
+
+    @Test
+    public void testThinOutlinesHaveNoGaps() {
+        for (String shapeType : new String[]{"circle", "square", "triangle", "hexagon"}) {
+            for (double radius : new double[]{3, 10.5, 40, 75}) {
+                BufferedImage image = drawWithRaster(createShape(shapeType, radius), 1, Color.YELLOW, false);
+                for (int y = 1; y < 199; y++) {
+                    for (int x = 1; x < 199; x++) {
+                        if (image.getRGB(x, y) == Color.YELLOW.getRGB()) {
+                            assertNotEquals("Filled pixels should never touch the background, " + shapeType + " " + radius,
+                                    Color.WHITE.getRGB(), image.getRGB(x + 1, y));
+                            assertNotEquals(Color.WHITE.getRGB(), image.getRGB(x - 1, y));
+                            assertNotEquals(Color.WHITE.getRGB(), image.getRGB(x, y + 1));
+                            assertNotEquals(Color.WHITE.getRGB(), image.getRGB(x, y - 1));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTranslucentOutlinesBlendEachPixelOnce() {
+        Color translucent = new Color(0, 0, 0, 128);
+        for (String shapeType : new String[]{"circle", "square", "triangle", "hexagon"}) {
+            BufferedImage image = createImage();
+            RasterRenderer renderer = new RasterRenderer(image, false);
+            renderer.fillBackground(Color.WHITE, 200, 200);
+            renderer.draw(createShape(shapeType, 40), translucent, 0, new Color(0, 0, 0, 0));
+            int outlined = 0;
+            for (int y = 0; y < 200; y++) {
+                for (int x = 0; x < 200; x++) {
+                    int pixel = image.getRGB(x, y);
+                    if (pixel != Color.WHITE.getRGB()) {
+                        assertEquals("Outline pixels of the " + shapeType + " should only be blended once", 0xFF7F7F7F, pixel);
+                        outlined++;
+                    }
+                }
+            }
+            assertTrue(outlined > 100);
+        }
+    }
+
+    @Test
+    public void testBlendsLikeGraphics() {
+        Color translucent = new Color(255, 0, 0, 100);
+        for (Color background : new Color[]{Color.BLUE, new Color(0, 255, 0, 60), new Color(0, 0, 0, 0)}) {
+            BufferedImage expected = createImage();
+            Graphics2D g2d = expected.createGraphics();
+            g2d.setColor(background);
+            g2d.fillRect(0, 0, 200, 200);
+            g2d.setColor(translucent);
+            g2d.fillRect(50, 50, 100, 100);
+            g2d.drawRect(50, 50, 100, 100);
+            g2d.dispose();
+
+            BufferedImage actual = createImage();
+            RasterRenderer renderer = new RasterRenderer(actual, false);
+            renderer.fillBackground(background, 200, 200);
+            renderer.draw(new Square(100, 100, 50), translucent, 1, translucent);
+            assertEquals("Source over blending should match graphics", 0, countDifferentPixels(expected, actual, 2));
+        }
+    }
+
+    @Test
+    public void testShapesAreClippedToTheImage() {
+        BufferedImage image = createImage();
+        RasterRenderer renderer = new RasterRenderer(image, true);
+        renderer.draw(new Circle(0, 0, 50), Color.BLACK, 3, Color.RED);
+        renderer.draw(new Hexagon(200, 200, 60), Color.BLACK, 3, Color.RED);
+        renderer.draw(new Triangle(-500, 100, 20), Color.BLACK, 3, Color.RED);
+        renderer.draw(new Square(100, 300, 20), Color.BLACK, 3, Color.RED);
+        assertEquals(Color.RED.getRGB(), image.getRGB(10, 10));
+        assertEquals(Color.RED.getRGB(), image.getRGB(190, 190));
+        assertEquals(0, image.getRGB(100, 100));
+    }
+
+    @Test
+    public void testEmptyShapesDrawOnlyTheirOutline() {
+        BufferedImage image = createImage();
+        RasterRenderer renderer = new RasterRenderer(image, false);
+        renderer.draw(new Triangle(100, 100, 0), Color.BLACK, 1, Color.RED);
+        renderer.draw(new Circle(50, 50, 0), Color.BLACK, 1, Color.RED);
+        assertEquals(0, countPixels(image, Color.RED));
+        assertTrue(countPixels(image, Color.BLACK) <= 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOnlyIntArgbImagesAreSupported() {
+        new RasterRenderer(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), false);
+    }
+}
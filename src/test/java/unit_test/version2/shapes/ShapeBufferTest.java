@@ -0,0 +1,71 @@
+package unit_test.version2.shapes;
+
+import org.junit.Before;
+import org.junit.Test;
+import version2.shapes.Circle;
+import version2.shapes.ShapeBuffer;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShapeBufferTest {
+    private ShapeBuffer buffer;
+
+    @Before
+    public void setUp() {
+        buffer = new ShapeBuffer(2);
+    }
+
+    @Test
+    public void testAdd() {
+        int id = buffer.add(10, 20, 5);
+        assertEquals("Testing add() returns the id", 0, id);
+        assertEquals("Testing getX()", 10, buffer.getX(id));
+        assertEquals("Testing getY()", 20, buffer.getY(id));
+        assertEquals("Testing getSize()", 5, buffer.getSize(id), 0.0);
+        assertEquals("Testing size()", 1, buffer.size());
+    }
+
+    @Test
+    public void testGrowth() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, buffer.add(i, -i, i / 2f));
+        }
+        assertEquals("Testing size() after growth", 1000, buffer.size());
+        assertEquals("Testing values are kept after growth", 999, buffer.getX(999));
+        assertEquals("Testing values are kept after growth", -500, buffer.getY(500));
+    }
+
+    @Test
+    public void testClear() {
+        buffer.add(1, 2, 3);
+        buffer.clear();
+        assertEquals("Testing clear()", 0, buffer.size());
+        assertEquals("Testing ids restart after clear()", 0, buffer.add(4, 5, 6));
+    }
+
+    @Test
+    public void testAsCircles() {
+        List<Circle> circles = buffer.asCircles();
+        assertTrue("Testing the view starts empty", circles.isEmpty());
+        buffer.add(10, 20, 5);
+        buffer.add(30, 40, 2);
+        assertEquals("Testing the view follows the buffer", 2, circles.size());
+        Circle circle = circles.get(1);
+        assertEquals(30, circle.getCenterX());
+        assertEquals(40, circle.getCenterY());
+        assertEquals(2, circle.getRadius(), 0.0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAsCirclesIsReadOnly() {
+        buffer.asCircles().add(new Circle(1, 1, 1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAsCirclesOutOfBounds() {
+        buffer.add(1, 1, 1);
+        buffer.asCircles().get(1);
+    }
+}
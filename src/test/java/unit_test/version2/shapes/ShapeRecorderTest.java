@@ -0,0 +1,60 @@
+package unit_test.version2.shapes;
+
+import org.junit.Test;
+import version2.shapes.ShapeRecorder;
+import version2.shapes.ShapeSink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShapeRecorderTest {
+
+    private static List<String> replay(ShapeRecorder recorder) {
+        List<String> calls = new ArrayList<>();
+        recorder.replay(new ShapeSink() {
+            @Override
+            public void emit(int x, int y, double size) {
+                calls.add("emit " + x + " " + y + " " + size);
+            }
+
+            @Override
+            public void emitCoverage(int x, int y, double size, double coverage, double detail) {
+                calls.add("coverage " + x + " " + y + " " + size + " " + coverage + " " + detail);
+            }
+        });
+        return calls;
+    }
+
+    @Test
+    public void testNewRecorderIsEmpty() {
+        ShapeRecorder recorder = new ShapeRecorder();
+        assertEquals(0, recorder.size());
+        assertTrue(replay(recorder).isEmpty());
+    }
+
+    @Test
+    public void testReplayKeepsOrderAndCoverage() {
+        ShapeRecorder recorder = new ShapeRecorder();
+        recorder.emit(1, 2, 3.5);
+        recorder.emitCoverage(4, 5, 6.5, 0.25, 0.5);
+        recorder.emit(7, 8, 9.5);
+        assertEquals(List.of("emit 1 2 3.5", "coverage 4 5 6.5 0.25 0.5", "emit 7 8 9.5"), replay(recorder));
+    }
+
+    @Test
+    public void testAppend() {
+        ShapeRecorder first = new ShapeRecorder();
+        first.emit(1, 1, 1);
+        ShapeRecorder second = new ShapeRecorder();
+        for (int i = 0; i < 100; i++) {
+            second.emit(i, i, i);
+        }
+        first.append(second);
+        assertEquals(101, first.size());
+        List<String> calls = replay(first);
+        assertEquals("emit 1 1 1.0", calls.get(0));
+        assertEquals("emit 99 99 99.0", calls.get(100));
+    }
+}
@@ -0,0 +1,53 @@
+package unit_test.version2.shapes;
+
+import org.junit.Test;
+import version2.shapes.ShapeStack;
+
+import static org.junit.Assert.*;
+
+public class ShapeStackTest {
+
+    @Test
+    public void testNewStackIsEmpty() {
+        assertTrue(new ShapeStack().isEmpty());
+    }
+
+    @Test
+    public void testPopReturnsLastPushed() {
+        ShapeStack stack = new ShapeStack();
+        stack.push(1, 2, 3.5, 4);
+        stack.push(5, 6, 7.5, 8);
+        int slot = stack.pop();
+        assertEquals(5, stack.getX(slot));
+        assertEquals(6, stack.getY(slot));
+        assertEquals(7.5, stack.getRadius(slot), 0.0);
+        assertEquals(8, stack.getDepth(slot));
+        slot = stack.pop();
+        assertEquals(1, stack.getX(slot));
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        ShapeStack stack = new ShapeStack();
+        for (int i = 0; i < 1000; i++) {
+            stack.push(i, -i, i / 2.0, i % 7);
+        }
+        for (int i = 999; i >= 0; i--) {
+            int slot = stack.pop();
+            assertEquals(i, stack.getX(slot));
+            assertEquals(-i, stack.getY(slot));
+            assertEquals(i / 2.0, stack.getRadius(slot), 0.0);
+            assertEquals(i % 7, stack.getDepth(slot));
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        ShapeStack stack = new ShapeStack();
+        stack.push(1, 1, 1, 1);
+        stack.clear();
+        assertTrue(stack.isEmpty());
+    }
+}
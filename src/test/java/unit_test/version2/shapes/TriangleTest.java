@@ -61,6 +61,16 @@ public class TriangleTest {
         }
     }
 
+    @Test
+    public void testRandomPositionInsideAfterScaling() {
+        int[] position = new int[2];
+        triangle.setScale(80);
+        for (int i = 0; i < 1000; i++) {
+            triangle.randomPositionInside(position);
+            assertTrue("Point should be inside the scaled triangle", triangle.isPointInside(position[0], position[1]));
+        }
+    }
+
     @Test
     public void testIsInsideTrue() {
         Circle circle = new Circle(10, 10, 5);
@@ -108,6 +118,24 @@ public class TriangleTest {
         assertEquals("Radius should be updated", 10, triangle.getRadius(), 0.0);
     }
 
-}
-
+    @Test(timeout = 1000)
+    public void testRandomPositionInsideWithoutWholePixel() {
+        int[] position = new int[2];
+        triangle.setScale(0);
+        for (int i = 0; i < 1000; i++) {
+            triangle.randomPositionInside(position);
+        }
+        assertEquals("A point should still be returned for a triangle with no area", 10, position[0]);
+        assertEquals(10, position[1]);
+    }
 
+    @Test
+    public void testRandomPositionInsideSmallTriangle() {
+        int[] position = new int[2];
+        triangle.setScale(3);
+        for (int i = 0; i < 10000; i++) {
+            triangle.randomPositionInside(position);
+            assertTrue("Point should be inside the small triangle", triangle.isPointInside(position[0], position[1]));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package unit_test.version2.spatial;
+
+import org.junit.Before;
+import org.junit.Test;
+import version2.spatial.GridCircleIndex;
+import version2.spatial.LinearCircleIndex;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GridCircleIndexTest {
+    private GridCircleIndex grid;
+
+    @Before
+    public void setUp() {
+        grid = new GridCircleIndex(0, 0, 500, 500, 10);
+    }
+
+    @Test
+    public void testEmptyGridHasNoOverlaps() {
+        assertFalse("An empty grid should not overlap", grid.overlaps(250, 250, 10));
+        assertEquals("An empty grid should have no circles", 0, grid.size());
+    }
+
+    @Test
+    public void testOverlapsTrue() {
+        grid.insert(100, 100, 5);
+        assertTrue("Circles in the same cell should overlap", grid.overlaps(104, 100, 2));
+    }
+
+    @Test
+    public void testOverlapsAcrossCells() {
+        grid.insert(19, 19, 10);
+        assertTrue("Circles in neighbouring cells should overlap", grid.overlaps(21, 21, 10));
+    }
+
+    @Test
+    public void testOverlapsFalse() {
+        grid.insert(100, 100, 5);
+        assertFalse("Touching circles should not overlap", grid.overlaps(110, 100, 5));
+    }
+
+    @Test
+    public void testCirclesOutsideTheArea() {
+        grid.insert(-50, -50, 5);
+        assertTrue("Circles outside the grid area should still be found", grid.overlaps(-48, -50, 5));
+    }
+
+    @Test
+    public void testRadiusLargerThanCellSize() {
+        grid.insert(100, 100, 40);
+        assertTrue("Radii larger than expected should still be found", grid.overlaps(160, 100, 30));
+    }
+
+    @Test
+    public void testFreeRadius() {
+        grid.insert(100, 100, 10);
+        assertEquals("Free radius should be the distance to the nearest circle edge", 20, grid.freeRadius(130, 100, 50), 1e-9);
+        assertEquals("Free radius should be capped at the limit", 5, grid.freeRadius(130, 100, 5), 0.0);
+        assertTrue("Free radius should be negative inside a circle", grid.freeRadius(100, 100, 50) < 0);
+    }
+
+    @Test
+    public void testClear() {
+        grid.insert(100, 100, 5);
+        grid.clear();
+        assertEquals("Grid should be empty after clearing", 0, grid.size());
+        assertFalse("Grid should not overlap after clearing", grid.overlaps(100, 100, 5));
+    }
+
+    @Test
+    public void testMatchesLinearIndex() {
+        LinearCircleIndex linear = new LinearCircleIndex();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int x = random.nextInt(520) - 10;
+            int y = random.nextInt(520) - 10;
+            int radius = 1 + random.nextInt(10);
+            boolean expected = linear.overlaps(x, y, radius);
+            assertEquals("Grid and linear index should agree", expected, grid.overlaps(x, y, radius));
+            if (!expected) {
+                linear.insert(x, y, radius);
+                grid.insert(x, y, radius);
+            }
+        }
+        assertEquals(linear.size(), grid.size());
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(500);
+            int y = random.nextInt(500);
+            assertEquals("Grid and linear free radius should agree", linear.freeRadius(x, y, 10), grid.freeRadius(x, y, 10), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package unit_test.version2.spatial;
+
+import org.junit.Before;
+import org.junit.Test;
+import version2.shapes.Circle;
+import version2.spatial.LinearCircleIndex;
+import version2.spatial.OccupancyGrid;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class OccupancyGridTest {
+    private OccupancyGrid grid;
+    private Circle boundary;
+
+    @Before
+    public void setUp() {
+        grid = new OccupancyGrid(0, 0, 100, 100, 5);
+        boundary = new Circle(50, 50, 50);
+    }
+
+    @Test
+    public void testNewGridIsFree() {
+        assertFalse("A new grid should not be saturated", grid.isSaturated());
+        assertEquals("Cells should be the minimum radius wide", 5, grid.getCellSize());
+        assertEquals("Every cell should start free", 21 * 21, grid.getFreeCount());
+    }
+
+    @Test
+    public void testBlockOutside() {
+        int before = grid.getFreeCount();
+        grid.blockOutside(boundary);
+        assertTrue("Cells outside the boundary should be blocked", grid.getFreeCount() < before);
+        int[] position = new int[2];
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 1000; i++) {
+            grid.randomPosition(position, random);
+            assertTrue("Free cells should reach inside the boundary", boundary.edgeDistance(position[0], position[1]) > 5 - 2 * halfDiagonal());
+        }
+    }
+
+    @Test
+    public void testBlock() {
+        int before = grid.getFreeCount();
+        grid.block(50, 50, 20);
+        assertTrue("Cells covered by the circle should be blocked", grid.getFreeCount() < before);
+        int[] position = new int[2];
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < 1000; i++) {
+            grid.randomPosition(position, random);
+            double dx = position[0] - 50;
+            double dy = position[1] - 50;
+            assertTrue("Blocked cells should not be sampled", Math.sqrt(dx * dx + dy * dy) > 25 - 2 * halfDiagonal());
+        }
+    }
+
+    @Test
+    public void testRecordMissBlocksFullCells() {
+        LinearCircleIndex index = new LinearCircleIndex();
+        index.insert(50, 50, 70);
+        for (int i = 0; i < 4; i++) {
+            grid.recordMiss(2, 2, index, new Circle(50, 50, 100));
+        }
+        assertEquals("A cell with no room left should be blocked after repeated misses", 21 * 21 - 1, grid.getFreeCount());
+    }
+
+    @Test
+    public void testRecordMissKeepsCellsWithRoom() {
+        LinearCircleIndex index = new LinearCircleIndex();
+        for (int i = 0; i < 16; i++) {
+            grid.recordMiss(50, 50, index, boundary);
+        }
+        assertEquals("A cell with room left should stay free", 21 * 21, grid.getFreeCount());
+    }
+
+    @Test
+    public void testSaturated() {
+        grid.blockOutside(new Circle(50, 50, 1));
+        assertTrue("A boundary too small for any circle should saturate the grid", grid.isSaturated());
+    }
+
+    private double halfDiagonal() {
+        return grid.getCellSize() * Math.sqrt(2) / 2;
+    }
+}
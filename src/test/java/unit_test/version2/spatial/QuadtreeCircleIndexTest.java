@@ -0,0 +1,78 @@
+package unit_test.version2.spatial;
+
+import org.junit.Before;
+import org.junit.Test;
+import version2.spatial.LinearCircleIndex;
+import version2.spatial.QuadtreeCircleIndex;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class QuadtreeCircleIndexTest {
+    private QuadtreeCircleIndex quadtree;
+
+    @Before
+    public void setUp() {
+        quadtree = new QuadtreeCircleIndex(0, 0, 1000, 1000);
+    }
+
+    @Test
+    public void testEmptyQuadtreeHasNoOverlaps() {
+        assertFalse("An empty quadtree should not overlap", quadtree.overlaps(500, 500, 10));
+        assertEquals("An empty quadtree should have the limit as its free radius", 25, quadtree.freeRadius(500, 500, 25), 0.0);
+    }
+
+    @Test
+    public void testOverlapsSmallAndLargeCircles() {
+        quadtree.insert(500, 500, 300);
+        quadtree.insert(100, 100, 1);
+        assertTrue("Small circles should find large circles", quadtree.overlaps(790, 500, 1));
+        assertTrue("Large circles should find small circles", quadtree.overlaps(90, 100, 10));
+        assertFalse("Circles in free space should not overlap", quadtree.overlaps(50, 50, 5));
+    }
+
+    @Test
+    public void testCirclesOutsideTheArea() {
+        quadtree.insert(-50, 1200, 5);
+        assertTrue("Circles outside the quadtree area should still be found", quadtree.overlaps(-48, 1200, 5));
+    }
+
+    @Test
+    public void testFreeRadius() {
+        quadtree.insert(100, 100, 10);
+        assertEquals("Free radius should be the distance to the nearest circle edge", 20, quadtree.freeRadius(130, 100, 50), 1e-9);
+        assertEquals("Free radius should be capped at the limit", 5, quadtree.freeRadius(130, 100, 5), 0.0);
+        assertTrue("Free radius should be negative inside a circle", quadtree.freeRadius(100, 100, 50) < 0);
+    }
+
+    @Test
+    public void testClear() {
+        quadtree.insert(100, 100, 5);
+        quadtree.clear();
+        assertEquals("Quadtree should be empty after clearing", 0, quadtree.size());
+        assertFalse("Quadtree should not overlap after clearing", quadtree.overlaps(100, 100, 5));
+    }
+
+    @Test
+    public void testMatchesLinearIndexWithWideRadiusRange() {
+        LinearCircleIndex linear = new LinearCircleIndex();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int x = random.nextInt(1000);
+            int y = random.nextInt(1000);
+            int radius = random.nextInt(100) == 0 ? 50 + random.nextInt(150) : 1 + random.nextInt(3);
+            boolean expected = linear.overlaps(x, y, radius);
+            assertEquals("Quadtree and linear index should agree", expected, quadtree.overlaps(x, y, radius));
+            if (!expected) {
+                linear.insert(x, y, radius);
+                quadtree.insert(x, y, radius);
+            }
+        }
+        for (int i = 0; i < 2000; i++) {
+            int x = random.nextInt(1000);
+            int y = random.nextInt(1000);
+            assertEquals("Quadtree and linear free radius should agree", linear.freeRadius(x, y, 200), quadtree.freeRadius(x, y, 200), 1e-9);
+        }
+    }
+}
@@ -7,6 +7,9 @@ import version3.algorithms.CirclePacking;
 import version3.parameters.CirclePackingParameters;
 import version3.shapes.*;
 
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
 public class CirclePackingTest {
     private CirclePacking circlePacking;
     private CirclePackingParameters params;
@@ -69,4 +72,48 @@ public class CirclePackingTest {
             }
         }
     }
+
+    @Test
+    public void testSameSeedGivesSamePacking() {
+        params.setSeed(42);
+        params.setMaxAttempts(2000);
+        CirclePacking first = new CirclePacking(params);
+        CirclePacking second = new CirclePacking(params);
+        assertEquals("Packings should have the same number of circles", first.getCircles().size(), second.getCircles().size());
+        for (int i = 0; i < first.getCircles().size(); i++) {
+            Circle a = first.getCircles().get(i);
+            Circle b = second.getCircles().get(i);
+            assertEquals("Circles should be in the same place", a.centerX, b.centerX);
+            assertEquals("Circles should be in the same place", a.centerY, b.centerY);
+            assertEquals("Circles should be the same size", a.radius, b.radius, 0.0);
+        }
+    }
+
+    private static BufferedImage paint(CirclePacking circlePacking) {
+        circlePacking.setSize(500, 500);
+        BufferedImage image = new BufferedImage(500, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        circlePacking.paintComponent(g2d);
+        g2d.dispose();
+        return image;
+    }
+
+    @Test
+    public void testPaintingNewCirclesMatchesPaintingEveryCircle() {
+        params.setSeed(42);
+        CirclePacking incremental = new CirclePacking(params);
+        paint(incremental);
+        incremental.addCircle();
+        BufferedImage painted = paint(incremental);
+
+        CirclePacking full = new CirclePacking(params);
+        full.addCircle();
+        BufferedImage expected = paint(full);
+        assertEquals(full.getCircles().size(), incremental.getCircles().size());
+        for (int y = 0; y < 500; y++) {
+            for (int x = 0; x < 500; x++) {
+                assertEquals(expected.getRGB(x, y), painted.getRGB(x, y));
+            }
+        }
+    }
 }
@@ -5,6 +5,9 @@ import org.junit.Test;
 import version3.algorithms.SierpinskiShape;
 import version3.parameters.SierpinskiShapeParameters;
 
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
 public class SierpinskiShapeTest {
 
     @Test
@@ -20,4 +23,155 @@ public class SierpinskiShapeTest {
         assertNotNull("SierpinskiShape instance should not be null", sierpinskiShape);
         assertEquals("Parameters should match", params, sierpinskiShape.getParams());
     }
+
+    private static SierpinskiShapeParameters createParameters(String shapeType, int depth, int instanceDepth) {
+        SierpinskiShapeParameters params = new SierpinskiShapeParameters();
+        params.setCentreX(300);
+        params.setCentreY(500);
+        params.setPolygonSize(250);
+        params.setDepth(depth);
+        params.setShapeType(shapeType);
+        params.setShapeFillColour(Color.WHITE);
+        params.setShapeLineColour(Color.BLACK);
+        params.setShapeLineWidth(1);
+        params.setInstanceDepth(instanceDepth);
+        return params;
+    }
+
+    private static BufferedImage paint(SierpinskiShape sierpinskiShape) {
+        sierpinskiShape.setSize(600, 600);
+        BufferedImage image = new BufferedImage(600, 600, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        sierpinskiShape.paintComponent(g2d);
+        g2d.dispose();
+        return image;
+    }
+
+    private static int countDifferentPixels(BufferedImage expected, BufferedImage actual) {
+        int different = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    different++;
+                }
+            }
+        }
+        return different;
+    }
+
+    @Test
+    public void testInstancedPatternMatchesDrawnPattern() {
+        String[] shapeTypes = {"triangle", "circle", "square", "hexagon"};
+        for (String shapeType : shapeTypes) {
+            BufferedImage drawn = paint(new SierpinskiShape(createParameters(shapeType, 5, 0)));
+            BufferedImage instanced = paint(new SierpinskiShape(createParameters(shapeType, 5, 2)));
+            assertTrue("Instanced pattern should only differ by rounding for shape type: " + shapeType,
+                    countDifferentPixels(drawn, instanced) < 600 * 600 / 50);
+        }
+    }
+
+    @Test
+    public void testInstanceDepthAtOrAboveDepthDrawsEveryShape() {
+        BufferedImage drawn = paint(new SierpinskiShape(createParameters("square", 3, 0)));
+        BufferedImage instanced = paint(new SierpinskiShape(createParameters("square", 3, 3)));
+        assertEquals(0, countDifferentPixels(drawn, instanced));
+    }
+
+    @Test
+    public void testInstanceIsReusedBetweenPaints() {
+        SierpinskiShape sierpinskiShape = new SierpinskiShape(createParameters("square", 5, 2));
+        BufferedImage first = paint(sierpinskiShape);
+        BufferedImage second = paint(sierpinskiShape);
+        assertEquals(0, countDifferentPixels(first, second));
+
+        sierpinskiShape.getParams().setShapeFillColour(Color.RED);
+        BufferedImage recoloured = paint(sierpinskiShape);
+        assertTrue("Changing the colour should rasterise a new instance", countDifferentPixels(first, recoloured) > 0);
+    }
+
+    @Test
+    public void testRepaintOnlyCopiesDamagedArea() {
+        SierpinskiShape sierpinskiShape = new SierpinskiShape(createParameters("triangle", 5, 0));
+        BufferedImage full = paint(sierpinskiShape);
+
+        BufferedImage exposed = new BufferedImage(600, 600, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = exposed.createGraphics();
+        g2d.setClip(200, 300, 100, 50);
+        sierpinskiShape.paintComponent(g2d);
+        g2d.dispose();
+        for (int y = 0; y < 600; y++) {
+            for (int x = 0; x < 600; x++) {
+                if (x >= 200 && x < 300 && y >= 300 && y < 350) {
+                    assertEquals("The damaged area should match the full pattern", full.getRGB(x, y), exposed.getRGB(x, y));
+                } else {
+                    assertEquals("Nothing outside the damaged area should be painted", 0, exposed.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCachedPatternFollowsParameters() {
+        SierpinskiShape sierpinskiShape = new SierpinskiShape(createParameters("hexagon", 3, 0));
+        paint(sierpinskiShape);
+        sierpinskiShape.getParams().setDepth(4);
+        BufferedImage redrawn = paint(sierpinskiShape);
+        BufferedImage expected = paint(new SierpinskiShape(createParameters("hexagon", 4, 0)));
+        assertEquals(0, countDifferentPixels(expected, redrawn));
+    }
+
+    private static BufferedImage paintScaled(SierpinskiShape sierpinskiShape, Rectangle clip) {
+        sierpinskiShape.setSize(600, 600);
+        BufferedImage image = new BufferedImage(1200, 1200, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.scale(2, 2);
+        if (clip != null) {
+            g2d.setClip(clip);
+        }
+        sierpinskiShape.paintComponent(g2d);
+        g2d.dispose();
+        return image;
+    }
+
+    @Test
+    public void testScaledRepaintCopiesDeviceResolutionPattern() {
+        SierpinskiShape sierpinskiShape = new SierpinskiShape(createParameters("triangle", 5, 0));
+        BufferedImage full = paintScaled(sierpinskiShape, null);
+        boolean sharp = false;
+        for (int y = 0; y < 1200 && !sharp; y += 2) {
+            for (int x = 0; x < 1200 && !sharp; x += 2) {
+                int rgb = full.getRGB(x, y);
+                sharp = rgb != full.getRGB(x + 1, y) || rgb != full.getRGB(x, y + 1) || rgb != full.getRGB(x + 1, y + 1);
+            }
+        }
+        assertTrue("The pattern should be drawn at the display scale rather than stretched", sharp);
+
+        BufferedImage exposed = paintScaled(sierpinskiShape, new Rectangle(100, 150, 50, 25));
+        for (int y = 0; y < 1200; y++) {
+            for (int x = 0; x < 1200; x++) {
+                if (x >= 200 && x < 300 && y >= 300 && y < 350) {
+                    assertEquals("The damaged area should match the full pattern", full.getRGB(x, y), exposed.getRGB(x, y));
+                } else {
+                    assertEquals("Nothing outside the damaged area should be painted", 0, exposed.getRGB(x, y));
+                }
+            }
+        }
+
+        sierpinskiShape.getParams().setDepth(4);
+        BufferedImage redrawn = paintScaled(sierpinskiShape, null);
+        BufferedImage expected = paintScaled(new SierpinskiShape(createParameters("triangle", 4, 0)), null);
+        assertEquals(0, countDifferentPixels(expected, redrawn));
+    }
+
+    @Test
+    public void testScaledInstanceMatchesScaledDrawnPattern() {
+        String[] shapeTypes = {"triangle", "circle", "square", "hexagon"};
+        for (String shapeType : shapeTypes) {
+            BufferedImage drawn = paintScaled(new SierpinskiShape(createParameters(shapeType, 5, 0)), null);
+            BufferedImage instanced = paintScaled(new SierpinskiShape(createParameters(shapeType, 5, 2)), null);
+            int different = countDifferentPixels(drawn, instanced);
+            assertTrue("Scaled instances should be drawn at the display scale for shape type: " + shapeType,
+                    different < 1200 * 1200 / 200);
+        }
+    }
 }
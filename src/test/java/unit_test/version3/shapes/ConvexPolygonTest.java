@@ -0,0 +1,54 @@
+package unit_test.version3.shapes;
+
+import org.junit.Before;
+import org.junit.Test;
+import version3.shapes.ConvexPolygon;
+
+import static org.junit.Assert.*;
+
+public class ConvexPolygonTest {
+    private ConvexPolygon square;
+
+    @Before
+    public void setUp() {
+        square = new ConvexPolygon(4);
+        square.setVertices(new int[]{0, 100, 100, 0}, new int[]{0, 0, 100, 100});
+    }
+
+    @Test
+    public void testEdgeDistanceInside() {
+        assertEquals("Distance should be to the nearest edge", 10, square.edgeDistance(10, 50), 1e-9);
+        assertEquals("Distance at the centre should be half the side", 50, square.edgeDistance(50, 50), 1e-9);
+    }
+
+    @Test
+    public void testEdgeDistanceOutside() {
+        assertTrue("Distance should be negative outside", square.edgeDistance(-5, 50) < 0);
+    }
+
+    @Test
+    public void testWindingOrderDoesNotMatter() {
+        square.setVertices(new int[]{0, 0, 100, 100}, new int[]{0, 100, 100, 0});
+        assertEquals("Distance should be the same for either winding", 10, square.edgeDistance(10, 50), 1e-9);
+    }
+
+    @Test
+    public void testContainsCircle() {
+        assertTrue("Circle touching an edge should fit", square.containsCircle(10, 50, 10));
+        assertFalse("Circle crossing an edge should not fit", square.containsCircle(10, 50, 11));
+    }
+
+    @Test
+    public void testDegeneratePolygon() {
+        square.setVertices(new int[]{5, 5, 5, 5}, new int[]{5, 5, 5, 5});
+        assertFalse("A polygon with no area should hold nothing", square.containsCircle(5, 5, 0));
+    }
+
+    @Test
+    public void testTriangle() {
+        ConvexPolygon triangle = new ConvexPolygon(3);
+        triangle.setVertices(new int[]{0, 30, 0}, new int[]{0, 0, 40});
+        assertEquals("Distance to the hypotenuse", 0, triangle.edgeDistance(30, 0), 1e-9);
+        assertEquals("Inscribed circle radius at the incentre", 10, triangle.edgeDistance(10, 10), 1e-9);
+    }
+}